@@ -2,13 +2,17 @@ package com.turmab.helpdesk;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Classe principal e ponto de entrada para a aplicação Spring Boot Help Desk.
  * A anotação @SpringBootApplication habilita a autoconfiguração do Spring,
  * a varredura de componentes e a configuração da aplicação.
+ * A anotação @EnableScheduling habilita as tarefas periódicas (@Scheduled), como a
+ * reconciliação das estatísticas de chamados.
  */
 @SpringBootApplication
+@EnableScheduling
 public class HelpdeskturmabApplication {
 
 	/**
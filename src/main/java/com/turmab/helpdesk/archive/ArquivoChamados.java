@@ -0,0 +1,268 @@
+package com.turmab.helpdesk.archive;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.IntSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import com.turmab.helpdesk.domain.dtos.ChamadoDTO;
+
+/**
+ * Arquivo frio dos chamados encerrados, em segmentos comprimidos em um diretório.
+ * Cada execução do arquivamento grava um novo segmento, que nunca mais é alterado: o arquivo
+ * cresce apenas por acréscimo de segmentos. Os segmentos são mapeados em memória e consultados
+ * do mais novo para o mais antigo.
+ * Com várias instâncias, o diretório deve ser um armazenamento compartilhado por todas, e apenas
+ * uma delas grava (helpdesk.arquivo.enabled). As demais só leem: antes de percorrer o arquivo, e
+ * quando um chamado não é encontrado, releem o diretório se ele mudou, abrindo os segmentos
+ * novos e esquecendo os descartados. Como o segmento é gravado antes de os chamados saírem da
+ * tabela, um chamado arquivado por outra instância é sempre encontrado em um dos dois.
+ */
+@Component
+public class ArquivoChamados {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ArquivoChamados.class);
+
+    private static final Pattern NOME_SEGMENTO = Pattern.compile("segmento-(\\d+)\\.hda");
+
+    private static final Comparator<SegmentoArquivo> MAIS_NOVO_PRIMEIRO =
+            Comparator.comparing((SegmentoArquivo segmento) -> segmento.getCaminho().getFileName().toString()).reversed();
+
+    /**
+     * Tempo (ms) depois do qual a data de modificação do diretório é confiável para evitar releituras.
+     */
+    private static final long MARGEM_MODIFICACAO_MS = 2000;
+
+    /**
+     * Diretório em que os segmentos são gravados.
+     */
+    @Value("${helpdesk.arquivo.diretorio:arquivo}")
+    private String diretorio;
+
+    /**
+     * Quantidade de chamados por bloco comprimido: define a granularidade do índice esparso.
+     */
+    @Value("${helpdesk.arquivo.registros-por-bloco:64}")
+    private Integer registrosPorBloco;
+
+    /**
+     * Indica se esta é a instância que grava os segmentos.
+     */
+    @Value("${helpdesk.arquivo.enabled:false}")
+    private boolean gravador;
+
+    private Path raiz;
+
+    // Do mais novo para o mais antigo; substituída por inteiro a cada mudança
+    private volatile List<SegmentoArquivo> segmentos = List.of();
+    private final AtomicInteger ultimoNumero = new AtomicInteger();
+
+    // Data de modificação do diretório na última leitura, se já era antiga o bastante para ser confiável
+    private volatile FileTime modificacaoLida;
+
+    /**
+     * Abre os segmentos já gravados. Na instância que grava, descarta também os arquivos
+     * temporários de gravações interrompidas.
+     * @throws IOException se o diretório não puder ser lido ou criado.
+     */
+    @PostConstruct
+    public void abre() throws IOException {
+        raiz = Files.createDirectories(Paths.get(diretorio));
+        if (gravador) {
+            try (DirectoryStream<Path> temporarios = Files.newDirectoryStream(raiz, "*.tmp")) {
+                for (Path caminho : temporarios) {
+                    Files.delete(caminho);
+                }
+            }
+        }
+        rele();
+        LOG.info("Arquivo de chamados aberto: {} segmentos, {} chamados", segmentos.size(), getQuantidade());
+    }
+
+    /**
+     * Grava os chamados em um novo segmento e o torna visível para as consultas.
+     * Se houver uma transação ativa (a que remove os chamados da tabela), o segmento é
+     * descartado caso ela seja desfeita, para que o arquivo não guarde cópias de chamados
+     * que continuam na tabela.
+     * @param chamados Os chamados encerrados a serem arquivados.
+     * @throws UncheckedIOException se o segmento não puder ser gravado.
+     */
+    public void grava(List<ChamadoDTO> chamados) {
+        if (chamados.isEmpty()) {
+            return;
+        }
+        String nome = String.format("segmento-%06d.hda", ultimoNumero.incrementAndGet());
+        Path caminho = Paths.get(diretorio, nome);
+        Path temporario = Paths.get(diretorio, nome + ".tmp");
+        SegmentoArquivo segmento;
+        try {
+            SegmentoArquivo.grava(temporario, chamados, registrosPorBloco);
+            // A renomeação atômica garante que um segmento visível está sempre completo
+            Files.move(temporario, caminho, StandardCopyOption.ATOMIC_MOVE);
+            segmento = SegmentoArquivo.abre(caminho);
+        } catch (IOException e) {
+            try {
+                Files.deleteIfExists(temporario);
+            } catch (IOException ignorada) {
+                e.addSuppressed(ignorada);
+            }
+            throw new UncheckedIOException("Falha ao gravar o segmento " + caminho, e);
+        }
+        adiciona(segmento);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != TransactionSynchronization.STATUS_COMMITTED) {
+                        descarta(segmento);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Busca um chamado arquivado pelo ID.
+     * @param id O ID do chamado.
+     * @return O chamado arquivado, se existir.
+     */
+    public Optional<ChamadoDTO> findById(Integer id) {
+        Optional<ChamadoDTO> obj = busca(id);
+        if (obj.isEmpty() && atualiza()) {
+            obj = busca(id);
+        }
+        return obj;
+    }
+
+    private Optional<ChamadoDTO> busca(Integer id) {
+        for (SegmentoArquivo segmento : segmentos) {
+            ChamadoDTO obj = segmento.busca(id);
+            if (obj != null) {
+                return Optional.of(obj);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Percorre os chamados arquivados que podem ter sido fechados no período informado e
+     * pertencer ao técnico e ao cliente informados. Segmentos que não correspondem aos filtros
+     * são descartados pelo rodapé, sem descomprimir os blocos; o filtro exato fica a cargo do consumidor.
+     * Também são descartados os segmentos cujo maior ID seja menor que o ID mínimo ainda útil
+     * ao consumidor, de modo que uma consulta dos N chamados mais recentes lê apenas os segmentos
+     * necessários para completá-la.
+     * Um chamado pode aparecer mais de uma vez se tiver sido reaberto e arquivado de novo;
+     * a cópia do segmento mais novo é entregue primeiro.
+     * @param dataInicio Data de fechamento mínima, ou null.
+     * @param dataFim Data de fechamento máxima, ou null.
+     * @param tecnico ID do técnico, ou null.
+     * @param cliente ID do cliente, ou null.
+     * @param idMinimo Informa, antes de cada segmento, o menor ID que ainda interessa ao consumidor.
+     * @param action O consumidor que recebe cada chamado.
+     */
+    public void forEach(LocalDate dataInicio, LocalDate dataFim, Integer tecnico, Integer cliente,
+            IntSupplier idMinimo, Consumer<ChamadoDTO> action) {
+        atualiza();
+        for (SegmentoArquivo segmento : segmentos) {
+            if (segmento.getMaiorId() >= idMinimo.getAsInt() && segmento.intersecta(dataInicio, dataFim)
+                    && segmento.contem(tecnico, cliente)) {
+                segmento.forEach(action);
+            }
+        }
+    }
+
+    /**
+     * Retorna a quantidade de chamados arquivados, somando todos os segmentos.
+     * @return A quantidade de chamados arquivados.
+     */
+    public long getQuantidade() {
+        return segmentos.stream().mapToLong(SegmentoArquivo::getRegistros).sum();
+    }
+
+    /**
+     * Relê o diretório se ele mudou desde a última leitura (um segmento gravado ou descartado
+     * por outra instância). A data de modificação só é considerada depois de alguns segundos,
+     * para não perder uma mudança feita no mesmo tique do relógio do sistema de arquivos.
+     * @return true se o diretório foi relido.
+     */
+    private boolean atualiza() {
+        try {
+            FileTime modificacao = Files.getLastModifiedTime(raiz);
+            if (modificacao.equals(modificacaoLida)) {
+                return false;
+            }
+            rele();
+            return true;
+        } catch (IOException e) {
+            LOG.warn("Não foi possível reler o diretório do arquivo {}", raiz, e);
+            return false;
+        }
+    }
+
+    /**
+     * Abre os segmentos do diretório que ainda não estão abertos e esquece os que não existem mais.
+     */
+    private synchronized void rele() throws IOException {
+        FileTime modificacao = Files.getLastModifiedTime(raiz);
+        Map<Path, SegmentoArquivo> abertos = new HashMap<>();
+        segmentos.forEach(segmento -> abertos.put(segmento.getCaminho(), segmento));
+        List<SegmentoArquivo> lidos = new ArrayList<>();
+        try (DirectoryStream<Path> arquivos = Files.newDirectoryStream(raiz)) {
+            for (Path caminho : arquivos) {
+                Matcher matcher = NOME_SEGMENTO.matcher(caminho.getFileName().toString());
+                if (!matcher.matches()) {
+                    continue;
+                }
+                ultimoNumero.accumulateAndGet(Integer.parseInt(matcher.group(1)), Math::max);
+                SegmentoArquivo segmento = abertos.get(caminho);
+                lidos.add(segmento != null ? segmento : SegmentoArquivo.abre(caminho));
+            }
+        }
+        lidos.sort(MAIS_NOVO_PRIMEIRO);
+        segmentos = List.copyOf(lidos);
+        boolean confiavel = System.currentTimeMillis() - modificacao.toMillis() > MARGEM_MODIFICACAO_MS;
+        modificacaoLida = confiavel ? modificacao : null;
+    }
+
+    private synchronized void adiciona(SegmentoArquivo segmento) {
+        List<SegmentoArquivo> novos = new ArrayList<>(segmentos);
+        novos.add(segmento);
+        novos.sort(MAIS_NOVO_PRIMEIRO);
+        segmentos = List.copyOf(novos);
+    }
+
+    private synchronized void descarta(SegmentoArquivo segmento) {
+        List<SegmentoArquivo> novos = new ArrayList<>(segmentos);
+        novos.remove(segmento);
+        segmentos = List.copyOf(novos);
+        try {
+            Files.deleteIfExists(segmento.getCaminho());
+        } catch (IOException e) {
+            LOG.warn("Não foi possível remover o segmento descartado {}", segmento.getCaminho(), e);
+        }
+    }
+}
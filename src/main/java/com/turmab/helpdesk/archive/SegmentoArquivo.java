@@ -0,0 +1,341 @@
+package com.turmab.helpdesk.archive;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import com.turmab.helpdesk.domain.dtos.ChamadoDTO;
+import com.turmab.helpdesk.domain.enums.Prioridade;
+import com.turmab.helpdesk.domain.enums.Status;
+
+/**
+ * Segmento imutável do arquivo de chamados encerrados.
+ * Os chamados ficam ordenados pelo ID e agrupados em blocos comprimidos com Deflate.
+ * O rodapé guarda um índice esparso (o primeiro ID de cada bloco, com sua posição),
+ * o intervalo de IDs e de datas de fechamento do segmento e os IDs distintos dos técnicos e
+ * clientes presentes, usados para descartar segmentos inteiros sem lê-los. O arquivo é lido por mapeamento em memória: a busca por ID faz uma
+ * busca binária no índice e descomprime apenas o bloco em que o chamado pode estar.
+ *
+ * <pre>
+ * [MAGICO][VERSAO] [bloco 0] ... [bloco n-1]
+ * [n] n x [primeiroId, posicao, tamanho, tamanhoOriginal]
+ * [registros, menorId, maiorId, menorFechamento, maiorFechamento]
+ * [t] t x [tecnico] [c] c x [cliente] [inicioRodape][MAGICO]
+ * </pre>
+ * Os segmentos da versão 1, sem a lista de técnicos e clientes, continuam legíveis.
+ */
+final class SegmentoArquivo {
+
+    private static final int MAGICO = 0x48444152; // "HDAR"
+    private static final short VERSAO = 2;
+    private static final short VERSAO_SEM_PESSOAS = 1;
+    private static final int TAMANHO_CABECALHO = Integer.BYTES + Short.BYTES;
+    private static final int TAMANHO_FIM = Long.BYTES + Integer.BYTES;
+    private static final long SEM_DATA = Long.MIN_VALUE;
+
+    private final Path caminho;
+    private final MappedByteBuffer buffer;
+    private final int[] primeirosIds;
+    private final long[] posicoes;
+    private final int[] tamanhos;
+    private final int[] tamanhosOriginais;
+    private final int registros;
+    private final int menorId;
+    private final int maiorId;
+    private final LocalDate menorFechamento;
+    private final LocalDate maiorFechamento;
+    // IDs ordenados; null nos segmentos da versão 1
+    private final int[] tecnicos;
+    private final int[] clientes;
+
+    private SegmentoArquivo(Path caminho, MappedByteBuffer buffer) {
+        this.caminho = caminho;
+        this.buffer = buffer;
+
+        ByteBuffer leitura = buffer.duplicate();
+        short versao = leitura.capacity() < TAMANHO_CABECALHO + TAMANHO_FIM ? 0 : leitura.getShort(Integer.BYTES);
+        if ((versao != VERSAO && versao != VERSAO_SEM_PESSOAS) || leitura.getInt(0) != MAGICO
+                || leitura.getInt(leitura.capacity() - Integer.BYTES) != MAGICO) {
+            throw new IllegalStateException("Segmento de arquivo inválido: " + caminho);
+        }
+        leitura.position((int) leitura.getLong(leitura.capacity() - TAMANHO_FIM));
+        int blocos = leitura.getInt();
+        primeirosIds = new int[blocos];
+        posicoes = new long[blocos];
+        tamanhos = new int[blocos];
+        tamanhosOriginais = new int[blocos];
+        for (int i = 0; i < blocos; i++) {
+            primeirosIds[i] = leitura.getInt();
+            posicoes[i] = leitura.getLong();
+            tamanhos[i] = leitura.getInt();
+            tamanhosOriginais[i] = leitura.getInt();
+        }
+        registros = leitura.getInt();
+        menorId = leitura.getInt();
+        maiorId = leitura.getInt();
+        menorFechamento = LocalDate.ofEpochDay(leitura.getLong());
+        maiorFechamento = LocalDate.ofEpochDay(leitura.getLong());
+        tecnicos = versao == VERSAO ? leIds(leitura) : null;
+        clientes = versao == VERSAO ? leIds(leitura) : null;
+    }
+
+    /**
+     * Abre um segmento existente, mapeando o arquivo inteiro em memória somente leitura.
+     * O mapeamento continua válido depois que o canal é fechado.
+     * @param caminho O arquivo do segmento.
+     * @return O segmento aberto.
+     * @throws IOException se o arquivo não puder ser lido.
+     */
+    static SegmentoArquivo abre(Path caminho) throws IOException {
+        try (FileChannel canal = FileChannel.open(caminho, StandardOpenOption.READ)) {
+            return new SegmentoArquivo(caminho, canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size()));
+        }
+    }
+
+    /**
+     * Grava um novo segmento com os chamados informados. O arquivo é sincronizado com o disco
+     * antes de retornar, mas só deve ser tornado visível (renomeado) pelo chamador.
+     * Os segmentos são limitados a 2 GB, o tamanho máximo de um mapeamento em memória.
+     * @param caminho O arquivo a ser criado; não pode existir.
+     * @param chamados Os chamados encerrados; não pode ser vazio.
+     * @param registrosPorBloco Quantidade de chamados por bloco comprimido.
+     * @throws IOException se o arquivo não puder ser gravado.
+     */
+    static void grava(Path caminho, List<ChamadoDTO> chamados, int registrosPorBloco) throws IOException {
+        ChamadoDTO[] ordenados = chamados.toArray(new ChamadoDTO[0]);
+        Arrays.sort(ordenados, Comparator.comparing(ChamadoDTO::getId));
+        int blocos = (ordenados.length + registrosPorBloco - 1) / registrosPorBloco;
+        long menorFechamento = Long.MAX_VALUE;
+        long maiorFechamento = Long.MIN_VALUE;
+
+        try (FileChannel canal = FileChannel.open(caminho, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(canal)))) {
+            out.writeInt(MAGICO);
+            out.writeShort(VERSAO);
+
+            ByteBuffer indice = ByteBuffer.allocate(Integer.BYTES + blocos * (3 * Integer.BYTES + Long.BYTES));
+            indice.putInt(blocos);
+            ByteArrayOutputStream original = new ByteArrayOutputStream();
+            ByteArrayOutputStream comprimido = new ByteArrayOutputStream();
+            Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+            try {
+                for (int inicio = 0; inicio < ordenados.length; inicio += registrosPorBloco) {
+                    original.reset();
+                    DataOutputStream registro = new DataOutputStream(original);
+                    for (int i = inicio; i < Math.min(inicio + registrosPorBloco, ordenados.length); i++) {
+                        escreve(registro, ordenados[i]);
+                        if (ordenados[i].getDataFechamento() != null) {
+                            menorFechamento = Math.min(menorFechamento, ordenados[i].getDataFechamento().toEpochDay());
+                            maiorFechamento = Math.max(maiorFechamento, ordenados[i].getDataFechamento().toEpochDay());
+                        }
+                    }
+                    registro.flush();
+
+                    comprimido.reset();
+                    deflater.reset();
+                    try (DeflaterOutputStream zip = new DeflaterOutputStream(comprimido, deflater)) {
+                        original.writeTo(zip);
+                    }
+                    indice.putInt(ordenados[inicio].getId());
+                    indice.putLong(out.size());
+                    indice.putInt(comprimido.size());
+                    indice.putInt(original.size());
+                    comprimido.writeTo(out);
+                }
+            } finally {
+                deflater.end();
+            }
+
+            long inicioRodape = out.size();
+            out.write(indice.array());
+            out.writeInt(ordenados.length);
+            out.writeInt(ordenados[0].getId());
+            out.writeInt(ordenados[ordenados.length - 1].getId());
+            out.writeLong(menorFechamento == Long.MAX_VALUE ? 0 : menorFechamento);
+            out.writeLong(maiorFechamento == Long.MIN_VALUE ? 0 : maiorFechamento);
+            escreveIds(out, Arrays.stream(ordenados).mapToInt(ChamadoDTO::getTecnico).distinct().sorted().toArray());
+            escreveIds(out, Arrays.stream(ordenados).mapToInt(ChamadoDTO::getCliente).distinct().sorted().toArray());
+            out.writeLong(inicioRodape);
+            out.writeInt(MAGICO);
+            out.flush();
+            canal.force(true);
+        }
+    }
+
+    /**
+     * Busca um chamado pelo ID, descomprimindo no máximo um bloco.
+     * @param id O ID do chamado.
+     * @return O chamado, ou null se ele não estiver neste segmento.
+     */
+    ChamadoDTO busca(int id) {
+        if (id < menorId || id > maiorId) {
+            return null;
+        }
+        int bloco = Arrays.binarySearch(primeirosIds, id);
+        if (bloco < 0) {
+            bloco = -bloco - 2; // Último bloco cujo primeiro ID é menor que o procurado
+        }
+        try (DataInputStream in = le(bloco)) {
+            while (in.available() > 0) {
+                ChamadoDTO obj = le(in);
+                if (obj.getId() == id) {
+                    return obj;
+                }
+                if (obj.getId() > id) {
+                    return null;
+                }
+            }
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao ler o segmento " + caminho, e);
+        }
+    }
+
+    /**
+     * Percorre todos os chamados do segmento, em ordem de ID, descomprimindo um bloco por vez.
+     * @param action O consumidor que recebe cada chamado.
+     */
+    void forEach(Consumer<ChamadoDTO> action) {
+        for (int bloco = 0; bloco < primeirosIds.length; bloco++) {
+            try (DataInputStream in = le(bloco)) {
+                while (in.available() > 0) {
+                    action.accept(le(in));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Falha ao ler o segmento " + caminho, e);
+            }
+        }
+    }
+
+    /**
+     * Indica se o segmento pode conter chamados fechados no período informado.
+     * @param inicio Data de fechamento mínima, ou null.
+     * @param fim Data de fechamento máxima, ou null.
+     * @return false se nenhum chamado do segmento foi fechado no período.
+     */
+    boolean intersecta(LocalDate inicio, LocalDate fim) {
+        return (inicio == null || !maiorFechamento.isBefore(inicio)) && (fim == null || !menorFechamento.isAfter(fim));
+    }
+
+    /**
+     * Indica se o segmento pode conter chamados do técnico e do cliente informados.
+     * @param tecnico ID do técnico, ou null.
+     * @param cliente ID do cliente, ou null.
+     * @return false se o rodapé garante que nenhum chamado do segmento corresponde.
+     */
+    boolean contem(Integer tecnico, Integer cliente) {
+        return (tecnico == null || tecnicos == null || Arrays.binarySearch(tecnicos, tecnico) >= 0)
+                && (cliente == null || clientes == null || Arrays.binarySearch(clientes, cliente) >= 0);
+    }
+
+    Path getCaminho() { return caminho; }
+    int getRegistros() { return registros; }
+    int getMaiorId() { return maiorId; }
+
+    /**
+     * Descomprime um bloco diretamente do arquivo mapeado.
+     */
+    private DataInputStream le(int bloco) throws IOException {
+        ByteBuffer comprimido = buffer.duplicate();
+        comprimido.position((int) posicoes[bloco]).limit((int) posicoes[bloco] + tamanhos[bloco]);
+        byte[] original = new byte[tamanhosOriginais[bloco]];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(comprimido);
+            int lidos = 0;
+            while (lidos < original.length && !inflater.finished()) {
+                lidos += inflater.inflate(original, lidos, original.length - lidos);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Bloco corrompido no segmento " + caminho, e);
+        } finally {
+            inflater.end();
+        }
+        return new DataInputStream(new ByteArrayInputStream(original));
+    }
+
+    private static void escreve(DataOutputStream out, ChamadoDTO obj) throws IOException {
+        out.writeInt(obj.getId());
+        out.writeLong(obj.getDataAbertura() == null ? SEM_DATA : obj.getDataAbertura().toEpochDay());
+        out.writeLong(obj.getDataFechamento() == null ? SEM_DATA : obj.getDataFechamento().toEpochDay());
+        out.writeByte(obj.getPrioridade());
+        out.writeByte(obj.getStatus());
+        escreveTexto(out, obj.getTitulo());
+        escreveTexto(out, obj.getObservacoes());
+        out.writeInt(obj.getTecnico());
+        escreveTexto(out, obj.getNomeTecnico());
+        out.writeInt(obj.getCliente());
+        escreveTexto(out, obj.getNomeCliente());
+    }
+
+    private static ChamadoDTO le(DataInputStream in) throws IOException {
+        Integer id = in.readInt();
+        long abertura = in.readLong();
+        long fechamento = in.readLong();
+        Prioridade prioridade = Prioridade.toEnum((int) in.readByte());
+        Status status = Status.toEnum((int) in.readByte());
+        String titulo = leTexto(in);
+        String observacoes = leTexto(in);
+        Integer tecnico = in.readInt();
+        String nomeTecnico = leTexto(in);
+        Integer cliente = in.readInt();
+        String nomeCliente = leTexto(in);
+        return new ChamadoDTO(id, abertura == SEM_DATA ? null : LocalDate.ofEpochDay(abertura),
+                fechamento == SEM_DATA ? null : LocalDate.ofEpochDay(fechamento), prioridade, status, titulo,
+                observacoes, tecnico, nomeTecnico, cliente, nomeCliente);
+    }
+
+    private static void escreveIds(DataOutputStream out, int[] ids) throws IOException {
+        out.writeInt(ids.length);
+        for (int id : ids) {
+            out.writeInt(id);
+        }
+    }
+
+    private static int[] leIds(ByteBuffer leitura) {
+        int[] ids = new int[leitura.getInt()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = leitura.getInt();
+        }
+        return ids;
+    }
+
+    private static void escreveTexto(DataOutputStream out, String texto) throws IOException {
+        if (texto == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String leTexto(DataInputStream in) throws IOException {
+        int tamanho = in.readInt();
+        if (tamanho < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[tamanho];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
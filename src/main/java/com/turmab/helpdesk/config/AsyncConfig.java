@@ -0,0 +1,86 @@
+package com.turmab.helpdesk.config;
+
+import java.util.concurrent.Callable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuração do processamento assíncrono do Spring MVC, usado pela API de leitura em /leitura
+ * e pelas exportações em streaming. As respostas assíncronas devolvem a thread do Tomcat assim
+ * que o controller retorna; a consulta e a escrita da resposta passam para um pool próprio, com
+ * uma fila limitada, e as que excedem a fila são recusadas com 503.
+ * São dois pools separados: as leituras por ID (ver {@link #leitura(Callable)}) são rápidas e
+ * têm um tempo máximo curto, enquanto as exportações (StreamingResponseBody, em /export) podem
+ * durar até spring.mvc.async.request-timeout e ocupam uma conexão do banco o tempo todo. Por isso
+ * o pool das exportações é pequeno: poucas exportações simultâneas não esgotam as conexões nem
+ * as threads das leituras.
+ */
+@Configuration
+public class AsyncConfig implements WebMvcConfigurer {
+
+    @Value("${helpdesk.leitura.threads:8}")
+    private Integer threadsLeitura;
+
+    @Value("${helpdesk.leitura.fila:100}")
+    private Integer filaLeitura;
+
+    /**
+     * Tempo máximo (ms) de uma leitura por ID; ao expirar, a resposta é 503.
+     */
+    @Value("${helpdesk.leitura.timeout-ms:30000}")
+    private Long timeoutLeitura;
+
+    @Value("${helpdesk.exportacao.threads:2}")
+    private Integer threadsExportacao;
+
+    @Value("${helpdesk.exportacao.fila:4}")
+    private Integer filaExportacao;
+
+    /**
+     * Pool que executa as leituras por ID da API /leitura.
+     * @return O executor, encerrado pelo Spring ao desligar a aplicação.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor executorLeitura() {
+        return executor(threadsLeitura, filaLeitura, "leitura-");
+    }
+
+    /**
+     * Pool que escreve as respostas em streaming. É o executor padrão do Spring MVC, pois o
+     * StreamingResponseBody não permite escolher outro por requisição.
+     * @return O executor, encerrado pelo Spring ao desligar a aplicação.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor executorExportacao() {
+        return executor(threadsExportacao, filaExportacao, "exportacao-");
+    }
+
+    /**
+     * Cria a tarefa assíncrona de uma leitura, executada no pool das leituras e com o tempo
+     * máximo delas, em vez do pool e do tempo máximo das exportações.
+     * @param leitura A consulta a ser executada.
+     * @return A tarefa a ser retornada pelo controller.
+     */
+    public <T> WebAsyncTask<T> leitura(Callable<T> leitura) {
+        return new WebAsyncTask<>(timeoutLeitura, executorLeitura(), leitura);
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(executorExportacao());
+    }
+
+    private static ThreadPoolTaskExecutor executor(int threads, int fila, String prefixo) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(fila);
+        executor.setThreadNamePrefix(prefixo);
+        return executor;
+    }
+}
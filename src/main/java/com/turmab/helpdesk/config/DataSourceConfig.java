@@ -0,0 +1,90 @@
+package com.turmab.helpdesk.config;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import com.turmab.helpdesk.datasource.EscritasRecentes;
+import com.turmab.helpdesk.datasource.ReadWriteRoutingDataSource;
+
+/**
+ * Configuração da separação de leituras e escritas entre o banco primário e as réplicas.
+ * Ativada pela propriedade 'helpdesk.datasource.replicas.enabled=true'; sem ela, a aplicação
+ * continua usando apenas o DataSource configurado em 'spring.datasource'.
+ * O primário é montado a partir de 'spring.datasource' e cada URL de
+ * 'helpdesk.datasource.replicas.urls' vira um pool de conexões de réplica.
+ */
+@Configuration
+@ConditionalOnProperty(name = "helpdesk.datasource.replicas.enabled", havingValue = "true")
+public class DataSourceConfig {
+
+    @Autowired
+    private DataSourceProperties properties;
+
+    @Value("${helpdesk.datasource.replicas.urls}")
+    private String[] urls;
+    @Value("${helpdesk.datasource.replicas.username:${spring.datasource.username:}}")
+    private String username;
+    @Value("${helpdesk.datasource.replicas.password:${spring.datasource.password:}}")
+    private String password;
+
+    /**
+     * Tempo (ms) em que as leituras de um usuário continuam no primário depois de uma escrita dele.
+     * Deve ser maior que o atraso de replicação esperado.
+     */
+    @Value("${helpdesk.datasource.replicas.janela-apos-escrita-ms:5000}")
+    private Long janelaAposEscrita;
+    @Value("${helpdesk.datasource.replicas.maximo-usuarios-rastreados:10000}")
+    private Integer maximoUsuariosRastreados;
+
+    private ReadWriteRoutingDataSource routingDataSource;
+
+    /**
+     * Disponibiliza o DataSource usado pelo JPA, roteando entre os pools do primário e das réplicas.
+     * O proxy adia a obtenção da conexão física até o primeiro comando SQL, quando o flag de
+     * somente leitura da transação já é conhecido.
+     * @return O DataSource principal da aplicação.
+     */
+    @Bean
+    public DataSource dataSource() {
+        DataSource primario = properties.initializeDataSourceBuilder().build();
+        List<DataSource> replicas = new ArrayList<>();
+        for (String url : urls) {
+            replicas.add(DataSourceBuilder.create().url(url.trim()).username(username).password(password).build());
+        }
+        routingDataSource = new ReadWriteRoutingDataSource(primario, replicas,
+                new EscritasRecentes(janelaAposEscrita, maximoUsuariosRastreados));
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    /**
+     * Libera as leituras nas réplicas somente quando o contexto termina de subir,
+     * depois da criação do schema e da carga inicial no primário.
+     */
+    @EventListener(ContextRefreshedEvent.class)
+    public void liberaReplicas() {
+        routingDataSource.setReplicasDisponiveis(true);
+    }
+
+    /**
+     * Fecha os pools de conexão do primário e das réplicas no encerramento da aplicação.
+     * @throws IOException se algum pool não puder ser fechado.
+     */
+    @PreDestroy
+    public void fechaPools() throws IOException {
+        if (routingDataSource != null) {
+            routingDataSource.close();
+        }
+    }
+}
@@ -5,6 +5,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import com.turmab.helpdesk.repositories.PessoaRepository;
 import com.turmab.helpdesk.services.DBService;
 
 /**
@@ -17,27 +18,29 @@ public class DevConfig {
 
     @Autowired
     private DBService dbService;
+    @Autowired
+    private PessoaRepository pessoaRepository;
 
     /**
-     * Injeta o valor da propriedade 'spring.jpa.hibernate.ddl-auto' do arquivo application-dev.properties.
-     * Este valor determina a estratégia de geração do schema do banco de dados (ex: "create", "update", "none").
+     * Injeta o valor da propriedade 'helpdesk.db.popular' do arquivo application-dev.properties.
+     * Indica se os dados de exemplo devem ser inseridos no banco.
      */
-    @Value("${spring.jpa.hibernate.ddl-auto}")
-    private String strategy;
+    @Value("${helpdesk.db.popular:false}")
+    private boolean popular;
 
     /**
      * Cria um Bean que executa o método de instanciação do banco de dados.
-     * A lógica condicional garante que o banco de dados só seja populado se a estratégia
-     * de DDL for "create", evitando a reinserção de dados a cada reinicialização da aplicação
-     * quando a estratégia for "update" ou "none".
+     * Como o schema agora é persistente (migrações do Flyway), os dados de exemplo só são
+     * inseridos quando a carga está habilitada e o banco ainda não tem nenhuma pessoa,
+     * evitando a reinserção a cada reinicialização da aplicação.
      *
      * @return false para indicar que o Bean foi processado, sem necessidade de um valor de retorno específico.
      */
     @Bean
     public boolean instanciaDB() {
-        if ("create".equals(strategy)) {
+        if (popular && pessoaRepository.count() == 0) {
             this.dbService.instanciaDB();
         }
         return false;
     }
-}
\ No newline at end of file
+}
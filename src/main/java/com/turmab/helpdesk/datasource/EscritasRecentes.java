@@ -0,0 +1,54 @@
+package com.turmab.helpdesk.datasource;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registro, em memória, dos usuários que escreveram no banco primário recentemente.
+ * Enquanto a janela configurada não expira, as leituras desses usuários são enviadas ao
+ * primário, para que eles sempre vejam as próprias alterações mesmo com réplicas atrasadas.
+ * O mapa é limitado: quando passa do tamanho máximo, as entradas expiradas são descartadas.
+ */
+public class EscritasRecentes {
+
+    private final long janelaMs;
+    private final int maximoEntradas;
+    private final Map<String, Long> expiracoes = new ConcurrentHashMap<>();
+
+    public EscritasRecentes(long janelaMs, int maximoEntradas) {
+        this.janelaMs = janelaMs;
+        this.maximoEntradas = maximoEntradas;
+    }
+
+    /**
+     * Registra uma escrita do usuário, reiniciando a sua janela.
+     * @param usuario O e-mail do usuário autenticado.
+     */
+    public void registra(String usuario) {
+        long agora = System.currentTimeMillis();
+        expiracoes.put(usuario, agora + janelaMs);
+        if (expiracoes.size() > maximoEntradas) {
+            expiracoes.values().removeIf(expiracao -> expiracao <= agora);
+        }
+    }
+
+    /**
+     * Indica se o usuário escreveu no primário dentro da janela configurada.
+     * @param usuario O e-mail do usuário autenticado, ou null.
+     * @return true se as leituras do usuário devem ir para o primário.
+     */
+    public boolean escreveuRecentemente(String usuario) {
+        if (usuario == null) {
+            return false;
+        }
+        Long expiracao = expiracoes.get(usuario);
+        if (expiracao == null) {
+            return false;
+        }
+        if (expiracao <= System.currentTimeMillis()) {
+            expiracoes.remove(usuario, expiracao);
+            return false;
+        }
+        return true;
+    }
+}
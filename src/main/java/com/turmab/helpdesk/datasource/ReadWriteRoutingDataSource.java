@@ -0,0 +1,123 @@
+package com.turmab.helpdesk.datasource;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * DataSource que envia as transações somente leitura ({@code @Transactional(readOnly = true)})
+ * para as réplicas, em rodízio, e todo o resto para o banco primário.
+ * Deve ser envolvido por um LazyConnectionDataSourceProxy, para que a conexão só seja
+ * escolhida depois que a transação (e o seu flag de somente leitura) já tiver começado.
+ * Não é registrado como bean próprio: é obtido com {@code dataSource.unwrap(ReadWriteRoutingDataSource.class)}.
+ * As leituras voltam para o primário quando as réplicas estão indisponíveis ou quando
+ * o usuário autenticado escreveu recentemente (ver {@link EscritasRecentes}).
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    private static final String PRIMARIO = "primario";
+
+    private final DataSource primario;
+    private final List<DataSource> replicas;
+    private final EscritasRecentes escritasRecentes;
+    private final AtomicInteger proxima = new AtomicInteger();
+    private volatile boolean replicasDisponiveis;
+
+    public ReadWriteRoutingDataSource(DataSource primario, List<DataSource> replicas, EscritasRecentes escritasRecentes) {
+        this.primario = primario;
+        this.replicas = Collections.unmodifiableList(new ArrayList<>(replicas));
+        this.escritasRecentes = escritasRecentes;
+
+        Map<Object, Object> alvos = new HashMap<>();
+        alvos.put(PRIMARIO, primario);
+        for (int i = 0; i < replicas.size(); i++) {
+            alvos.put(i, replicas.get(i));
+        }
+        setTargetDataSources(alvos);
+        setDefaultTargetDataSource(primario);
+        afterPropertiesSet();
+    }
+
+    public DataSource getPrimario() {
+        return primario;
+    }
+
+    public List<DataSource> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * Liga ou desliga o envio de leituras para as réplicas. Enquanto desligado,
+     * todas as conexões são abertas no primário.
+     * @param replicasDisponiveis true para voltar a usar as réplicas.
+     */
+    public void setReplicasDisponiveis(boolean replicasDisponiveis) {
+        this.replicasDisponiveis = replicasDisponiveis;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean emTransacao = TransactionSynchronizationManager.isActualTransactionActive();
+        String usuario = usuarioAtual();
+
+        if (!emTransacao || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (emTransacao && usuario != null) {
+                registraEscrita(usuario);
+            }
+            return PRIMARIO;
+        }
+        if (!replicasDisponiveis || replicas.isEmpty() || escritasRecentes.escreveuRecentemente(usuario)) {
+            return PRIMARIO;
+        }
+        return Math.floorMod(proxima.getAndIncrement(), replicas.size());
+    }
+
+    /**
+     * Abre a janela do usuário já na aquisição da conexão e a renova no commit,
+     * para que ela cubra todo o atraso de replicação a partir da escrita confirmada.
+     */
+    private void registraEscrita(String usuario) {
+        escritasRecentes.registra(usuario);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    escritasRecentes.registra(usuario);
+                }
+            });
+        }
+    }
+
+    private static String usuarioAtual() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth == null || !auth.isAuthenticated() ? null : auth.getName();
+    }
+
+    /**
+     * Fecha os pools de conexão do primário e das réplicas no encerramento da aplicação.
+     */
+    @Override
+    public void close() throws IOException {
+        for (DataSource replica : replicas) {
+            fecha(replica);
+        }
+        fecha(primario);
+    }
+
+    private static void fecha(DataSource dataSource) throws IOException {
+        if (dataSource instanceof Closeable) {
+            ((Closeable) dataSource).close();
+        }
+    }
+}
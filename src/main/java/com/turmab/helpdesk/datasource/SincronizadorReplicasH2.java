@@ -0,0 +1,71 @@
+package com.turmab.helpdesk.datasource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Simula a replicação assíncrona no perfil de teste, em que o primário e as réplicas são
+ * bancos H2 independentes: a cada intervalo, o primário é exportado com SCRIPT e recarregado
+ * em cada réplica com RUNSCRIPT. Entre uma cópia e outra as réplicas ficam atrasadas,
+ * o que permite observar localmente o desvio das leituras para o primário após uma escrita.
+ */
+@Component
+@Profile("test")
+@ConditionalOnProperty(name = "helpdesk.datasource.replicas.enabled", havingValue = "true")
+public class SincronizadorReplicasH2 {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SincronizadorReplicasH2.class);
+
+    @Autowired
+    private DataSource dataSource;
+
+    /**
+     * Copia o primário para as réplicas. Executado antes de qualquer outro ouvinte na
+     * inicialização, para que as leituras de aquecimento já encontrem o schema, e depois
+     * periodicamente. Durante a cópia as leituras são atendidas pelo primário.
+     */
+    @EventListener(ContextRefreshedEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Scheduled(initialDelayString = "${helpdesk.datasource.replicas.sincronizacao-ms:10000}",
+            fixedDelayString = "${helpdesk.datasource.replicas.sincronizacao-ms:10000}")
+    public void sincroniza() throws IOException, SQLException {
+        ReadWriteRoutingDataSource routingDataSource = dataSource.unwrap(ReadWriteRoutingDataSource.class);
+        Path arquivo = Files.createTempFile("helpdesk-replica", ".sql");
+        try {
+            try (Connection con = routingDataSource.getPrimario().getConnection();
+                    Statement st = con.createStatement()) {
+                st.execute("SCRIPT TO '" + arquivo + "'");
+            }
+            routingDataSource.setReplicasDisponiveis(false);
+            try {
+                for (DataSource replica : routingDataSource.getReplicas()) {
+                    try (Connection con = replica.getConnection(); Statement st = con.createStatement()) {
+                        st.execute("DROP ALL OBJECTS");
+                        st.execute("RUNSCRIPT FROM '" + arquivo + "'");
+                    }
+                }
+            } finally {
+                routingDataSource.setReplicasDisponiveis(true);
+            }
+            LOG.debug("Réplicas H2 sincronizadas com o primário");
+        } finally {
+            Files.deleteIfExists(arquivo);
+        }
+    }
+}
@@ -0,0 +1 @@
+package com.turmab.helpdesk.datasource;
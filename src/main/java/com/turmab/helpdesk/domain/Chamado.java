@@ -7,8 +7,13 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import javax.persistence.Version;
+import org.hibernate.annotations.DynamicUpdate;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.turmab.helpdesk.domain.dtos.ChamadoDTO;
 import com.turmab.helpdesk.domain.enums.Prioridade;
@@ -16,13 +21,27 @@ import com.turmab.helpdesk.domain.enums.Status;
 
 /**
  * Entidade que representa um Chamado (ticket) no sistema de Help Desk.
+ * Os índices são criados pelas migrações do Flyway (db/migration) e declarados aqui apenas para documentação.
+ * Com {@code @DynamicUpdate}, o UPDATE gerado contém apenas as colunas alteradas (além da versão),
+ * o que reduz a escrita nas alterações parciais, como a troca de status.
  */
 @Entity
+@DynamicUpdate
+@Table(indexes = {
+    @Index(name = "idx_chamado_status_prioridade", columnList = "status, prioridade"),
+    @Index(name = "idx_chamado_tecnico_status", columnList = "tecnico_id, status"),
+    @Index(name = "idx_chamado_cliente_data_abertura", columnList = "cliente_id, dataAbertura"),
+    @Index(name = "idx_chamado_status_data_fechamento", columnList = "status, dataFechamento"),
+    @Index(name = "idx_chamado_alteracao", columnList = "alteracao, id")
+})
 public class Chamado implements Serializable {
     private static final long serialVersionUID = 1L;
 
+    // Sequence com alocação em blocos: o ID é conhecido antes do INSERT, o que permite
+    // ao Hibernate agrupar os INSERTs em lotes JDBC (IDENTITY desabilita o batching)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "chamado_seq")
+    @SequenceGenerator(name = "chamado_seq", sequenceName = "chamado_seq", allocationSize = 50)
     private Integer id;
 
     @JsonFormat(pattern = "dd/MM/yyyy")
@@ -36,6 +55,14 @@ public class Chamado implements Serializable {
     private String titulo;
     private String observacoes;
 
+    // Incrementada pelo Hibernate a cada alteração; usada como ETag das respostas
+    @Version
+    private Integer versao;
+
+    // Número da transação que gravou o chamado por último (ver SequenciaAlteracoes);
+    // ordena o feed de alterações de GET /chamados/changes
+    private Long alteracao = 0L;
+
     @ManyToOne
     @JoinColumn(name = "tecnico_id")
     private Tecnico tecnico;
@@ -90,6 +117,10 @@ public class Chamado implements Serializable {
     public void setTitulo(String titulo) { this.titulo = titulo; }
     public String getObservacoes() { return observacoes; }
     public void setObservacoes(String observacoes) { this.observacoes = observacoes; }
+    public Integer getVersao() { return versao; }
+    public void setVersao(Integer versao) { this.versao = versao; }
+    public Long getAlteracao() { return alteracao; }
+    public void setAlteracao(Long alteracao) { this.alteracao = alteracao; }
     public Tecnico getTecnico() { return tecnico; }
     public void setTecnico(Tecnico tecnico) { this.tecnico = tecnico; }
     public Cliente getCliente() { return cliente; }
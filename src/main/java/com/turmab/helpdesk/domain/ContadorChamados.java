@@ -0,0 +1,88 @@
+package com.turmab.helpdesk.domain;
+
+import java.io.Serializable;
+import java.util.Objects;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import com.turmab.helpdesk.domain.enums.Status;
+
+/**
+ * Entidade com a quantidade de chamados de uma Pessoa (Técnico ou Cliente) em cada Status.
+ * É mantida de forma incremental, na mesma transação de cada escrita de chamado, para que
+ * a carga de um técnico ou a verificação antes de excluir uma pessoa sejam lidas em O(1),
+ * sem carregar a coleção de chamados.
+ */
+@Entity
+public class ContadorChamados implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    private Integer pessoaId;
+
+    private int abertos;
+    private int andamento;
+    private int encerrados;
+
+    public ContadorChamados() {
+        super();
+    }
+
+    public ContadorChamados(Integer pessoaId, int abertos, int andamento, int encerrados) {
+        super();
+        this.pessoaId = pessoaId;
+        this.abertos = abertos;
+        this.andamento = andamento;
+        this.encerrados = encerrados;
+    }
+
+    /**
+     * Retorna a quantidade de chamados no status informado.
+     * @param status O status desejado.
+     * @return A quantidade de chamados.
+     */
+    public int getQuantidade(Status status) {
+        switch (status) {
+            case ABERTO:
+                return abertos;
+            case ANDAMENTO:
+                return andamento;
+            default:
+                return encerrados;
+        }
+    }
+
+    /**
+     * Retorna a quantidade total de chamados, em qualquer status.
+     * @return A quantidade total de chamados.
+     */
+    public int getTotal() {
+        return abertos + andamento + encerrados;
+    }
+
+    // Getters and Setters
+    public Integer getPessoaId() { return pessoaId; }
+    public void setPessoaId(Integer pessoaId) { this.pessoaId = pessoaId; }
+    public int getAbertos() { return abertos; }
+    public void setAbertos(int abertos) { this.abertos = abertos; }
+    public int getAndamento() { return andamento; }
+    public void setAndamento(int andamento) { this.andamento = andamento; }
+    public int getEncerrados() { return encerrados; }
+    public void setEncerrados(int encerrados) { this.encerrados = encerrados; }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(pessoaId);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        ContadorChamados other = (ContadorChamados) obj;
+        return Objects.equals(pessoaId, other.pessoaId);
+    }
+}
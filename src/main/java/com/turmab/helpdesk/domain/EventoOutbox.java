@@ -0,0 +1,87 @@
+package com.turmab.helpdesk.domain;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+
+/**
+ * Entidade do outbox transacional: um ChamadoEvent ainda não entregue aos handlers.
+ * É gravada na mesma transação que altera o chamado, de modo que o evento existe se, e
+ * somente se, a alteração foi confirmada. O despachante a remove depois da entrega.
+ * A ordem de entrega é a do número de alteração da transação que gravou o evento, que segue
+ * a ordem de commit (ver SequenciaAlteracoes), e, dentro da mesma transação, a do ID.
+ * Os IDs sozinhos não servem: cada instância os aloca em blocos da sequência.
+ */
+@Entity
+public class EventoOutbox implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "evento_outbox_seq")
+    @SequenceGenerator(name = "evento_outbox_seq", sequenceName = "evento_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    private Integer chamadoId;
+
+    // O ChamadoEvent serializado em JSON
+    @Column(length = 8000)
+    private String payload;
+
+    private LocalDateTime dataHora;
+    private Long alteracao;
+    private Integer tentativas = 0;
+
+    // Antes dela o evento não é entregue; null até a primeira falha
+    private LocalDateTime proximaTentativa;
+
+    public EventoOutbox() {
+        super();
+    }
+
+    public EventoOutbox(Integer chamadoId, String payload, LocalDateTime dataHora, Long alteracao) {
+        super();
+        this.chamadoId = chamadoId;
+        this.payload = payload;
+        this.dataHora = dataHora;
+        this.alteracao = alteracao;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Integer getChamadoId() { return chamadoId; }
+    public void setChamadoId(Integer chamadoId) { this.chamadoId = chamadoId; }
+    public String getPayload() { return payload; }
+    public void setPayload(String payload) { this.payload = payload; }
+    public LocalDateTime getDataHora() { return dataHora; }
+    public void setDataHora(LocalDateTime dataHora) { this.dataHora = dataHora; }
+    public Long getAlteracao() { return alteracao; }
+    public void setAlteracao(Long alteracao) { this.alteracao = alteracao; }
+    public Integer getTentativas() { return tentativas; }
+    public void setTentativas(Integer tentativas) { this.tentativas = tentativas; }
+    public LocalDateTime getProximaTentativa() { return proximaTentativa; }
+    public void setProximaTentativa(LocalDateTime proximaTentativa) { this.proximaTentativa = proximaTentativa; }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        EventoOutbox other = (EventoOutbox) obj;
+        return Objects.equals(id, other.id);
+    }
+}
@@ -6,6 +6,7 @@ import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
+import javax.persistence.Cacheable;
 import javax.persistence.CollectionTable;
 import javax.persistence.Column;
 import javax.persistence.ElementCollection;
@@ -14,14 +15,22 @@ import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Version;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.turmab.helpdesk.domain.enums.Perfil;
 
 /**
  * Classe abstrata que representa uma Pessoa no sistema.
  * Serve como base para as entidades Cliente e Tecnico, compartilhando atributos comuns.
+ * Técnicos e clientes são lidos em quase toda requisição e raramente alterados, por isso
+ * ficam no cache de segundo nível do Hibernate (região "pessoa", configurada em ehcache.xml).
+ * Como a herança é SINGLE_TABLE, a região é declarada na raiz e atende às duas subclasses.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "pessoa")
 public abstract class Pessoa implements Serializable {
     private static final long serialVersionUID = 1L;
 
@@ -41,11 +50,16 @@ public abstract class Pessoa implements Serializable {
 
     @ElementCollection(fetch = FetchType.EAGER)
     @CollectionTable(name = "PERFIS")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "pessoa.perfis")
     protected Set<Integer> perfis = new HashSet<>();
 
     @JsonFormat(pattern = "dd/MM/yyyy")
     protected LocalDate dataCriacao = LocalDate.now();
 
+    // Incrementada pelo Hibernate a cada alteração; usada como ETag das respostas
+    @Version
+    protected Integer versao;
+
     public Pessoa() {
         super();
         addPerfil(Perfil.CLIENTE); // Todo usuário é, no mínimo, um cliente
@@ -117,6 +131,14 @@ public abstract class Pessoa implements Serializable {
         this.dataCriacao = dataCriacao;
     }
 
+    public Integer getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Integer versao) {
+        this.versao = versao;
+    }
+
     @Override
     public int hashCode() {
         return Objects.hash(cpf, id);
@@ -0,0 +1,98 @@
+package com.turmab.helpdesk.domain;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import com.turmab.helpdesk.domain.enums.Prioridade;
+import com.turmab.helpdesk.domain.enums.Status;
+
+/**
+ * Entidade que registra cada mudança de Status de um chamado, com data e hora.
+ * A criação do chamado é registrada como uma transição sem status anterior.
+ * Não há chave estrangeira para chamado, pois o histórico é mantido mesmo depois que o
+ * chamado é movido para o arquivo. Os tempos de primeira resposta e de resolução são
+ * calculados no momento da transição e gravados nela, de modo que as estatísticas de SLA
+ * não precisam parear transições ao serem reconstruídas.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_transicao_status_chamado", columnList = "chamadoId"))
+public class TransicaoStatus implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transicao_status_seq")
+    @SequenceGenerator(name = "transicao_status_seq", sequenceName = "transicao_status_seq", allocationSize = 50)
+    private Long id;
+
+    private Integer chamadoId;
+    private Status statusAnterior;
+    private Status statusNovo;
+    private Prioridade prioridade;
+    private Integer tecnicoId;
+    private LocalDateTime dataHora;
+
+    // Preenchido apenas na primeira transição que tira o chamado de ABERTO
+    private Long tempoRespostaMs;
+
+    // Preenchido apenas nas transições para ENCERRADO
+    private Long tempoResolucaoMs;
+
+    public TransicaoStatus() {
+        super();
+    }
+
+    public TransicaoStatus(Integer chamadoId, Status statusAnterior, Status statusNovo, Prioridade prioridade,
+            Integer tecnicoId, LocalDateTime dataHora) {
+        super();
+        this.chamadoId = chamadoId;
+        this.statusAnterior = statusAnterior;
+        this.statusNovo = statusNovo;
+        this.prioridade = prioridade;
+        this.tecnicoId = tecnicoId;
+        this.dataHora = dataHora;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Integer getChamadoId() { return chamadoId; }
+    public void setChamadoId(Integer chamadoId) { this.chamadoId = chamadoId; }
+    public Status getStatusAnterior() { return statusAnterior; }
+    public void setStatusAnterior(Status statusAnterior) { this.statusAnterior = statusAnterior; }
+    public Status getStatusNovo() { return statusNovo; }
+    public void setStatusNovo(Status statusNovo) { this.statusNovo = statusNovo; }
+    public Prioridade getPrioridade() { return prioridade; }
+    public void setPrioridade(Prioridade prioridade) { this.prioridade = prioridade; }
+    public Integer getTecnicoId() { return tecnicoId; }
+    public void setTecnicoId(Integer tecnicoId) { this.tecnicoId = tecnicoId; }
+    public LocalDateTime getDataHora() { return dataHora; }
+    public void setDataHora(LocalDateTime dataHora) { this.dataHora = dataHora; }
+    public Long getTempoRespostaMs() { return tempoRespostaMs; }
+    public void setTempoRespostaMs(Long tempoRespostaMs) { this.tempoRespostaMs = tempoRespostaMs; }
+    public Long getTempoResolucaoMs() { return tempoResolucaoMs; }
+    public void setTempoResolucaoMs(Long tempoResolucaoMs) { this.tempoResolucaoMs = tempoResolucaoMs; }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        TransicaoStatus other = (TransicaoStatus) obj;
+        return Objects.equals(id, other.id);
+    }
+}
@@ -0,0 +1,41 @@
+package com.turmab.helpdesk.domain.dtos;
+
+import java.io.Serializable;
+
+/**
+ * DTO com a carga de trabalho de um técnico: a quantidade de chamados dele em cada status.
+ */
+public class CargaTecnicoDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Integer id;
+    private String nome;
+    private Integer abertos;
+    private Integer andamento;
+    private Integer encerrados;
+
+    public CargaTecnicoDTO() {
+        super();
+    }
+
+    public CargaTecnicoDTO(Integer id, String nome, Integer abertos, Integer andamento, Integer encerrados) {
+        super();
+        this.id = id;
+        this.nome = nome;
+        this.abertos = abertos;
+        this.andamento = andamento;
+        this.encerrados = encerrados;
+    }
+
+    // GETTERS E SETTERS
+    public Integer getId() { return id; }
+    public void setId(Integer id) { this.id = id; }
+    public String getNome() { return nome; }
+    public void setNome(String nome) { this.nome = nome; }
+    public Integer getAbertos() { return abertos; }
+    public void setAbertos(Integer abertos) { this.abertos = abertos; }
+    public Integer getAndamento() { return andamento; }
+    public void setAndamento(Integer andamento) { this.andamento = andamento; }
+    public Integer getEncerrados() { return encerrados; }
+    public void setEncerrados(Integer encerrados) { this.encerrados = encerrados; }
+}
@@ -0,0 +1,37 @@
+package com.turmab.helpdesk.domain.dtos;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO que representa uma página do feed de alterações de chamados (GET /chamados/changes).
+ * O token é opaco para o cliente e deve ser guardado e reenviado em "since" na próxima
+ * sincronização; quando hasMore for true, há mais alterações a buscar imediatamente.
+ */
+public class ChamadoAlteracoesDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private List<ChamadoDTO> content = new ArrayList<>();
+    private String token;
+    private boolean hasMore;
+
+    public ChamadoAlteracoesDTO() {
+        super();
+    }
+
+    public ChamadoAlteracoesDTO(List<ChamadoDTO> content, String token, boolean hasMore) {
+        super();
+        this.content = content;
+        this.token = token;
+        this.hasMore = hasMore;
+    }
+
+    // GETTERS E SETTERS
+    public List<ChamadoDTO> getContent() { return content; }
+    public void setContent(List<ChamadoDTO> content) { this.content = content; }
+    public String getToken() { return token; }
+    public void setToken(String token) { this.token = token; }
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+}
@@ -0,0 +1,39 @@
+package com.turmab.helpdesk.domain.dtos;
+
+import java.io.Serializable;
+
+/**
+ * DTO com o resultado de um item da criação em lote de chamados.
+ * O campo indice corresponde à posição do item no array enviado; em caso de
+ * sucesso o id do chamado criado é preenchido, senão a mensagem explica o erro.
+ */
+public class ChamadoBatchResultDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Integer indice;
+    private Integer id;
+    private boolean sucesso;
+    private String mensagem;
+
+    public ChamadoBatchResultDTO() {
+        super();
+    }
+
+    public ChamadoBatchResultDTO(Integer indice, Integer id, boolean sucesso, String mensagem) {
+        super();
+        this.indice = indice;
+        this.id = id;
+        this.sucesso = sucesso;
+        this.mensagem = mensagem;
+    }
+
+    // GETTERS E SETTERS
+    public Integer getIndice() { return indice; }
+    public void setIndice(Integer indice) { this.indice = indice; }
+    public Integer getId() { return id; }
+    public void setId(Integer id) { this.id = id; }
+    public boolean isSucesso() { return sucesso; }
+    public void setSucesso(boolean sucesso) { this.sucesso = sucesso; }
+    public String getMensagem() { return mensagem; }
+    public void setMensagem(String mensagem) { this.mensagem = mensagem; }
+}
@@ -0,0 +1,25 @@
+package com.turmab.helpdesk.domain.dtos;
+
+import java.io.Serializable;
+
+/**
+ * DTO com o resultado de uma transição em massa de chamados.
+ */
+public class ChamadoBulkResultDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Integer afetados;
+
+    public ChamadoBulkResultDTO() {
+        super();
+    }
+
+    public ChamadoBulkResultDTO(Integer afetados) {
+        super();
+        this.afetados = afetados;
+    }
+
+    // GETTERS E SETTERS
+    public Integer getAfetados() { return afetados; }
+    public void setAfetados(Integer afetados) { this.afetados = afetados; }
+}
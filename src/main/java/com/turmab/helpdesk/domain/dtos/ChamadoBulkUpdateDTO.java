@@ -0,0 +1,47 @@
+package com.turmab.helpdesk.domain.dtos;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO para a transição em massa de chamados.
+ * Os campos de filtro (ids, status, prioridade, tecnico, cliente) selecionam os chamados
+ * afetados e são combinados com "E"; os campos novoStatus e novoTecnico definem a alteração.
+ * Ex.: encerrar todos os chamados em ANDAMENTO do técnico 7:
+ * {@code {"status": 1, "tecnico": 7, "novoStatus": 2}}.
+ */
+public class ChamadoBulkUpdateDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    // Filtros
+    private List<Integer> ids = new ArrayList<>();
+    private Integer status;
+    private Integer prioridade;
+    private Integer tecnico;
+    private Integer cliente;
+
+    // Alterações
+    private Integer novoStatus;
+    private Integer novoTecnico;
+
+    public ChamadoBulkUpdateDTO() {
+        super();
+    }
+
+    // GETTERS E SETTERS
+    public List<Integer> getIds() { return ids; }
+    public void setIds(List<Integer> ids) { this.ids = ids; }
+    public Integer getStatus() { return status; }
+    public void setStatus(Integer status) { this.status = status; }
+    public Integer getPrioridade() { return prioridade; }
+    public void setPrioridade(Integer prioridade) { this.prioridade = prioridade; }
+    public Integer getTecnico() { return tecnico; }
+    public void setTecnico(Integer tecnico) { this.tecnico = tecnico; }
+    public Integer getCliente() { return cliente; }
+    public void setCliente(Integer cliente) { this.cliente = cliente; }
+    public Integer getNovoStatus() { return novoStatus; }
+    public void setNovoStatus(Integer novoStatus) { this.novoStatus = novoStatus; }
+    public Integer getNovoTecnico() { return novoTecnico; }
+    public void setNovoTecnico(Integer novoTecnico) { this.novoTecnico = novoTecnico; }
+}
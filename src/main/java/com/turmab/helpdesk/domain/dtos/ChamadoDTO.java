@@ -5,6 +5,8 @@ import java.time.LocalDate;
 import javax.validation.constraints.NotNull;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.turmab.helpdesk.domain.Chamado;
+import com.turmab.helpdesk.domain.enums.Prioridade;
+import com.turmab.helpdesk.domain.enums.Status;
 
 /**
  * DTO (Data Transfer Object) para a entidade Chamado.
@@ -34,8 +36,7 @@ public class ChamadoDTO implements Serializable {
     @NotNull(message = "O campo OBSERVAÇÕES é requerido")
     private String observacoes;
     
-    @NotNull(message = "O campo TÉCNICO é requerido")
-    private Integer tecnico; // Armazena apenas o ID do técnico
+    private Integer tecnico; // Armazena apenas o ID do técnico; na criação, null atribui o técnico de menor carga
     
     @NotNull(message = "O campo CLIENTE é requerido")
     private Integer cliente; // Armazena apenas o ID do cliente
@@ -65,6 +66,26 @@ public class ChamadoDTO implements Serializable {
         this.nomeCliente = obj.getCliente().getNome();
     }
 
+    /**
+     * Construtor utilizado pelas consultas de projeção do ChamadoRepository,
+     * que preenchem o DTO diretamente a partir das colunas do JOIN.
+     */
+    public ChamadoDTO(Integer id, LocalDate dataAbertura, LocalDate dataFechamento, Prioridade prioridade,
+            Status status, String titulo, String observacoes, Integer tecnico, String nomeTecnico,
+            Integer cliente, String nomeCliente) {
+        this.id = id;
+        this.dataAbertura = dataAbertura;
+        this.dataFechamento = dataFechamento;
+        this.prioridade = prioridade.getCodigo();
+        this.status = status.getCodigo();
+        this.titulo = titulo;
+        this.observacoes = observacoes;
+        this.tecnico = tecnico;
+        this.cliente = cliente;
+        this.nomeTecnico = nomeTecnico;
+        this.nomeCliente = nomeCliente;
+    }
+
     // GETTERS E SETTERS
     public Integer getId() { return id; }
     public void setId(Integer id) { this.id = id; }
@@ -0,0 +1,33 @@
+package com.turmab.helpdesk.domain.dtos;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO que representa uma página da listagem paginada por cursor de chamados.
+ * O campo nextCursor é opaco para o cliente e deve ser reenviado para obter a
+ * próxima página; quando for null, não há mais registros.
+ */
+public class ChamadoPageDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private List<ChamadoDTO> content = new ArrayList<>();
+    private String nextCursor;
+
+    public ChamadoPageDTO() {
+        super();
+    }
+
+    public ChamadoPageDTO(List<ChamadoDTO> content, String nextCursor) {
+        super();
+        this.content = content;
+        this.nextCursor = nextCursor;
+    }
+
+    // GETTERS E SETTERS
+    public List<ChamadoDTO> getContent() { return content; }
+    public void setContent(List<ChamadoDTO> content) { this.content = content; }
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
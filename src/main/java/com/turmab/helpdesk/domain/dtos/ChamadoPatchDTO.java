@@ -0,0 +1,37 @@
+package com.turmab.helpdesk.domain.dtos;
+
+import java.io.Serializable;
+
+/**
+ * DTO para a atualização parcial de um chamado (PATCH).
+ * Apenas os campos informados (não nulos) são alterados; os demais permanecem como estão.
+ * Ex.: encerrar o chamado: {@code {"status": 2}}.
+ */
+public class ChamadoPatchDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Integer prioridade;
+    private Integer status;
+    private String titulo;
+    private String observacoes;
+    private Integer tecnico; // Armazena apenas o ID do técnico
+    private Integer cliente; // Armazena apenas o ID do cliente
+
+    public ChamadoPatchDTO() {
+        super();
+    }
+
+    // GETTERS E SETTERS
+    public Integer getPrioridade() { return prioridade; }
+    public void setPrioridade(Integer prioridade) { this.prioridade = prioridade; }
+    public Integer getStatus() { return status; }
+    public void setStatus(Integer status) { this.status = status; }
+    public String getTitulo() { return titulo; }
+    public void setTitulo(String titulo) { this.titulo = titulo; }
+    public String getObservacoes() { return observacoes; }
+    public void setObservacoes(String observacoes) { this.observacoes = observacoes; }
+    public Integer getTecnico() { return tecnico; }
+    public void setTecnico(Integer tecnico) { this.tecnico = tecnico; }
+    public Integer getCliente() { return cliente; }
+    public void setCliente(Integer cliente) { this.cliente = cliente; }
+}
@@ -0,0 +1,28 @@
+package com.turmab.helpdesk.domain.dtos;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO com as estatísticas dos caches da aplicação, por região.
+ */
+public class EstatisticasCacheDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private List<RegiaoCacheDTO> segundoNivel = new ArrayList<>();
+    private RegiaoCacheDTO consultas;
+    private List<RegiaoCacheDTO> respostas = new ArrayList<>();
+
+    public EstatisticasCacheDTO() {
+        super();
+    }
+
+    // GETTERS E SETTERS
+    public List<RegiaoCacheDTO> getSegundoNivel() { return segundoNivel; }
+    public void setSegundoNivel(List<RegiaoCacheDTO> segundoNivel) { this.segundoNivel = segundoNivel; }
+    public RegiaoCacheDTO getConsultas() { return consultas; }
+    public void setConsultas(RegiaoCacheDTO consultas) { this.consultas = consultas; }
+    public List<RegiaoCacheDTO> getRespostas() { return respostas; }
+    public void setRespostas(List<RegiaoCacheDTO> respostas) { this.respostas = respostas; }
+}
@@ -0,0 +1,39 @@
+package com.turmab.helpdesk.domain.dtos;
+
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * DTO com os agregados de chamados exibidos no painel (wallboard):
+ * quantidades por status, por prioridade, por técnico e por dia de abertura.
+ * As chaves dos dias seguem o formato dd/MM/yyyy, em ordem cronológica.
+ */
+public class EstatisticasChamadoDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Long total;
+    private Map<String, Long> porStatus = new LinkedHashMap<>();
+    private Map<String, Long> porPrioridade = new LinkedHashMap<>();
+    private Map<Integer, Long> porTecnico = new LinkedHashMap<>();
+    private Map<String, Long> porDia = new LinkedHashMap<>();
+    private Long reconciliadoEm;
+
+    public EstatisticasChamadoDTO() {
+        super();
+    }
+
+    // GETTERS E SETTERS
+    public Long getTotal() { return total; }
+    public void setTotal(Long total) { this.total = total; }
+    public Map<String, Long> getPorStatus() { return porStatus; }
+    public void setPorStatus(Map<String, Long> porStatus) { this.porStatus = porStatus; }
+    public Map<String, Long> getPorPrioridade() { return porPrioridade; }
+    public void setPorPrioridade(Map<String, Long> porPrioridade) { this.porPrioridade = porPrioridade; }
+    public Map<Integer, Long> getPorTecnico() { return porTecnico; }
+    public void setPorTecnico(Map<Integer, Long> porTecnico) { this.porTecnico = porTecnico; }
+    public Map<String, Long> getPorDia() { return porDia; }
+    public void setPorDia(Map<String, Long> porDia) { this.porDia = porDia; }
+    public Long getReconciliadoEm() { return reconciliadoEm; }
+    public void setReconciliadoEm(Long reconciliadoEm) { this.reconciliadoEm = reconciliadoEm; }
+}
@@ -0,0 +1,61 @@
+package com.turmab.helpdesk.domain.dtos;
+
+import java.io.Serializable;
+
+/**
+ * DTO com as métricas do limitador de tentativas de login (GET /login/stats).
+ * As tentativas limitadas e bloqueadas foram recusadas com 429 sem verificar a senha;
+ * os transbordos contam as chaves novas que não couberam no mapa cheio (os IPs vão para o
+ * balde compartilhado e os e-mails ficam sem limite próprio).
+ */
+public class EstatisticasLoginDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Long permitidas;
+    private Long limitadasPorIp;
+    private Long limitadasPorEmail;
+    private Long bloqueadas;
+    private Long falhas;
+    private Long bloqueiosAplicados;
+    private Long transbordos;
+    private Integer ipsMonitorados;
+    private Integer emailsMonitorados;
+
+    public EstatisticasLoginDTO() {
+        super();
+    }
+
+    public EstatisticasLoginDTO(Long permitidas, Long limitadasPorIp, Long limitadasPorEmail, Long bloqueadas,
+            Long falhas, Long bloqueiosAplicados, Long transbordos, Integer ipsMonitorados, Integer emailsMonitorados) {
+        super();
+        this.permitidas = permitidas;
+        this.limitadasPorIp = limitadasPorIp;
+        this.limitadasPorEmail = limitadasPorEmail;
+        this.bloqueadas = bloqueadas;
+        this.falhas = falhas;
+        this.bloqueiosAplicados = bloqueiosAplicados;
+        this.transbordos = transbordos;
+        this.ipsMonitorados = ipsMonitorados;
+        this.emailsMonitorados = emailsMonitorados;
+    }
+
+    // GETTERS E SETTERS
+    public Long getPermitidas() { return permitidas; }
+    public void setPermitidas(Long permitidas) { this.permitidas = permitidas; }
+    public Long getLimitadasPorIp() { return limitadasPorIp; }
+    public void setLimitadasPorIp(Long limitadasPorIp) { this.limitadasPorIp = limitadasPorIp; }
+    public Long getLimitadasPorEmail() { return limitadasPorEmail; }
+    public void setLimitadasPorEmail(Long limitadasPorEmail) { this.limitadasPorEmail = limitadasPorEmail; }
+    public Long getBloqueadas() { return bloqueadas; }
+    public void setBloqueadas(Long bloqueadas) { this.bloqueadas = bloqueadas; }
+    public Long getFalhas() { return falhas; }
+    public void setFalhas(Long falhas) { this.falhas = falhas; }
+    public Long getBloqueiosAplicados() { return bloqueiosAplicados; }
+    public void setBloqueiosAplicados(Long bloqueiosAplicados) { this.bloqueiosAplicados = bloqueiosAplicados; }
+    public Long getTransbordos() { return transbordos; }
+    public void setTransbordos(Long transbordos) { this.transbordos = transbordos; }
+    public Integer getIpsMonitorados() { return ipsMonitorados; }
+    public void setIpsMonitorados(Integer ipsMonitorados) { this.ipsMonitorados = ipsMonitorados; }
+    public Integer getEmailsMonitorados() { return emailsMonitorados; }
+    public void setEmailsMonitorados(Integer emailsMonitorados) { this.emailsMonitorados = emailsMonitorados; }
+}
@@ -0,0 +1,56 @@
+package com.turmab.helpdesk.domain.dtos;
+
+import java.io.Serializable;
+
+/**
+ * DTO com as métricas do outbox de eventos de chamados (GET /chamados/outbox).
+ * O atraso pendente é a idade do evento mais antigo ainda não entregue; os atrasos de
+ * entrega medem o tempo entre a gravação e a entrega dos eventos já processados.
+ */
+public class EstatisticasOutboxDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Long pendentes;
+    private Long atrasoPendenteMs;
+    private Long atrasoUltimaEntregaMs;
+    private Long atrasoMaximoEntregaMs;
+    private Long entregues;
+    private Long falhas;
+    private Long descartados;
+    private Integer handlers;
+
+    public EstatisticasOutboxDTO() {
+        super();
+    }
+
+    public EstatisticasOutboxDTO(Long pendentes, Long atrasoPendenteMs, Long atrasoUltimaEntregaMs,
+            Long atrasoMaximoEntregaMs, Long entregues, Long falhas, Long descartados, Integer handlers) {
+        super();
+        this.pendentes = pendentes;
+        this.atrasoPendenteMs = atrasoPendenteMs;
+        this.atrasoUltimaEntregaMs = atrasoUltimaEntregaMs;
+        this.atrasoMaximoEntregaMs = atrasoMaximoEntregaMs;
+        this.entregues = entregues;
+        this.falhas = falhas;
+        this.descartados = descartados;
+        this.handlers = handlers;
+    }
+
+    // GETTERS E SETTERS
+    public Long getPendentes() { return pendentes; }
+    public void setPendentes(Long pendentes) { this.pendentes = pendentes; }
+    public Long getAtrasoPendenteMs() { return atrasoPendenteMs; }
+    public void setAtrasoPendenteMs(Long atrasoPendenteMs) { this.atrasoPendenteMs = atrasoPendenteMs; }
+    public Long getAtrasoUltimaEntregaMs() { return atrasoUltimaEntregaMs; }
+    public void setAtrasoUltimaEntregaMs(Long atrasoUltimaEntregaMs) { this.atrasoUltimaEntregaMs = atrasoUltimaEntregaMs; }
+    public Long getAtrasoMaximoEntregaMs() { return atrasoMaximoEntregaMs; }
+    public void setAtrasoMaximoEntregaMs(Long atrasoMaximoEntregaMs) { this.atrasoMaximoEntregaMs = atrasoMaximoEntregaMs; }
+    public Long getEntregues() { return entregues; }
+    public void setEntregues(Long entregues) { this.entregues = entregues; }
+    public Long getFalhas() { return falhas; }
+    public void setFalhas(Long falhas) { this.falhas = falhas; }
+    public Long getDescartados() { return descartados; }
+    public void setDescartados(Long descartados) { this.descartados = descartados; }
+    public Integer getHandlers() { return handlers; }
+    public void setHandlers(Integer handlers) { this.handlers = handlers; }
+}
@@ -0,0 +1,38 @@
+package com.turmab.helpdesk.domain.dtos;
+
+import java.io.Serializable;
+
+/**
+ * DTO com a quantidade de amostras e os quantis p50, p90 e p99 de um tempo de SLA, em segundos.
+ * Os quantis são estimativas com erro relativo de até 1%.
+ */
+public class QuantisDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Long amostras;
+    private Long p50;
+    private Long p90;
+    private Long p99;
+
+    public QuantisDTO() {
+        super();
+    }
+
+    public QuantisDTO(Long amostras, Long p50, Long p90, Long p99) {
+        super();
+        this.amostras = amostras;
+        this.p50 = p50;
+        this.p90 = p90;
+        this.p99 = p99;
+    }
+
+    // GETTERS E SETTERS
+    public Long getAmostras() { return amostras; }
+    public void setAmostras(Long amostras) { this.amostras = amostras; }
+    public Long getP50() { return p50; }
+    public void setP50(Long p50) { this.p50 = p50; }
+    public Long getP90() { return p90; }
+    public void setP90(Long p90) { this.p90 = p90; }
+    public Long getP99() { return p99; }
+    public void setP99(Long p99) { this.p99 = p99; }
+}
@@ -0,0 +1,46 @@
+package com.turmab.helpdesk.domain.dtos;
+
+import java.io.Serializable;
+
+/**
+ * DTO com as estatísticas de uma região de cache: acertos, faltas e inserções
+ * desde a inicialização da aplicação.
+ */
+public class RegiaoCacheDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private String nome;
+    private Long acertos;
+    private Long faltas;
+    private Long insercoes;
+
+    public RegiaoCacheDTO() {
+        super();
+    }
+
+    public RegiaoCacheDTO(String nome, Long acertos, Long faltas, Long insercoes) {
+        super();
+        this.nome = nome;
+        this.acertos = acertos;
+        this.faltas = faltas;
+        this.insercoes = insercoes;
+    }
+
+    /**
+     * Fração das leituras atendidas pelo cache, entre 0 e 1 (null se ainda não houve leituras).
+     */
+    public Double getTaxaAcerto() {
+        long leituras = acertos + faltas;
+        return leituras == 0 ? null : (double) acertos / leituras;
+    }
+
+    // GETTERS E SETTERS
+    public String getNome() { return nome; }
+    public void setNome(String nome) { this.nome = nome; }
+    public Long getAcertos() { return acertos; }
+    public void setAcertos(Long acertos) { this.acertos = acertos; }
+    public Long getFaltas() { return faltas; }
+    public void setFaltas(Long faltas) { this.faltas = faltas; }
+    public Long getInsercoes() { return insercoes; }
+    public void setInsercoes(Long insercoes) { this.insercoes = insercoes; }
+}
@@ -0,0 +1,33 @@
+package com.turmab.helpdesk.domain.dtos;
+
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * DTO com as estatísticas de SLA dos chamados, por prioridade e por técnico.
+ * O tempo de resposta vai da abertura à primeira saída do status ABERTO; o tempo de
+ * resolução vai da abertura até cada transição para ENCERRADO.
+ */
+public class SlaDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Map<String, QuantisDTO> respostaPorPrioridade = new LinkedHashMap<>();
+    private Map<String, QuantisDTO> resolucaoPorPrioridade = new LinkedHashMap<>();
+    private Map<Integer, QuantisDTO> respostaPorTecnico = new LinkedHashMap<>();
+    private Map<Integer, QuantisDTO> resolucaoPorTecnico = new LinkedHashMap<>();
+
+    public SlaDTO() {
+        super();
+    }
+
+    // GETTERS E SETTERS
+    public Map<String, QuantisDTO> getRespostaPorPrioridade() { return respostaPorPrioridade; }
+    public void setRespostaPorPrioridade(Map<String, QuantisDTO> respostaPorPrioridade) { this.respostaPorPrioridade = respostaPorPrioridade; }
+    public Map<String, QuantisDTO> getResolucaoPorPrioridade() { return resolucaoPorPrioridade; }
+    public void setResolucaoPorPrioridade(Map<String, QuantisDTO> resolucaoPorPrioridade) { this.resolucaoPorPrioridade = resolucaoPorPrioridade; }
+    public Map<Integer, QuantisDTO> getRespostaPorTecnico() { return respostaPorTecnico; }
+    public void setRespostaPorTecnico(Map<Integer, QuantisDTO> respostaPorTecnico) { this.respostaPorTecnico = respostaPorTecnico; }
+    public Map<Integer, QuantisDTO> getResolucaoPorTecnico() { return resolucaoPorTecnico; }
+    public void setResolucaoPorTecnico(Map<Integer, QuantisDTO> resolucaoPorTecnico) { this.resolucaoPorTecnico = resolucaoPorTecnico; }
+}
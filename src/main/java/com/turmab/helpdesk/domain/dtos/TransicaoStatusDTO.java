@@ -0,0 +1,46 @@
+package com.turmab.helpdesk.domain.dtos;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.turmab.helpdesk.domain.TransicaoStatus;
+
+/**
+ * DTO para uma entrada do histórico de status de um chamado.
+ * Os status e a prioridade são representados pelos seus códigos, como em ChamadoDTO.
+ */
+public class TransicaoStatusDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Integer statusAnterior;
+    private Integer statusNovo;
+    private Integer prioridade;
+    private Integer tecnico;
+
+    @JsonFormat(pattern = "dd/MM/yyyy HH:mm:ss")
+    private LocalDateTime dataHora;
+
+    public TransicaoStatusDTO() {
+        super();
+    }
+
+    public TransicaoStatusDTO(TransicaoStatus obj) {
+        this.statusAnterior = obj.getStatusAnterior() == null ? null : obj.getStatusAnterior().getCodigo();
+        this.statusNovo = obj.getStatusNovo().getCodigo();
+        this.prioridade = obj.getPrioridade() == null ? null : obj.getPrioridade().getCodigo();
+        this.tecnico = obj.getTecnicoId();
+        this.dataHora = obj.getDataHora();
+    }
+
+    // GETTERS E SETTERS
+    public Integer getStatusAnterior() { return statusAnterior; }
+    public void setStatusAnterior(Integer statusAnterior) { this.statusAnterior = statusAnterior; }
+    public Integer getStatusNovo() { return statusNovo; }
+    public void setStatusNovo(Integer statusNovo) { this.statusNovo = statusNovo; }
+    public Integer getPrioridade() { return prioridade; }
+    public void setPrioridade(Integer prioridade) { this.prioridade = prioridade; }
+    public Integer getTecnico() { return tecnico; }
+    public void setTecnico(Integer tecnico) { this.tecnico = tecnico; }
+    public LocalDateTime getDataHora() { return dataHora; }
+    public void setDataHora(LocalDateTime dataHora) { this.dataHora = dataHora; }
+}
@@ -0,0 +1,52 @@
+package com.turmab.helpdesk.events;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.turmab.helpdesk.domain.dtos.ChamadoDTO;
+
+/**
+ * Evento publicado pelo ChamadoService sempre que um chamado é criado ou alterado.
+ * Carrega o estado anterior (null na criação) e o estado atual do chamado como DTOs,
+ * para que os ouvintes não dependam de entidades gerenciadas pelo Hibernate.
+ * No arquivamento o chamado sai da tabela e o estado atual é null.
+ * É serializado em JSON no outbox (ver OutboxService) e lido de volta na entrega.
+ */
+public class ChamadoEvent {
+
+    /**
+     * Tipos de alteração que geram um ChamadoEvent.
+     */
+    public enum Tipo {
+        CRIADO,
+        ATUALIZADO,
+        ARQUIVADO
+    }
+
+    private final Tipo tipo;
+    private final ChamadoDTO anterior;
+    private final ChamadoDTO atual;
+
+    @JsonCreator
+    public ChamadoEvent(@JsonProperty("tipo") Tipo tipo, @JsonProperty("anterior") ChamadoDTO anterior,
+            @JsonProperty("atual") ChamadoDTO atual) {
+        this.tipo = tipo;
+        this.anterior = anterior;
+        this.atual = atual;
+    }
+
+    public static ChamadoEvent criado(ChamadoDTO atual) {
+        return new ChamadoEvent(Tipo.CRIADO, null, atual);
+    }
+
+    public static ChamadoEvent atualizado(ChamadoDTO anterior, ChamadoDTO atual) {
+        return new ChamadoEvent(Tipo.ATUALIZADO, anterior, atual);
+    }
+
+    public static ChamadoEvent arquivado(ChamadoDTO anterior) {
+        return new ChamadoEvent(Tipo.ARQUIVADO, anterior, null);
+    }
+
+    public Tipo getTipo() { return tipo; }
+    public ChamadoDTO getAnterior() { return anterior; }
+    public ChamadoDTO getAtual() { return atual; }
+}
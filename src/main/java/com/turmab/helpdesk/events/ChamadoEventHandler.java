@@ -0,0 +1,18 @@
+package com.turmab.helpdesk.events;
+
+/**
+ * Consumidor assíncrono dos ChamadoEvents entregues pelo outbox (ver OutboxService).
+ * Cada bean que implementa esta interface recebe todos os eventos confirmados, fora da
+ * transação e da thread da requisição, na ordem em que foram gravados para um mesmo chamado.
+ * A entrega é "pelo menos uma vez": depois de uma falha ou de um reinício, o mesmo evento
+ * pode ser entregue de novo, então o handler deve ser idempotente.
+ */
+public interface ChamadoEventHandler {
+
+    /**
+     * Processa um evento. Uma exceção faz o evento (e os seguintes do mesmo chamado)
+     * ser entregue de novo mais tarde, a todos os handlers.
+     * @param event O evento confirmado.
+     */
+    void handle(ChamadoEvent event);
+}
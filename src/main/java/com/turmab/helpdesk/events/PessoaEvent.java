@@ -0,0 +1,33 @@
+package com.turmab.helpdesk.events;
+
+import com.turmab.helpdesk.domain.Pessoa;
+
+/**
+ * Evento publicado pelo TecnicoService e pelo ClienteService sempre que um técnico
+ * ou cliente é criado, alterado ou removido.
+ */
+public class PessoaEvent {
+
+    /**
+     * Tipos de alteração que geram um PessoaEvent.
+     */
+    public enum Tipo {
+        CRIADO,
+        ATUALIZADO,
+        REMOVIDO
+    }
+
+    private final Tipo tipo;
+    private final Class<? extends Pessoa> entidade;
+    private final Integer id;
+
+    public PessoaEvent(Tipo tipo, Class<? extends Pessoa> entidade, Integer id) {
+        this.tipo = tipo;
+        this.entidade = entidade;
+        this.id = id;
+    }
+
+    public Tipo getTipo() { return tipo; }
+    public Class<? extends Pessoa> getEntidade() { return entidade; }
+    public Integer getId() { return id; }
+}
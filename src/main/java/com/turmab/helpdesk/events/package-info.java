@@ -0,0 +1 @@
+package com.turmab.helpdesk.events;
\ No newline at end of file
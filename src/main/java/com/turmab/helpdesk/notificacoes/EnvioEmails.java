@@ -0,0 +1,203 @@
+package com.turmab.helpdesk.notificacoes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.mail.MessagingException;
+import javax.mail.Transport;
+import javax.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+/**
+ * Envia os e-mails de notificação por um pequeno pool de conexões SMTP reaproveitadas.
+ * Cada thread de envio usa uma conexão que continua aberta entre uma rodada e outra, de modo
+ * que o custo de abrir a conexão (e negociar TLS e autenticação) não se repete a cada e-mail;
+ * se o servidor a fechar por ociosidade, ela é reaberta no próximo envio.
+ * As mensagens que falham são reenviadas com espera exponencial, até o limite de tentativas.
+ * A configuração do servidor (host, porta, usuário e senha) vem de spring.mail.*.
+ */
+@Component
+@ConditionalOnProperty(name = "helpdesk.notificacoes.enabled", havingValue = "true")
+public class EnvioEmails {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EnvioEmails.class);
+
+    @Autowired
+    private JavaMailSenderImpl mailSender;
+
+    /**
+     * Quantidade de conexões SMTP (e de threads de envio) mantidas pelo pool.
+     */
+    @Value("${helpdesk.notificacoes.conexoes:2}")
+    private Integer conexoes;
+
+    @Value("${helpdesk.notificacoes.tentativas-maximas:5}")
+    private Integer tentativasMaximas;
+
+    /**
+     * Espera (ms) antes da primeira nova tentativa; dobra a cada falha, até o máximo.
+     */
+    @Value("${helpdesk.notificacoes.backoff-ms:2000}")
+    private Long backoff;
+
+    @Value("${helpdesk.notificacoes.backoff-maximo-ms:60000}")
+    private Long backoffMaximo;
+
+    private ScheduledExecutorService executor;
+    private BlockingQueue<Transport> pool;
+
+    private final AtomicLong enviados = new AtomicLong();
+    private final AtomicLong falhas = new AtomicLong();
+    private final AtomicLong descartados = new AtomicLong();
+
+    /**
+     * Cria as threads de envio e as conexões do pool, ainda fechadas: cada uma é aberta
+     * no primeiro envio que a utilizar.
+     */
+    @PostConstruct
+    public void inicializa() throws MessagingException {
+        executor = Executors.newScheduledThreadPool(conexoes, r -> {
+            Thread thread = new Thread(r, "notificacoes-smtp");
+            thread.setDaemon(true);
+            return thread;
+        });
+        pool = new ArrayBlockingQueue<>(conexoes);
+        for (int i = 0; i < conexoes; i++) {
+            pool.add(mailSender.getSession().getTransport(mailSender.getProtocol()));
+        }
+    }
+
+    /**
+     * Fecha as conexões abertas ao desligar a aplicação. Os e-mails ainda não enviados são perdidos.
+     */
+    @PreDestroy
+    public void encerra() {
+        executor.shutdownNow();
+        for (Transport transport : pool) {
+            fecha(transport);
+        }
+    }
+
+    /**
+     * Distribui as mensagens entre as conexões do pool e as envia fora da thread atual.
+     * @param mensagens As mensagens já montadas (com saveChanges() chamado).
+     */
+    public void envia(List<MimeMessage> mensagens) {
+        int partes = Math.min(conexoes, mensagens.size());
+        for (int i = 0; i < partes; i++) {
+            List<MimeMessage> lote = new ArrayList<>();
+            for (int j = i; j < mensagens.size(); j += partes) {
+                lote.add(mensagens.get(j));
+            }
+            executor.execute(() -> enviaLote(lote, 1));
+        }
+    }
+
+    /**
+     * @return A quantidade de e-mails aceitos pelo servidor SMTP desde o início da aplicação.
+     */
+    public long getEnviados() {
+        return enviados.get();
+    }
+
+    /**
+     * @return A quantidade de e-mails descartados após o limite de tentativas.
+     */
+    public long getDescartados() {
+        return descartados.get();
+    }
+
+    /**
+     * Envia um lote por uma conexão do pool. As mensagens que falharem (e as seguintes, se a
+     * conexão cair) são reagendadas com espera exponencial.
+     */
+    private void enviaLote(List<MimeMessage> lote, int tentativa) {
+        Transport transport;
+        try {
+            transport = pool.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        List<MimeMessage> pendentes = new ArrayList<>();
+        try {
+            conecta(transport);
+            for (int i = 0; i < lote.size(); i++) {
+                MimeMessage mensagem = lote.get(i);
+                try {
+                    transport.sendMessage(mensagem, mensagem.getAllRecipients());
+                    enviados.incrementAndGet();
+                } catch (MessagingException e) {
+                    if (transport.isConnected()) {
+                        LOG.warn("Falha ao enviar e-mail (tentativa {})", tentativa, e);
+                        pendentes.add(mensagem);
+                    } else {
+                        LOG.warn("Conexão SMTP perdida (tentativa {})", tentativa, e);
+                        pendentes.addAll(lote.subList(i, lote.size()));
+                        break;
+                    }
+                }
+            }
+        } catch (MessagingException e) {
+            LOG.warn("Não foi possível conectar ao servidor SMTP (tentativa {})", tentativa, e);
+            fecha(transport);
+            pendentes.addAll(lote);
+        } finally {
+            pool.add(transport);
+        }
+        if (!pendentes.isEmpty()) {
+            reagenda(pendentes, tentativa);
+        }
+    }
+
+    private void reagenda(List<MimeMessage> pendentes, int tentativa) {
+        falhas.addAndGet(pendentes.size());
+        if (tentativa >= tentativasMaximas) {
+            LOG.error("{} e-mails descartados após {} tentativas", pendentes.size(), tentativa);
+            descartados.addAndGet(pendentes.size());
+            return;
+        }
+        long espera = Math.min(backoffMaximo, backoff << Math.min(tentativa - 1, 20));
+        executor.schedule(() -> enviaLote(pendentes, tentativa + 1), espera, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Abre a conexão se ela ainda não estiver aberta. O isConnected() do SMTP envia um NOOP,
+     * descobrindo as conexões que o servidor já fechou por ociosidade.
+     */
+    private void conecta(Transport transport) throws MessagingException {
+        if (transport.isConnected()) {
+            return;
+        }
+        String username = mailSender.getUsername();
+        String password = mailSender.getPassword();
+        if ("".equals(username)) { // Mesma convenção do JavaMailSenderImpl: vazio é sem autenticação
+            username = null;
+            if ("".equals(password)) {
+                password = null;
+            }
+        }
+        transport.connect(mailSender.getHost(), mailSender.getPort(), username, password);
+    }
+
+    private static void fecha(Transport transport) {
+        try {
+            transport.close();
+        } catch (MessagingException e) {
+            LOG.debug("Falha ao fechar a conexão SMTP", e);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.turmab.helpdesk.notificacoes;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import com.turmab.helpdesk.domain.Pessoa;
+import com.turmab.helpdesk.domain.dtos.ChamadoDTO;
+import com.turmab.helpdesk.domain.enums.Status;
+import com.turmab.helpdesk.events.ChamadoEvent;
+import com.turmab.helpdesk.events.ChamadoEventHandler;
+import com.turmab.helpdesk.repositories.PessoaRepository;
+
+/**
+ * Notifica por e-mail clientes e técnicos quando um chamado é aberto, atribuído ou encerrado.
+ * Recebe os eventos do outbox (ver OutboxService), fora da transação e da thread da requisição,
+ * e apenas acumula uma linha por notificação para cada destinatário. A cada janela, cada
+ * destinatário recebe um único e-mail de resumo com as suas linhas, de modo que uma rajada de
+ * alterações (um PUT /chamados/bulk, por exemplo) não vira uma rajada de e-mails.
+ * Linhas repetidas na mesma janela, como as de um evento entregue de novo pelo outbox,
+ * são descartadas. As notificações ainda na janela se perdem se a aplicação for desligada.
+ */
+@Component
+@ConditionalOnProperty(name = "helpdesk.notificacoes.enabled", havingValue = "true")
+public class NotificacoesChamados implements ChamadoEventHandler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NotificacoesChamados.class);
+
+    @Autowired
+    private PessoaRepository pessoaRepository;
+    @Autowired
+    private JavaMailSenderImpl mailSender;
+    @Autowired
+    private EnvioEmails envio;
+
+    @Value("${helpdesk.notificacoes.remetente:helpdesk@localhost}")
+    private String remetente;
+
+    /**
+     * Quantidade máxima de linhas listadas em um resumo; as demais são apenas contadas.
+     */
+    @Value("${helpdesk.notificacoes.itens-por-resumo:50}")
+    private Integer itensPorResumo;
+
+    private Map<Integer, Set<String>> pendentes = new LinkedHashMap<>();
+
+    /**
+     * Registra as notificações de um evento confirmado para os destinatários envolvidos.
+     * @param event O evento entregue pelo outbox.
+     */
+    @Override
+    public void handle(ChamadoEvent event) {
+        ChamadoDTO anterior = event.getAnterior();
+        ChamadoDTO atual = event.getAtual();
+        if (atual == null) { // Arquivamento: o chamado já estava encerrado
+            return;
+        }
+        if (anterior == null) {
+            adiciona(atual.getCliente(), linha(atual, "foi aberto"));
+            adiciona(atual.getTecnico(), linha(atual, "foi aberto e atribuído a você"));
+            return;
+        }
+        if (!Objects.equals(anterior.getTecnico(), atual.getTecnico())) {
+            adiciona(atual.getTecnico(), linha(atual, "foi atribuído a você"));
+        }
+        if (encerrado(atual) && !encerrado(anterior)) {
+            adiciona(atual.getCliente(), linha(atual, "foi encerrado"));
+            adiciona(atual.getTecnico(), linha(atual, "foi encerrado"));
+        }
+    }
+
+    /**
+     * Fecha a janela atual: monta um e-mail de resumo por destinatário e os entrega ao envio.
+     * Se os destinatários não puderem ser lidos do banco, as notificações voltam para a próxima janela.
+     */
+    @Scheduled(fixedDelayString = "${helpdesk.notificacoes.janela-ms:60000}")
+    public void enviaResumos() {
+        Map<Integer, Set<String>> lote;
+        synchronized (this) {
+            if (pendentes.isEmpty()) {
+                return;
+            }
+            lote = pendentes;
+            pendentes = new LinkedHashMap<>();
+        }
+
+        List<Pessoa> destinatarios;
+        try {
+            destinatarios = pessoaRepository.findAllByIdIn(lote.keySet());
+        } catch (RuntimeException e) {
+            LOG.warn("Falha ao ler os destinatários das notificações; nova tentativa na próxima janela", e);
+            synchronized (this) {
+                lote.forEach((pessoa, linhas) -> pendentes.computeIfAbsent(pessoa, k -> new LinkedHashSet<>()).addAll(linhas));
+            }
+            return;
+        }
+
+        List<MimeMessage> mensagens = new ArrayList<>(destinatarios.size());
+        for (Pessoa pessoa : destinatarios) {
+            try {
+                mensagens.add(resumo(pessoa, lote.get(pessoa.getId())));
+            } catch (MessagingException e) {
+                LOG.warn("Não foi possível montar o e-mail para {}", pessoa.getEmail(), e);
+            }
+        }
+        LOG.debug("{} e-mails de resumo com {} notificações", mensagens.size(),
+                lote.values().stream().mapToInt(Set::size).sum());
+        envio.envia(mensagens);
+    }
+
+    private synchronized void adiciona(Integer pessoa, String linha) {
+        if (pessoa != null) {
+            pendentes.computeIfAbsent(pessoa, k -> new LinkedHashSet<>()).add(linha);
+        }
+    }
+
+    private MimeMessage resumo(Pessoa pessoa, Set<String> linhas) throws MessagingException {
+        StringBuilder texto = new StringBuilder("Olá, ").append(pessoa.getNome()).append(".\n\n");
+        Iterator<String> it = linhas.iterator();
+        for (int i = 0; i < itensPorResumo && it.hasNext(); i++) {
+            texto.append("- ").append(it.next()).append('\n');
+        }
+        if (linhas.size() > itensPorResumo) {
+            texto.append("- ... e mais ").append(linhas.size() - itensPorResumo).append(" atualizações.\n");
+        }
+        texto.append("\nEsta é uma mensagem automática do Helpdesk.\n");
+
+        MimeMessage mensagem = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mensagem, "UTF-8");
+        helper.setFrom(remetente);
+        helper.setTo(pessoa.getEmail());
+        helper.setSubject(linhas.size() == 1 ? "Helpdesk: 1 atualização de chamado"
+                : "Helpdesk: " + linhas.size() + " atualizações de chamados");
+        helper.setText(texto.toString());
+        helper.setSentDate(new Date());
+        mensagem.saveChanges(); // O Transport.sendMessage usado pelo pool não chama saveChanges()
+        return mensagem;
+    }
+
+    private static String linha(ChamadoDTO obj, String acao) {
+        return "Chamado #" + obj.getId() + " \"" + obj.getTitulo() + "\" " + acao + ".";
+    }
+
+    private static boolean encerrado(ChamadoDTO obj) {
+        return Status.ENCERRADO.getCodigo().equals(obj.getStatus());
+    }
+}
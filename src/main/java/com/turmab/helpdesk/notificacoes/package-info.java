@@ -0,0 +1 @@
+package com.turmab.helpdesk.notificacoes;
\ No newline at end of file
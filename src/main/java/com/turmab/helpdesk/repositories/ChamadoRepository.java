@@ -1,12 +1,271 @@
 package com.turmab.helpdesk.repositories;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
 import com.turmab.helpdesk.domain.Chamado;
+import com.turmab.helpdesk.domain.Tecnico;
+import com.turmab.helpdesk.domain.dtos.ChamadoDTO;
+import com.turmab.helpdesk.domain.enums.Prioridade;
+import com.turmab.helpdesk.domain.enums.Status;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 /**
  * Interface Repository para a entidade Chamado.
  * Estende JpaRepository para herdar as operações CRUD (Create, Read, Update, Delete)
  * para a entidade Chamado, que é identificada por um ID do tipo Integer.
+ * As operações montadas dinamicamente ficam em {@link ChamadoRepositoryCustom}.
  */
-public interface ChamadoRepository extends JpaRepository<Chamado, Integer> {
-}
\ No newline at end of file
+public interface ChamadoRepository extends JpaRepository<Chamado, Integer>, ChamadoRepositoryCustom {
+
+    /**
+     * Expressão de construtor usada pelas consultas de listagem. Preenche o ChamadoDTO
+     * diretamente a partir de um único JOIN com técnico e cliente, sem hidratar entidades
+     * (e, portanto, sem carregar os perfis nem registrar nada no contexto de persistência).
+     */
+    String SELECT_DTO = "SELECT new com.turmab.helpdesk.domain.dtos.ChamadoDTO("
+            + "c.id, c.dataAbertura, c.dataFechamento, c.prioridade, c.status, c.titulo, c.observacoes, "
+            + "t.id, t.nome, cl.id, cl.nome) "
+            + "FROM Chamado c JOIN c.tecnico t JOIN c.cliente cl ";
+
+    /**
+     * Busca os chamados mais recentes já projetados em ChamadoDTO, limitados pelo tamanho do Pageable.
+     * Por retornar uma List, o Spring Data não executa a consulta de contagem.
+     * @param pageable Define a quantidade máxima de registros retornados.
+     * @return Uma lista de ChamadoDTO ordenada do mais recente para o mais antigo.
+     */
+    @Query(SELECT_DTO + "ORDER BY c.id DESC")
+    List<ChamadoDTO> findAllDTO(Pageable pageable);
+
+    /**
+     * Busca os chamados com os IDs informados, já projetados em ChamadoDTO.
+     * @param ids Os IDs a serem buscados.
+     * @return Uma lista de ChamadoDTO, sem ordem definida.
+     */
+    @Query(SELECT_DTO + "WHERE c.id IN :ids")
+    List<ChamadoDTO> findAllDTOByIdIn(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Busca uma página de chamados por keyset (cursor), aplicando os filtros informados.
+     * Os filtros nulos são ignorados. A paginação é feita pela condição {@code id < cursor},
+     * de modo que o custo da consulta não cresce com a profundidade da página.
+     * @param cursor O ID do último chamado da página anterior, ou null para a primeira página.
+     * @param status Filtro por status.
+     * @param prioridade Filtro por prioridade.
+     * @param tecnico Filtro pelo ID do técnico.
+     * @param cliente Filtro pelo ID do cliente.
+     * @param dataInicio Data de abertura mínima (inclusiva).
+     * @param dataFim Data de abertura máxima (inclusiva).
+     * @param pageable Define a quantidade máxima de registros retornados.
+     * @return Uma lista de ChamadoDTO ordenada do mais recente para o mais antigo.
+     */
+    @Query(SELECT_DTO
+            + "WHERE (:cursor IS NULL OR c.id < :cursor) "
+            + "AND (:status IS NULL OR c.status = :status) "
+            + "AND (:prioridade IS NULL OR c.prioridade = :prioridade) "
+            + "AND (:tecnico IS NULL OR t.id = :tecnico) "
+            + "AND (:cliente IS NULL OR cl.id = :cliente) "
+            + "AND (:dataInicio IS NULL OR c.dataAbertura >= :dataInicio) "
+            + "AND (:dataFim IS NULL OR c.dataAbertura <= :dataFim) "
+            + "ORDER BY c.id DESC")
+    List<ChamadoDTO> findPage(@Param("cursor") Integer cursor, @Param("status") Status status,
+            @Param("prioridade") Prioridade prioridade, @Param("tecnico") Integer tecnico,
+            @Param("cliente") Integer cliente, @Param("dataInicio") LocalDate dataInicio,
+            @Param("dataFim") LocalDate dataFim, Pageable pageable);
+
+    /**
+     * Busca os chamados encerrados da tabela, aplicando os filtros informados, para o histórico.
+     * Os filtros nulos são ignorados.
+     * @param tecnico Filtro pelo ID do técnico.
+     * @param cliente Filtro pelo ID do cliente.
+     * @param dataInicio Data de fechamento mínima (inclusiva).
+     * @param dataFim Data de fechamento máxima (inclusiva).
+     * @param pageable Define a quantidade máxima de registros retornados.
+     * @return Uma lista de ChamadoDTO ordenada do mais recente para o mais antigo.
+     */
+    @Query(SELECT_DTO
+            + "WHERE c.status = com.turmab.helpdesk.domain.enums.Status.ENCERRADO "
+            + "AND (:tecnico IS NULL OR t.id = :tecnico) "
+            + "AND (:cliente IS NULL OR cl.id = :cliente) "
+            + "AND (:dataInicio IS NULL OR c.dataFechamento >= :dataInicio) "
+            + "AND (:dataFim IS NULL OR c.dataFechamento <= :dataFim) "
+            + "ORDER BY c.id DESC")
+    List<ChamadoDTO> findHistorico(@Param("tecnico") Integer tecnico, @Param("cliente") Integer cliente,
+            @Param("dataInicio") LocalDate dataInicio, @Param("dataFim") LocalDate dataFim, Pageable pageable);
+
+    /**
+     * Busca os chamados encerrados antes da data de corte, candidatos ao arquivamento,
+     * já projetados em ChamadoDTO. Usa o índice (status, data_fechamento).
+     * @param corte A data de fechamento limite (exclusiva).
+     * @param pageable Define a quantidade máxima de registros retornados.
+     * @return Uma lista de ChamadoDTO ordenada pelo ID.
+     */
+    @Query(SELECT_DTO
+            + "WHERE c.status = com.turmab.helpdesk.domain.enums.Status.ENCERRADO AND c.dataFechamento < :corte "
+            + "ORDER BY c.id")
+    List<ChamadoDTO> findEncerradosAntesDe(@Param("corte") LocalDate corte, Pageable pageable);
+
+    /**
+     * Remove da tabela os chamados arquivados, com um único DELETE.
+     * A condição de status evita remover um chamado reaberto depois de ter sido lido.
+     * @param ids Os IDs dos chamados arquivados.
+     * @return A quantidade de chamados removidos.
+     */
+    @Modifying
+    @Query("DELETE FROM Chamado c WHERE c.id IN :ids AND c.status = com.turmab.helpdesk.domain.enums.Status.ENCERRADO")
+    int deleteEncerradosByIdIn(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Busca os chamados em status ABERTO com os campos que definem sua posição na fila de despacho.
+     * @return Linhas no formato [ID, Prioridade, data de abertura].
+     */
+    @Query("SELECT c.id, c.prioridade, c.dataAbertura FROM Chamado c "
+            + "WHERE c.status = com.turmab.helpdesk.domain.enums.Status.ABERTO")
+    List<Object[]> findFilaDespacho();
+
+    /**
+     * Busca no banco o próximo chamado ABERTO da fila de despacho (maior prioridade, mais antigo)
+     * e bloqueia a linha. As linhas já bloqueadas por outra transação são puladas (SKIP LOCKED,
+     * nos bancos que o suportam), para que técnicos concorrentes recebam chamados diferentes.
+     * @param pageable Limita a quantidade de chamados (normalmente PageRequest.of(0, 1)).
+     * @return Os IDs dos chamados bloqueados.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "-2")) // LockOptions.SKIP_LOCKED
+    @Query("SELECT c.id FROM Chamado c WHERE c.status = com.turmab.helpdesk.domain.enums.Status.ABERTO "
+            + "ORDER BY c.prioridade DESC, c.dataAbertura, c.id")
+    List<Integer> findProximoAberto(Pageable pageable);
+
+    /**
+     * Busca os chamados gravados depois da posição informada do feed de alterações, na ordem
+     * (alteração, ID), pelo índice idx_chamado_alteracao: o custo depende apenas da quantidade
+     * de chamados alterados, e não do tamanho da tabela.
+     * @param alteracao O número de alteração da posição anterior.
+     * @param id O ID do último chamado entregue com esse número de alteração.
+     * @param limite O maior número de alteração já confirmado (ver SequenciaAlteracoes).
+     * @param pageable Define a quantidade máxima de registros retornados.
+     * @return Linhas com os campos do ChamadoDTO (na ordem do construtor) seguidos do número de alteração.
+     */
+    @Query("SELECT c.id, c.dataAbertura, c.dataFechamento, c.prioridade, c.status, c.titulo, c.observacoes, "
+            + "t.id, t.nome, cl.id, cl.nome, c.alteracao "
+            + "FROM Chamado c JOIN c.tecnico t JOIN c.cliente cl "
+            + "WHERE (c.alteracao > :alteracao OR (c.alteracao = :alteracao AND c.id > :id)) "
+            + "AND c.alteracao <= :limite "
+            + "ORDER BY c.alteracao, c.id")
+    List<Object[]> findAlteracoes(@Param("alteracao") Long alteracao, @Param("id") Integer id,
+            @Param("limite") Long limite, Pageable pageable);
+
+    /**
+     * Conta os chamados não encerrados agrupados por técnico e prioridade, usado na
+     * reconstrução da carga dos técnicos para a atribuição automática.
+     * @return Linhas no formato [ID do técnico, Prioridade, quantidade].
+     */
+    @Query("SELECT c.tecnico.id, c.prioridade, COUNT(c) FROM Chamado c "
+            + "WHERE c.status <> com.turmab.helpdesk.domain.enums.Status.ENCERRADO "
+            + "GROUP BY c.tecnico.id, c.prioridade")
+    List<Object[]> countAbertosGroupByTecnicoAndPrioridade();
+
+    /**
+     * Atribui um chamado ABERTO a um técnico e o coloca em ANDAMENTO com um único UPDATE condicional.
+     * Só altera a linha se o chamado ainda estiver ABERTO e com o técnico lido antes, de modo que,
+     * entre vários técnicos (ou instâncias da aplicação) disputando o mesmo chamado, apenas um vence.
+     * @param id O ID do chamado.
+     * @param tecnicoAnterior O ID do técnico do chamado no momento da leitura.
+     * @param tecnico O técnico que assume o chamado.
+     * @param alteracao O número de alteração da transação.
+     * @return 1 se o chamado foi assumido, 0 se outro usuário o alterou antes.
+     */
+    @Modifying
+    @Query("UPDATE Chamado c SET c.status = com.turmab.helpdesk.domain.enums.Status.ANDAMENTO, "
+            + "c.tecnico = :tecnico, c.versao = c.versao + 1, c.alteracao = :alteracao "
+            + "WHERE c.id = :id AND c.status = com.turmab.helpdesk.domain.enums.Status.ABERTO "
+            + "AND c.tecnico.id = :tecnicoAnterior")
+    int assume(@Param("id") Integer id, @Param("tecnicoAnterior") Integer tecnicoAnterior,
+            @Param("tecnico") Tecnico tecnico, @Param("alteracao") Long alteracao);
+
+    /**
+     * Percorre todos os chamados já projetados em ChamadoDTO, linha a linha, à medida que o
+     * cursor do banco avança. O fetch size limita quantas linhas ficam em memória por vez.
+     * Deve ser consumido dentro de uma transação somente leitura e fechado ao final.
+     * @return Um Stream de ChamadoDTO ordenado pelo ID.
+     */
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+        @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query(SELECT_DTO + "ORDER BY c.id")
+    Stream<ChamadoDTO> streamAllDTO();
+
+    /**
+     * Percorre os chamados que atendem aos filtros, já projetados em ChamadoDTO, como em
+     * {@link #streamAllDTO()}. Apenas os filtros não nulos restringem o resultado.
+     * @param status Filtro por status.
+     * @param prioridade Filtro por prioridade.
+     * @param tecnico Filtro pelo ID do técnico.
+     * @param cliente Filtro pelo ID do cliente.
+     * @param dataInicio Data de abertura mínima (inclusiva).
+     * @param dataFim Data de abertura máxima (inclusiva).
+     * @return Um Stream de ChamadoDTO ordenado pelo ID.
+     */
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+        @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query(SELECT_DTO
+            + "WHERE (:status IS NULL OR c.status = :status) "
+            + "AND (:prioridade IS NULL OR c.prioridade = :prioridade) "
+            + "AND (:tecnico IS NULL OR t.id = :tecnico) "
+            + "AND (:cliente IS NULL OR cl.id = :cliente) "
+            + "AND (:dataInicio IS NULL OR c.dataAbertura >= :dataInicio) "
+            + "AND (:dataFim IS NULL OR c.dataAbertura <= :dataFim) "
+            + "ORDER BY c.id")
+    Stream<ChamadoDTO> streamDTO(@Param("status") Status status, @Param("prioridade") Prioridade prioridade,
+            @Param("tecnico") Integer tecnico, @Param("cliente") Integer cliente,
+            @Param("dataInicio") LocalDate dataInicio, @Param("dataFim") LocalDate dataFim);
+
+    /**
+     * Busca apenas as versões de um chamado, do seu técnico e do seu cliente, sem carregar
+     * entidades. Juntas, elas identificam o conteúdo do ChamadoDTO (que inclui os nomes).
+     * @param id O ID do chamado.
+     * @return Uma lista vazia ou com uma única linha [versão do chamado, do técnico, do cliente].
+     */
+    @Query("SELECT c.versao, t.versao, cl.versao FROM Chamado c JOIN c.tecnico t JOIN c.cliente cl WHERE c.id = :id")
+    List<Object[]> findVersoes(@Param("id") Integer id);
+
+    /**
+     * Conta os chamados agrupados por status.
+     * @return Linhas no formato [Status, quantidade].
+     */
+    @Query("SELECT c.status, COUNT(c) FROM Chamado c GROUP BY c.status")
+    List<Object[]> countGroupByStatus();
+
+    /**
+     * Conta os chamados agrupados por prioridade.
+     * @return Linhas no formato [Prioridade, quantidade].
+     */
+    @Query("SELECT c.prioridade, COUNT(c) FROM Chamado c GROUP BY c.prioridade")
+    List<Object[]> countGroupByPrioridade();
+
+    /**
+     * Conta os chamados agrupados por técnico.
+     * @return Linhas no formato [ID do técnico, quantidade].
+     */
+    @Query("SELECT c.tecnico.id, COUNT(c) FROM Chamado c GROUP BY c.tecnico.id")
+    List<Object[]> countGroupByTecnico();
+
+    /**
+     * Conta os chamados agrupados pelo dia de abertura.
+     * @return Linhas no formato [data de abertura, quantidade].
+     */
+    @Query("SELECT c.dataAbertura, COUNT(c) FROM Chamado c GROUP BY c.dataAbertura")
+    List<Object[]> countGroupByDataAbertura();
+}
@@ -0,0 +1,48 @@
+package com.turmab.helpdesk.repositories;
+
+import java.util.List;
+import com.turmab.helpdesk.domain.dtos.ChamadoDTO;
+import com.turmab.helpdesk.domain.enums.Prioridade;
+import com.turmab.helpdesk.domain.enums.Status;
+
+/**
+ * Interface com as operações do repositório de Chamado que precisam ser montadas
+ * dinamicamente (Criteria API) e, por isso, não podem ser declaradas com @Query.
+ * A implementação fica em {@link ChamadoRepositoryImpl}.
+ */
+public interface ChamadoRepositoryCustom {
+
+    /**
+     * Seleciona, com bloqueio pessimista, os chamados afetados por uma transição em massa.
+     * Apenas os filtros não nulos entram na cláusula WHERE. O SELECT ... FOR UPDATE é feito
+     * apenas em chamado, sem JOIN, para não bloquear técnicos e clientes, e garante que o
+     * chamador saiba exatamente o que vai mudar (ex.: para atualizar contadores) sem que outra
+     * transação altere as linhas no meio. Os nomes de técnicos e clientes são lidos depois, sem
+     * bloqueio. Os IDs do filtro e os das pessoas são consultados em blocos de até 1000.
+     * Com o novo status ENCERRADO, os chamados que já estão encerrados ficam de fora, preservando
+     * a data de fechamento original.
+     * @param ids Filtro por IDs.
+     * @param status Filtro por status.
+     * @param prioridade Filtro por prioridade.
+     * @param tecnico Filtro pelo ID do técnico.
+     * @param cliente Filtro pelo ID do cliente.
+     * @param novoStatus O novo status, ou null se não for alterado.
+     * @param limite A quantidade máxima de chamados da transição; no máximo limite + 1 chamados
+     * são lidos, para que o chamador saiba que o limite foi excedido.
+     * @return O estado atual dos chamados selecionados, em ordem de ID.
+     */
+    List<ChamadoDTO> findParaTransicao(List<Integer> ids, Status status, Prioridade prioridade, Integer tecnico,
+            Integer cliente, Status novoStatus, int limite);
+
+    /**
+     * Aplica uma transição em massa aos chamados já selecionados por {@link #findParaTransicao},
+     * sem carregar as entidades, com um UPDATE para cada bloco de até 1000 IDs.
+     * O status ENCERRADO define a data de fechamento; os demais status a limpam.
+     * @param ids Os IDs dos chamados selecionados.
+     * @param novoStatus O novo status, ou null para mantê-lo.
+     * @param novoTecnico O ID do novo técnico, ou null para mantê-lo.
+     * @param alteracao O número de alteração da transação, gravado em todos os chamados afetados.
+     * @return A quantidade de chamados alterados.
+     */
+    int bulkUpdate(List<Integer> ids, Status novoStatus, Integer novoTecnico, Long alteracao);
+}
@@ -0,0 +1,165 @@
+package com.turmab.helpdesk.repositories;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.CriteriaUpdate;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import com.turmab.helpdesk.domain.Chamado;
+import com.turmab.helpdesk.domain.Tecnico;
+import com.turmab.helpdesk.domain.dtos.ChamadoDTO;
+import com.turmab.helpdesk.domain.enums.Prioridade;
+import com.turmab.helpdesk.domain.enums.Status;
+
+/**
+ * Implementação das operações customizadas do repositório de Chamado.
+ * O Spring Data a associa ao ChamadoRepository pelo sufixo "Impl".
+ */
+public class ChamadoRepositoryImpl implements ChamadoRepositoryCustom {
+
+    /**
+     * Quantidade máxima de IDs em cada cláusula IN da transição em massa.
+     */
+    private static final int IDS_POR_CONSULTA = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ChamadoDTO> findParaTransicao(List<Integer> ids, Status status, Prioridade prioridade,
+            Integer tecnico, Integer cliente, Status novoStatus, int limite) {
+        List<Object[]> linhas = new ArrayList<>();
+        if (ids == null || ids.isEmpty()) {
+            linhas.addAll(bloqueia(null, status, prioridade, tecnico, cliente, novoStatus, limite + 1));
+        } else {
+            List<Integer> ordenados = ids.stream().distinct().sorted().collect(Collectors.toList());
+            for (int i = 0; i < ordenados.size() && linhas.size() <= limite; i += IDS_POR_CONSULTA) {
+                linhas.addAll(bloqueia(ordenados.subList(i, Math.min(i + IDS_POR_CONSULTA, ordenados.size())),
+                        status, prioridade, tecnico, cliente, novoStatus, limite + 1 - linhas.size()));
+            }
+        }
+        return comNomes(linhas);
+    }
+
+    @Override
+    public int bulkUpdate(List<Integer> ids, Status novoStatus, Integer novoTecnico, Long alteracao) {
+        int afetados = 0;
+        for (int i = 0; i < ids.size(); i += IDS_POR_CONSULTA) {
+            afetados += update(ids.subList(i, Math.min(i + IDS_POR_CONSULTA, ids.size())), novoStatus, novoTecnico,
+                    alteracao);
+        }
+        return afetados;
+    }
+
+    /**
+     * Seleciona e bloqueia até {@code maximo} chamados que atendem aos filtros, em ordem de ID.
+     */
+    private List<Object[]> bloqueia(List<Integer> ids, Status status, Prioridade prioridade, Integer tecnico,
+            Integer cliente, Status novoStatus, int maximo) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<Chamado> root = query.from(Chamado.class);
+        // O ID das associações é lido da própria chave estrangeira, sem JOIN: o bloqueio
+        // pessimista fica restrito às linhas de chamado e não alcança as de pessoa
+        Path<Integer> t = root.get("tecnico").get("id");
+        Path<Integer> cl = root.get("cliente").get("id");
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (ids != null) {
+            predicates.add(root.get("id").in(ids));
+        }
+        if (status != null) {
+            predicates.add(cb.equal(root.get("status"), status));
+        }
+        if (prioridade != null) {
+            predicates.add(cb.equal(root.get("prioridade"), prioridade));
+        }
+        if (tecnico != null) {
+            predicates.add(cb.equal(t, tecnico));
+        }
+        if (cliente != null) {
+            predicates.add(cb.equal(cl, cliente));
+        }
+        if (novoStatus == Status.ENCERRADO) {
+            // Chamados já encerrados não são encerrados de novo, preservando a data de fechamento
+            predicates.add(cb.notEqual(root.get("status"), Status.ENCERRADO));
+        }
+
+        query.multiselect(root.get("id"), root.get("dataAbertura"), root.get("dataFechamento"),
+                root.get("prioridade"), root.get("status"), root.get("titulo"), root.get("observacoes"), t, cl)
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.asc(root.get("id")));
+        return entityManager.createQuery(query)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .setMaxResults(maximo)
+                .getResultList();
+    }
+
+    /**
+     * Monta os ChamadoDTOs das linhas bloqueadas, buscando os nomes dos técnicos e clientes
+     * envolvidos em blocos de até {@value #IDS_POR_CONSULTA} IDs, sem bloqueio.
+     */
+    private List<ChamadoDTO> comNomes(List<Object[]> linhas) {
+        Set<Integer> pessoas = new HashSet<>();
+        for (Object[] linha : linhas) {
+            pessoas.add((Integer) linha[7]);
+            pessoas.add((Integer) linha[8]);
+        }
+        Map<Integer, String> nomes = new HashMap<>();
+        List<Integer> ids = new ArrayList<>(pessoas);
+        for (int i = 0; i < ids.size(); i += IDS_POR_CONSULTA) {
+            entityManager.createQuery("SELECT p.id, p.nome FROM Pessoa p WHERE p.id IN :ids", Object[].class)
+                    .setParameter("ids", ids.subList(i, Math.min(i + IDS_POR_CONSULTA, ids.size())))
+                    .getResultList()
+                    .forEach(pessoa -> nomes.put((Integer) pessoa[0], (String) pessoa[1]));
+        }
+        List<ChamadoDTO> dtos = new ArrayList<>(linhas.size());
+        for (Object[] linha : linhas) {
+            dtos.add(new ChamadoDTO((Integer) linha[0], (LocalDate) linha[1], (LocalDate) linha[2],
+                    (Prioridade) linha[3], (Status) linha[4], (String) linha[5], (String) linha[6],
+                    (Integer) linha[7], nomes.get(linha[7]), (Integer) linha[8], nomes.get(linha[8])));
+        }
+        return dtos;
+    }
+
+    /**
+     * Executa o UPDATE em massa sobre os IDs já selecionados e bloqueados.
+     * O status ENCERRADO define a data de fechamento; os demais status a limpam.
+     */
+    private int update(List<Integer> ids, Status novoStatus, Integer novoTecnico, Long alteracao) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Chamado> update = cb.createCriteriaUpdate(Chamado.class);
+        Root<Chamado> root = update.from(Chamado.class);
+
+        if (novoStatus != null) {
+            update.set(root.<Status>get("status"), novoStatus);
+            if (novoStatus == Status.ENCERRADO) {
+                update.set(root.<LocalDate>get("dataFechamento"), LocalDate.now());
+            } else {
+                update.set(root.<LocalDate>get("dataFechamento"), cb.nullLiteral(LocalDate.class));
+            }
+        }
+        if (novoTecnico != null) {
+            update.set(root.<Tecnico>get("tecnico"), entityManager.getReference(Tecnico.class, novoTecnico));
+        }
+
+        // O UPDATE em massa não passa pelo controle de versão do Hibernate; incrementa manualmente
+        update.set(root.<Integer>get("versao"), cb.sum(root.<Integer>get("versao"), 1));
+        update.set(root.<Long>get("alteracao"), alteracao);
+
+        update.where(root.get("id").in(ids));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+}
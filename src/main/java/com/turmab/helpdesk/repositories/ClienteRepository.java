@@ -1,7 +1,13 @@
 package com.turmab.helpdesk.repositories;
 
+import java.util.Optional;
+import java.util.stream.Stream;
+import javax.persistence.QueryHint;
 import com.turmab.helpdesk.domain.Cliente;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 /**
  * Interface Repository para a entidade Cliente.
@@ -9,4 +15,25 @@ import org.springframework.data.jpa.repository.JpaRepository;
  * para a entidade Cliente, que é identificada por um ID do tipo Integer.
  */
 public interface ClienteRepository extends JpaRepository<Cliente, Integer> {
-}
\ No newline at end of file
+
+    /**
+     * Percorre todos os clientes, linha a linha, à medida que o cursor do banco avança.
+     * O fetch size limita quantas linhas ficam em memória por vez.
+     * Deve ser consumido dentro de uma transação somente leitura e fechado ao final.
+     * @return Um Stream de Cliente ordenado pelo ID.
+     */
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+        @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("SELECT c FROM Cliente c ORDER BY c.id")
+    Stream<Cliente> streamAll();
+
+    /**
+     * Busca apenas a versão de um cliente, sem carregar a entidade.
+     * @param id O ID do cliente.
+     * @return Um Optional contendo a versão, se o cliente existir.
+     */
+    @Query("SELECT c.versao FROM Cliente c WHERE c.id = :id")
+    Optional<Integer> findVersao(@Param("id") Integer id);
+}
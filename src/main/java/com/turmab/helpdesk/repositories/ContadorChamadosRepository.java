@@ -0,0 +1,71 @@
+package com.turmab.helpdesk.repositories;
+
+import java.util.List;
+import java.util.Optional;
+import javax.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import com.turmab.helpdesk.domain.ContadorChamados;
+import com.turmab.helpdesk.domain.dtos.CargaTecnicoDTO;
+
+/**
+ * Interface Repository para a entidade ContadorChamados.
+ * Os contadores são alterados apenas por incrementos atômicos no banco,
+ * para que escritas concorrentes de chamados não percam atualizações.
+ */
+public interface ContadorChamadosRepository extends JpaRepository<ContadorChamados, Integer> {
+
+    /**
+     * Soma os deltas informados aos contadores de uma pessoa, em um único UPDATE atômico.
+     * @param pessoaId O ID da pessoa (técnico ou cliente).
+     * @param abertos O delta de chamados abertos.
+     * @param andamento O delta de chamados em andamento.
+     * @param encerrados O delta de chamados encerrados.
+     * @return A quantidade de linhas alteradas (0 se a pessoa ainda não tiver contadores).
+     */
+    @Modifying
+    @Query("UPDATE ContadorChamados c SET c.abertos = c.abertos + :abertos, "
+            + "c.andamento = c.andamento + :andamento, c.encerrados = c.encerrados + :encerrados "
+            + "WHERE c.pessoaId = :pessoaId")
+    int incrementa(@Param("pessoaId") Integer pessoaId, @Param("abertos") int abertos,
+            @Param("andamento") int andamento, @Param("encerrados") int encerrados);
+
+    /**
+     * Busca a carga de trabalho de todos os técnicos, em uma única consulta.
+     * @return Uma lista de CargaTecnicoDTO ordenada pelo nome do técnico.
+     */
+    @Query("SELECT new com.turmab.helpdesk.domain.dtos.CargaTecnicoDTO(t.id, t.nome, "
+            + "COALESCE(c.abertos, 0), COALESCE(c.andamento, 0), COALESCE(c.encerrados, 0)) "
+            + "FROM Tecnico t LEFT JOIN ContadorChamados c ON c.pessoaId = t.id ORDER BY t.nome")
+    List<CargaTecnicoDTO> findCargaTecnicos();
+
+    /**
+     * Busca os contadores de uma pessoa bloqueando a linha (SELECT ... FOR UPDATE), usado na
+     * reconciliação: enquanto a linha está bloqueada, nenhuma escrita de chamado da pessoa
+     * consegue aplicar o seu incremento.
+     * @param pessoaId O ID da pessoa (técnico ou cliente).
+     * @return Os contadores da pessoa, se existirem.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM ContadorChamados c WHERE c.pessoaId = :pessoaId")
+    Optional<ContadorChamados> findByIdParaReconciliar(@Param("pessoaId") Integer pessoaId);
+
+    /**
+     * Conta os chamados de um técnico agrupados por status, usado na reconciliação dos contadores.
+     * @param tecnicoId O ID do técnico.
+     * @return Linhas no formato [Status, quantidade].
+     */
+    @Query("SELECT c.status, COUNT(c) FROM Chamado c WHERE c.tecnico.id = :tecnicoId GROUP BY c.status")
+    List<Object[]> countByTecnicoGroupByStatus(@Param("tecnicoId") Integer tecnicoId);
+
+    /**
+     * Conta os chamados de um cliente agrupados por status, usado na reconciliação dos contadores.
+     * @param clienteId O ID do cliente.
+     * @return Linhas no formato [Status, quantidade].
+     */
+    @Query("SELECT c.status, COUNT(c) FROM Chamado c WHERE c.cliente.id = :clienteId GROUP BY c.status")
+    List<Object[]> countByClienteGroupByStatus(@Param("clienteId") Integer clienteId);
+}
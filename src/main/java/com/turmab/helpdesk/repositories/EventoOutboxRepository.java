@@ -0,0 +1,57 @@
+package com.turmab.helpdesk.repositories;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import com.turmab.helpdesk.domain.EventoOutbox;
+
+/**
+ * Interface Repository para a entidade EventoOutbox (eventos de chamados ainda não entregues).
+ */
+public interface EventoOutboxRepository extends JpaRepository<EventoOutbox, Long> {
+
+    /**
+     * Busca o próximo lote de eventos a entregar, na ordem de commit das transações que os gravaram.
+     * Os chamados com um evento aguardando a próxima tentativa ficam de fora por inteiro, para
+     * que os eventos seguintes deles não sejam entregues antes do que falhou.
+     * @param agora A data e hora atual.
+     * @param pageable Define o tamanho do lote.
+     * @return Os eventos pendentes mais antigos, ordenados pela alteração e pelo ID.
+     */
+    @Query("SELECT e FROM EventoOutbox e WHERE e.chamadoId NOT IN "
+            + "(SELECT p.chamadoId FROM EventoOutbox p WHERE p.proximaTentativa > :agora) "
+            + "ORDER BY e.alteracao, e.id")
+    List<EventoOutbox> findLote(@Param("agora") LocalDateTime agora, Pageable pageable);
+
+    /**
+     * Remove os eventos já entregues com um único DELETE.
+     * @param ids Os IDs dos eventos.
+     * @return A quantidade de eventos removidos.
+     */
+    @Modifying
+    @Query("DELETE FROM EventoOutbox e WHERE e.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Soma uma tentativa a um evento cuja entrega falhou e agenda a próxima.
+     * @param id O ID do evento.
+     * @param proximaTentativa A data e hora a partir da qual o evento volta a ser entregue.
+     * @return A quantidade de eventos atualizados.
+     */
+    @Modifying
+    @Query("UPDATE EventoOutbox e SET e.tentativas = e.tentativas + 1, e.proximaTentativa = :proximaTentativa "
+            + "WHERE e.id = :id")
+    int registraFalha(@Param("id") Long id, @Param("proximaTentativa") LocalDateTime proximaTentativa);
+
+    /**
+     * Retorna a data e hora do evento pendente mais antigo, usada no cálculo do atraso.
+     * @return A data e hora, ou null se não houver eventos pendentes.
+     */
+    @Query("SELECT MIN(e.dataHora) FROM EventoOutbox e")
+    LocalDateTime findDataHoraMaisAntiga();
+}
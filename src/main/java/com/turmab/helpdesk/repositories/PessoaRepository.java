@@ -1,7 +1,13 @@
 package com.turmab.helpdesk.repositories;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import javax.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import com.turmab.helpdesk.domain.Pessoa;
 
 /**
@@ -14,16 +20,37 @@ public interface PessoaRepository extends JpaRepository<Pessoa, Integer> {
     /**
      * Busca uma Pessoa pelo seu CPF.
      * O Spring Data JPA cria a implementação deste método automaticamente.
+     * O resultado fica no cache de consultas do Hibernate até a próxima escrita na tabela.
      * @param cpf O CPF a ser buscado.
      * @return Um Optional contendo a Pessoa, se encontrada.
      */
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     Optional<Pessoa> findByCpf(String cpf);
 
     /**
      * Busca uma Pessoa pelo seu E-mail.
      * O Spring Data JPA cria a implementação deste método automaticamente.
+     * Usado a cada requisição autenticada; o resultado fica no cache de consultas do
+     * Hibernate e a entidade no cache de segundo nível, evitando ida ao banco.
      * @param email O E-mail a ser buscado.
      * @return Um Optional contendo a Pessoa, se encontrada.
      */
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     Optional<Pessoa> findByEmail(String email);
-}
\ No newline at end of file
+
+    /**
+     * Busca, em uma única consulta, todas as Pessoas com os IDs informados,
+     * já trazendo os perfis por JOIN FETCH para evitar uma consulta extra por pessoa.
+     * @param ids Os IDs a serem buscados.
+     * @return A lista de Pessoas (Tecnicos e Clientes) encontradas.
+     */
+    @Query("SELECT DISTINCT p FROM Pessoa p LEFT JOIN FETCH p.perfis WHERE p.id IN :ids")
+    List<Pessoa> findAllByIdIn(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Busca os IDs de todas as Pessoas, sem carregar as entidades.
+     * @return A lista de IDs.
+     */
+    @Query("SELECT p.id FROM Pessoa p")
+    List<Integer> findAllIds();
+}
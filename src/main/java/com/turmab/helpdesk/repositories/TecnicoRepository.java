@@ -1,7 +1,14 @@
 package com.turmab.helpdesk.repositories;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import javax.persistence.QueryHint;
 import com.turmab.helpdesk.domain.Tecnico;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 /**
  * Interface Repository para a entidade Tecnico.
@@ -9,4 +16,32 @@ import org.springframework.data.jpa.repository.JpaRepository;
  * para a entidade Tecnico, que é identificada por um ID do tipo Integer.
  */
 public interface TecnicoRepository extends JpaRepository<Tecnico, Integer> {
-}
\ No newline at end of file
+
+    /**
+     * Percorre todos os técnicos, linha a linha, à medida que o cursor do banco avança.
+     * O fetch size limita quantas linhas ficam em memória por vez.
+     * Deve ser consumido dentro de uma transação somente leitura e fechado ao final.
+     * @return Um Stream de Tecnico ordenado pelo ID.
+     */
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+        @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("SELECT t FROM Tecnico t ORDER BY t.id")
+    Stream<Tecnico> streamAll();
+
+    /**
+     * Busca apenas a versão de um técnico, sem carregar a entidade.
+     * @param id O ID do técnico.
+     * @return Um Optional contendo a versão, se o técnico existir.
+     */
+    @Query("SELECT t.versao FROM Tecnico t WHERE t.id = :id")
+    Optional<Integer> findVersao(@Param("id") Integer id);
+
+    /**
+     * Busca apenas os IDs de todos os técnicos.
+     * @return A lista de IDs.
+     */
+    @Query("SELECT t.id FROM Tecnico t")
+    List<Integer> findAllIds();
+}
@@ -0,0 +1,45 @@
+package com.turmab.helpdesk.repositories;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+import javax.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import com.turmab.helpdesk.domain.TransicaoStatus;
+
+/**
+ * Interface Repository para a entidade TransicaoStatus (histórico de status dos chamados).
+ */
+public interface TransicaoStatusRepository extends JpaRepository<TransicaoStatus, Long> {
+
+    /**
+     * Busca o histórico de status de um chamado.
+     * @param chamadoId O ID do chamado.
+     * @return As transições do chamado, da mais antiga para a mais recente.
+     */
+    List<TransicaoStatus> findByChamadoIdOrderByDataHoraAscIdAsc(Integer chamadoId);
+
+    /**
+     * Busca as transições anteriores dos chamados informados, necessárias para calcular
+     * os tempos de resposta e de resolução das novas transições. Usa o índice por chamado.
+     * @param chamadoIds Os IDs dos chamados.
+     * @return As transições dos chamados, sem ordem definida.
+     */
+    @Query("SELECT t FROM TransicaoStatus t WHERE t.chamadoId IN :chamadoIds")
+    List<TransicaoStatus> findByChamadoIdIn(@Param("chamadoIds") Collection<Integer> chamadoIds);
+
+    /**
+     * Percorre os tempos de resposta e de resolução gravados nas transições, usado para
+     * reconstruir as estatísticas de SLA quando a aplicação sobe. Projeta apenas as colunas
+     * necessárias, sem hidratar entidades.
+     * Deve ser consumido dentro de uma transação somente leitura e fechado ao final.
+     * @return Um Stream de linhas [Prioridade, ID do técnico, tempo de resposta, tempo de resolução].
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("SELECT t.prioridade, t.tecnicoId, t.tempoRespostaMs, t.tempoResolucaoMs FROM TransicaoStatus t "
+            + "WHERE t.tempoRespostaMs IS NOT NULL OR t.tempoResolucaoMs IS NOT NULL")
+    Stream<Object[]> streamTempos();
+}
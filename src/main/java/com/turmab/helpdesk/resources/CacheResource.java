@@ -0,0 +1,35 @@
+package com.turmab.helpdesk.resources;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import com.turmab.helpdesk.domain.dtos.EstatisticasCacheDTO;
+import com.turmab.helpdesk.services.EstatisticasCacheService;
+
+/**
+ * Controller REST com informações de diagnóstico dos caches da aplicação.
+ * Expõe os endpoints relacionados a /cache.
+ */
+@RestController
+@RequestMapping(value = "/cache")
+public class CacheResource {
+
+    @Autowired
+    private EstatisticasCacheService service;
+    @Autowired
+    private RespostaCache respostaCache;
+
+    /**
+     * Endpoint com as estatísticas de acertos e faltas de cada região de cache:
+     * o cache de segundo nível do Hibernate, o cache de consultas e o cache de respostas.
+     * @return ResponseEntity contendo o EstatisticasCacheDTO.
+     */
+    @GetMapping(value = "/stats")
+    public ResponseEntity<EstatisticasCacheDTO> getEstatisticas() {
+        EstatisticasCacheDTO obj = service.getEstatisticas();
+        obj.setRespostas(respostaCache.getEstatisticas());
+        return ResponseEntity.ok().body(obj);
+    }
+}
@@ -0,0 +1,283 @@
+package com.turmab.helpdesk.resources;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.turmab.helpdesk.domain.dtos.ChamadoDTO;
+import com.turmab.helpdesk.events.ChamadoEvent;
+
+/**
+ * Transmite as alterações de chamados aos consoles conectados em GET /chamados/events (SSE).
+ * Recebe os eventos depois do commit, nesta instância, e não pelo outbox: o despachante do outbox
+ * roda em apenas uma instância, e os consoles conectados às demais nunca receberiam os eventos.
+ * Cada instância transmite as alterações que ela mesma confirmou.
+ * Cada ChamadoEvent confirmado é serializado uma única vez e enfileirado apenas para os
+ * assinantes cujo filtro (técnico ou cliente) corresponde ao estado anterior ou ao atual.
+ * O envio é feito por um pool de threads, fora da thread que fez o commit; uma conexão ociosa
+ * não ocupa thread, apenas o emitter e uma fila vazia. Cada assinante usa no máximo uma thread
+ * por vez, e o pool cresce até helpdesk.eventos.threads antes de enfileirar tarefas, de modo que
+ * um cliente travado (cuja escrita bloqueia até o server.tomcat.connection-timeout) ocupa apenas
+ * a sua thread, e os demais continuam recebendo os eventos.
+ * A fila de cada assinante é limitada: um consumidor que não acompanha o ritmo é desconectado,
+ * para que reconecte e recarregue o estado, em vez de acumular memória no servidor. A conexão é
+ * encerrada pela própria thread de envio do assinante, nunca pela thread que publica o evento.
+ */
+@Component
+public class ChamadoEventos {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ChamadoEventos.class);
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    /**
+     * Tempo máximo de uma conexão; depois dele o cliente reconecta (o EventSource faz isso sozinho).
+     */
+    @Value("${helpdesk.eventos.timeout-ms:1800000}")
+    private Long timeout;
+
+    /**
+     * Quantidade máxima de eventos pendentes por assinante.
+     */
+    @Value("${helpdesk.eventos.buffer:256}")
+    private Integer capacidade;
+
+    private final Set<Assinante> conexoes = ConcurrentHashMap.newKeySet();
+    private final Set<Assinante> semFiltro = ConcurrentHashMap.newKeySet();
+    private final Map<Integer, Set<Assinante>> porTecnico = new ConcurrentHashMap<>();
+    private final Map<Integer, Set<Assinante>> porCliente = new ConcurrentHashMap<>();
+
+    /**
+     * Quantidade máxima de threads de envio; as ociosas são encerradas depois de um minuto.
+     */
+    @Value("${helpdesk.eventos.threads:32}")
+    private Integer threads;
+
+    private ThreadPoolExecutor envio;
+
+    @PostConstruct
+    public void inicializa() {
+        envio = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread thread = new Thread(r, "chamado-eventos");
+            thread.setDaemon(true);
+            return thread;
+        });
+        envio.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Registra um novo assinante. Sem filtro, recebe as alterações de todos os chamados.
+     * @param tecnico ID do técnico cujos chamados interessam, ou null.
+     * @param cliente ID do cliente cujos chamados interessam, ou null.
+     * @return O emitter a ser devolvido pelo controller.
+     */
+    public SseEmitter inscreve(Integer tecnico, Integer cliente) {
+        Assinante assinante = new Assinante(new SseEmitter(timeout), tecnico, cliente);
+        assinante.emitter.onCompletion(() -> cancela(assinante));
+        assinante.emitter.onTimeout(() -> cancela(assinante));
+        assinante.emitter.onError(e -> cancela(assinante));
+        if (tecnico != null) {
+            porTecnico.computeIfAbsent(tecnico, k -> ConcurrentHashMap.newKeySet()).add(assinante);
+        }
+        if (cliente != null) {
+            porCliente.computeIfAbsent(cliente, k -> ConcurrentHashMap.newKeySet()).add(assinante);
+        }
+        if (tecnico == null && cliente == null) {
+            semFiltro.add(assinante);
+        }
+        conexoes.add(assinante);
+        // O comentário inicial envia os cabeçalhos imediatamente, confirmando a conexão ao cliente
+        assinante.enfileira(new Mensagem(null, null, null, "conectado"));
+        return assinante.emitter;
+    }
+
+    /**
+     * Enfileira o evento confirmado para os assinantes interessados.
+     * @param event O evento publicado pelo ChamadoService.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChamadoEvent(ChamadoEvent event) {
+        if (conexoes.isEmpty()) {
+            return;
+        }
+        String dados;
+        try {
+            dados = mapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            LOG.warn("Não foi possível serializar o evento do chamado", e);
+            return;
+        }
+        ChamadoDTO obj = event.getAtual() != null ? event.getAtual() : event.getAnterior();
+        Mensagem sse = new Mensagem(event.getTipo().name().toLowerCase(), String.valueOf(obj.getId()), dados, null);
+
+        Set<Assinante> destinos = ConcurrentHashMap.newKeySet();
+        destinos.addAll(semFiltro);
+        for (ChamadoDTO estado : new ChamadoDTO[] { event.getAnterior(), event.getAtual() }) {
+            if (estado != null) {
+                destinos.addAll(porTecnico.getOrDefault(estado.getTecnico(), Set.of()));
+                destinos.addAll(porCliente.getOrDefault(estado.getCliente(), Set.of()));
+            }
+        }
+        destinos.forEach(assinante -> assinante.enfileira(sse));
+    }
+
+    /**
+     * Envia um comentário periódico a todas as conexões, para que proxies não as encerrem
+     * por ociosidade e para que conexões já fechadas pelo cliente sejam descobertas.
+     */
+    @Scheduled(fixedDelayString = "${helpdesk.eventos.heartbeat-ms:30000}")
+    public void heartbeat() {
+        Mensagem sse = new Mensagem(null, null, null, "heartbeat");
+        conexoes.forEach(assinante -> assinante.enfileira(sse));
+    }
+
+    /**
+     * Retorna a quantidade de assinantes conectados.
+     * @return A quantidade de conexões SSE abertas.
+     */
+    public int getConectados() {
+        return conexoes.size();
+    }
+
+    /**
+     * Encerra as conexões abertas ao desligar a aplicação.
+     */
+    @PreDestroy
+    public void encerra() {
+        envio.shutdownNow();
+        conexoes.forEach(assinante -> assinante.emitter.complete());
+    }
+
+    private void cancela(Assinante assinante) {
+        if (!assinante.ativo.compareAndSet(true, false)) {
+            return;
+        }
+        conexoes.remove(assinante);
+        semFiltro.remove(assinante);
+        remove(porTecnico, assinante.tecnico, assinante);
+        remove(porCliente, assinante.cliente, assinante);
+    }
+
+    private static void remove(Map<Integer, Set<Assinante>> indice, Integer chave, Assinante assinante) {
+        if (chave != null) {
+            indice.computeIfPresent(chave, (k, assinantes) -> {
+                assinantes.remove(assinante);
+                return assinantes.isEmpty() ? null : assinantes;
+            });
+        }
+    }
+
+    /**
+     * Uma conexão SSE com sua fila limitada de eventos pendentes.
+     * No máximo uma tarefa de envio por assinante fica agendada por vez, o que preserva a ordem.
+     */
+    private final class Assinante {
+        private final SseEmitter emitter;
+        private final Integer tecnico;
+        private final Integer cliente;
+        private final ArrayDeque<Mensagem> pendentes = new ArrayDeque<>(4);
+        private final AtomicBoolean agendado = new AtomicBoolean();
+        private final AtomicBoolean ativo = new AtomicBoolean(true);
+
+        private Assinante(SseEmitter emitter, Integer tecnico, Integer cliente) {
+            this.emitter = emitter;
+            this.tecnico = tecnico;
+            this.cliente = cliente;
+        }
+
+        private void enfileira(Mensagem sse) {
+            if (!ativo.get()) {
+                return;
+            }
+            boolean cheio;
+            synchronized (pendentes) {
+                cheio = pendentes.size() >= capacidade;
+                if (!cheio) {
+                    pendentes.addLast(sse);
+                }
+            }
+            if (cheio) {
+                LOG.debug("Assinante de eventos lento desconectado (tecnico={}, cliente={})", tecnico, cliente);
+                cancela(this);
+            }
+            // Desconectado, a thread de envio encerra a conexão assim que a escrita em andamento terminar
+            if (agendado.compareAndSet(false, true)) {
+                envio.execute(this::envia);
+            }
+        }
+
+        private void envia() {
+            while (true) {
+                if (!ativo.get()) {
+                    synchronized (pendentes) {
+                        pendentes.clear();
+                        agendado.set(false);
+                    }
+                    emitter.complete();
+                    return;
+                }
+                Mensagem sse;
+                synchronized (pendentes) {
+                    sse = pendentes.pollFirst();
+                    if (sse == null) {
+                        agendado.set(false);
+                        return;
+                    }
+                }
+                try {
+                    emitter.send(sse.evento());
+                } catch (IOException | IllegalStateException e) {
+                    cancela(this);
+                    synchronized (pendentes) {
+                        pendentes.clear();
+                        agendado.set(false);
+                    }
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Conteúdo de um evento SSE, já serializado e compartilhado entre os assinantes.
+     * O SseEventBuilder é montado a cada envio, pois não pode ser reaproveitado.
+     */
+    private static final class Mensagem {
+        private final String nome;
+        private final String id;
+        private final String dados;
+        private final String comentario;
+
+        private Mensagem(String nome, String id, String dados, String comentario) {
+            this.nome = nome;
+            this.id = id;
+            this.dados = dados;
+            this.comentario = comentario;
+        }
+
+        private SseEmitter.SseEventBuilder evento() {
+            if (comentario != null) {
+                return SseEmitter.event().comment(comentario);
+            }
+            return SseEmitter.event().name(nome).id(id).data(dados);
+        }
+    }
+}
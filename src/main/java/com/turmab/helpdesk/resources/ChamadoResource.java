@@ -1,21 +1,41 @@
 package com.turmab.helpdesk.resources;
 
 import java.net.URI;
+import java.time.LocalDate;
 import java.util.List;
-import java.util.stream.Collectors;
 import javax.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import com.turmab.helpdesk.domain.Chamado;
+import com.turmab.helpdesk.domain.dtos.ChamadoAlteracoesDTO;
+import com.turmab.helpdesk.domain.dtos.ChamadoBatchResultDTO;
+import com.turmab.helpdesk.domain.dtos.ChamadoBulkResultDTO;
+import com.turmab.helpdesk.domain.dtos.ChamadoBulkUpdateDTO;
 import com.turmab.helpdesk.domain.dtos.ChamadoDTO;
+import com.turmab.helpdesk.domain.dtos.ChamadoPageDTO;
+import com.turmab.helpdesk.domain.dtos.ChamadoPatchDTO;
+import com.turmab.helpdesk.domain.dtos.EstatisticasChamadoDTO;
+import com.turmab.helpdesk.domain.dtos.EstatisticasOutboxDTO;
+import com.turmab.helpdesk.domain.dtos.SlaDTO;
+import com.turmab.helpdesk.domain.dtos.TransicaoStatusDTO;
+import com.turmab.helpdesk.security.UserSS;
 import com.turmab.helpdesk.services.ChamadoService;
 
 /**
@@ -28,29 +48,192 @@ public class ChamadoResource {
 
     @Autowired
     private ChamadoService service;
+    @Autowired
+    private NdjsonWriter ndjsonWriter;
+    @Autowired
+    private ChamadoEventos eventos;
+
+    /**
+     * Endpoint de Server-Sent Events que envia as criações, alterações e arquivamentos de chamados
+     * assim que são confirmados, substituindo a consulta periódica da listagem.
+     * Cada evento tem o nome do tipo (criado, atualizado ou arquivado), o ID do chamado e, nos
+     * dados, o ChamadoEvent em JSON com os estados anterior e atual.
+     * @param tecnico Filtra pelos chamados do técnico (antes ou depois da alteração), opcional.
+     * @param cliente Filtra pelos chamados do cliente (antes ou depois da alteração), opcional.
+     * @return O SseEmitter da conexão.
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@RequestParam(required = false) Integer tecnico,
+            @RequestParam(required = false) Integer cliente) {
+        return eventos.inscreve(tecnico, cliente);
+    }
 
     /**
-     * Endpoint para buscar um chamado pelo ID.
+     * Endpoint para buscar um chamado pelo ID, inclusive entre os chamados já arquivados.
+     * Se o cabeçalho If-None-Match trouxer a versão atual (ETag), responde 304 Not Modified
+     * sem carregar o chamado.
      * @param id O ID do chamado a ser buscado.
+     * @param request A requisição, usada na verificação do ETag.
      * @return ResponseEntity contendo o ChamadoDTO do chamado encontrado.
      */
     @GetMapping(value = "/{id}")
-    public ResponseEntity<ChamadoDTO> findById(@PathVariable Integer id) {
-        Chamado obj = service.findById(id);
-        return ResponseEntity.ok().body(new ChamadoDTO(obj));
+    public ResponseEntity<ChamadoDTO> findById(@PathVariable Integer id, WebRequest request) {
+        if (request.checkNotModified(service.getVersao(id))) {
+            return null;
+        }
+        ChamadoDTO objDTO = service.findDTOById(id);
+        return ResponseEntity.ok().body(objDTO);
     }
 
     /**
-     * Endpoint para listar todos os chamados cadastrados.
+     * Endpoint para listar os chamados mais recentes.
+     * A quantidade de registros é limitada; para percorrer todos os chamados
+     * utilize o endpoint /chamados/page.
+     * Se o cabeçalho If-None-Match trouxer a versão atual (ETag), responde 304 Not Modified
+     * sem carregar os chamados.
+     * @param request A requisição, usada na verificação do ETag.
      * @return ResponseEntity contendo uma lista de ChamadoDTO.
      */
     @GetMapping
-    public ResponseEntity<List<ChamadoDTO>> findAll() {
-        List<Chamado> list = service.findAll();
-        List<ChamadoDTO> listDTO = list.stream().map(ChamadoDTO::new).collect(Collectors.toList());
+    public ResponseEntity<List<ChamadoDTO>> findAll(WebRequest request) {
+        if (request.checkNotModified(service.getVersaoListagem())) {
+            return null;
+        }
+        List<ChamadoDTO> listDTO = service.findAll();
+        return ResponseEntity.ok().body(listDTO);
+    }
+
+    /**
+     * Endpoint de sincronização incremental: retorna apenas os chamados criados ou alterados
+     * desde o token da sincronização anterior, junto com o novo token.
+     * Sem token, percorre todos os chamados (sincronização completa), página a página.
+     * @param since O token devolvido pela sincronização anterior.
+     * @param size A quantidade máxima de chamados retornados.
+     * @return ResponseEntity contendo os chamados alterados, o novo token e se há mais alterações.
+     */
+    @GetMapping(value = "/changes")
+    public ResponseEntity<ChamadoAlteracoesDTO> findAlteracoes(
+            @RequestParam(value = "since", required = false) String since,
+            @RequestParam(value = "size", defaultValue = "100") Integer size) {
+        return ResponseEntity.ok().body(service.findAlteracoes(since, size));
+    }
+
+    /**
+     * Endpoint para listar os chamados de forma paginada por cursor, com filtros opcionais.
+     * @param cursor O cursor devolvido pela página anterior (nextCursor).
+     * @param status Código do status.
+     * @param prioridade Código da prioridade.
+     * @param tecnico ID do técnico.
+     * @param cliente ID do cliente.
+     * @param dataInicio Data de abertura mínima, no formato dd/MM/yyyy.
+     * @param dataFim Data de abertura máxima, no formato dd/MM/yyyy.
+     * @param size A quantidade de chamados por página.
+     * @return ResponseEntity contendo a página de ChamadoDTO e o cursor da próxima página.
+     */
+    @GetMapping(value = "/page")
+    public ResponseEntity<ChamadoPageDTO> findPage(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "status", required = false) Integer status,
+            @RequestParam(value = "prioridade", required = false) Integer prioridade,
+            @RequestParam(value = "tecnico", required = false) Integer tecnico,
+            @RequestParam(value = "cliente", required = false) Integer cliente,
+            @RequestParam(value = "dataInicio", required = false) @DateTimeFormat(pattern = "dd/MM/yyyy") LocalDate dataInicio,
+            @RequestParam(value = "dataFim", required = false) @DateTimeFormat(pattern = "dd/MM/yyyy") LocalDate dataFim,
+            @RequestParam(value = "size", defaultValue = "20") Integer size) {
+        ChamadoPageDTO page = service.findPage(cursor, status, prioridade, tecnico, cliente, dataInicio, dataFim, size);
+        return ResponseEntity.ok().body(page);
+    }
+
+    /**
+     * Endpoint para buscar chamados por texto livre no título e nas observações.
+     * @param q O texto da busca.
+     * @param size A quantidade máxima de resultados.
+     * @return ResponseEntity contendo os ChamadoDTO encontrados, do mais para o menos relevante.
+     */
+    @GetMapping(value = "/search")
+    public ResponseEntity<List<ChamadoDTO>> search(@RequestParam(value = "q") String q,
+            @RequestParam(value = "size", defaultValue = "20") Integer size) {
+        List<ChamadoDTO> listDTO = service.search(q, size);
+        return ResponseEntity.ok().body(listDTO);
+    }
+
+    /**
+     * Endpoint com o histórico de chamados encerrados, incluindo os já arquivados, com filtros opcionais.
+     * @param tecnico ID do técnico.
+     * @param cliente ID do cliente.
+     * @param dataInicio Data de fechamento mínima, no formato dd/MM/yyyy.
+     * @param dataFim Data de fechamento máxima, no formato dd/MM/yyyy.
+     * @param size A quantidade máxima de chamados.
+     * @return ResponseEntity contendo os ChamadoDTO, do mais recente para o mais antigo.
+     */
+    @GetMapping(value = "/historico")
+    public ResponseEntity<List<ChamadoDTO>> findHistorico(
+            @RequestParam(value = "tecnico", required = false) Integer tecnico,
+            @RequestParam(value = "cliente", required = false) Integer cliente,
+            @RequestParam(value = "dataInicio", required = false) @DateTimeFormat(pattern = "dd/MM/yyyy") LocalDate dataInicio,
+            @RequestParam(value = "dataFim", required = false) @DateTimeFormat(pattern = "dd/MM/yyyy") LocalDate dataFim,
+            @RequestParam(value = "size", defaultValue = "20") Integer size) {
+        List<ChamadoDTO> listDTO = service.findHistorico(tecnico, cliente, dataInicio, dataFim, size);
+        return ResponseEntity.ok().body(listDTO);
+    }
+
+    /**
+     * Endpoint com os agregados de chamados para o painel: quantidades por status,
+     * por prioridade, por técnico e por dia de abertura.
+     * @param dias Quantidade de dias, a partir de hoje, do agregado por dia de abertura.
+     * @return ResponseEntity contendo o EstatisticasChamadoDTO.
+     */
+    @GetMapping(value = "/stats")
+    public ResponseEntity<EstatisticasChamadoDTO> getEstatisticas(
+            @RequestParam(value = "dias", defaultValue = "30") Integer dias) {
+        EstatisticasChamadoDTO obj = service.getEstatisticas(dias);
+        return ResponseEntity.ok().body(obj);
+    }
+
+    /**
+     * Endpoint com as estatísticas de SLA: percentis p50, p90 e p99 dos tempos de resposta
+     * e de resolução, em segundos, por prioridade e por técnico.
+     * @return ResponseEntity contendo o SlaDTO.
+     */
+    @GetMapping(value = "/sla")
+    public ResponseEntity<SlaDTO> getSla() {
+        SlaDTO obj = service.getSla();
+        return ResponseEntity.ok().body(obj);
+    }
+
+    /**
+     * Endpoint com as métricas do outbox de eventos de chamados: quantidade de eventos
+     * pendentes, atraso do mais antigo, atrasos de entrega e contadores de falhas.
+     * @return ResponseEntity contendo o EstatisticasOutboxDTO.
+     */
+    @GetMapping(value = "/outbox")
+    public ResponseEntity<EstatisticasOutboxDTO> getEstatisticasOutbox() {
+        EstatisticasOutboxDTO obj = service.getEstatisticasOutbox();
+        return ResponseEntity.ok().body(obj);
+    }
+
+    /**
+     * Endpoint com o histórico de mudanças de status de um chamado, com data e hora.
+     * @param id O ID do chamado.
+     * @return ResponseEntity contendo as transições, da mais antiga para a mais recente.
+     */
+    @GetMapping(value = "/{id}/transicoes")
+    public ResponseEntity<List<TransicaoStatusDTO>> findTransicoes(@PathVariable Integer id) {
+        List<TransicaoStatusDTO> listDTO = service.findTransicoes(id);
         return ResponseEntity.ok().body(listDTO);
     }
 
+    /**
+     * Endpoint para exportar todos os chamados no formato NDJSON (um ChamadoDTO por linha).
+     * Os registros são escritos à medida que são lidos do banco, sem carregar a tabela em memória.
+     * @return ResponseEntity contendo o corpo da resposta em streaming.
+     */
+    @GetMapping(value = "/export")
+    public ResponseEntity<StreamingResponseBody> export() {
+        StreamingResponseBody body = ndjsonWriter.<ChamadoDTO>body(service::exportAll);
+        return ResponseEntity.ok().contentType(NdjsonWriter.APPLICATION_NDJSON).body(body);
+    }
+
     /**
      * Endpoint para criar um novo chamado.
      * @param objDTO O DTO com os dados do novo chamado.
@@ -63,15 +246,75 @@ public class ChamadoResource {
         return ResponseEntity.created(uri).build();
     }
     
+    /**
+     * Endpoint para criar vários chamados de uma só vez.
+     * Cada item é validado individualmente; os válidos são inseridos em uma única transação.
+     * @param objDTOs O array de DTOs com os dados dos novos chamados.
+     * @return ResponseEntity contendo o resultado de cada item, na mesma ordem do array enviado.
+     */
+    @PostMapping(value = "/batch")
+    public ResponseEntity<List<ChamadoBatchResultDTO>> createAll(@RequestBody List<ChamadoDTO> objDTOs) {
+        List<ChamadoBatchResultDTO> results = service.createAll(objDTOs);
+        return ResponseEntity.ok().body(results);
+    }
+
+    /**
+     * Endpoint para o técnico logado assumir o próximo chamado da fila de despacho
+     * (maior prioridade e, depois, mais antigo), que passa para ANDAMENTO.
+     * Se vários técnicos chamarem ao mesmo tempo, cada um recebe um chamado diferente.
+     * @param user O usuário logado, que deve ser um técnico.
+     * @return ResponseEntity contendo o ChamadoDTO assumido, ou 204 No Content se a fila estiver vazia.
+     */
+    @PostMapping(value = "/claim")
+    public ResponseEntity<ChamadoDTO> claim(@AuthenticationPrincipal UserSS user) {
+        ChamadoDTO objDTO = service.claim(user.getId());
+        if (objDTO == null) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok().body(objDTO);
+    }
+
+    /**
+     * Endpoint para aplicar uma transição em massa (status e/ou técnico) aos chamados
+     * que atendem aos filtros informados.
+     * @param objDTO O DTO com os filtros e as alterações.
+     * @return ResponseEntity contendo a quantidade de chamados afetados.
+     */
+    @PutMapping(value = "/bulk")
+    public ResponseEntity<ChamadoBulkResultDTO> bulkUpdate(@RequestBody ChamadoBulkUpdateDTO objDTO) {
+        ChamadoBulkResultDTO result = service.bulkUpdate(objDTO);
+        return ResponseEntity.ok().body(result);
+    }
+
     /**
      * Endpoint para atualizar os dados de um chamado existente.
+     * Com o cabeçalho If-Match (o ETag obtido no GET), a atualização só é aplicada se o
+     * chamado não tiver sido alterado desde então; caso contrário responde 412 Precondition Failed.
      * @param id O ID do chamado a ser atualizado.
+     * @param ifMatch O ETag esperado do chamado (opcional).
      * @param objDTO O DTO com os novos dados.
-     * @return ResponseEntity contendo o ChamadoDTO com os dados atualizados.
+     * @return ResponseEntity contendo o ChamadoDTO com os dados atualizados e o novo ETag.
      */
     @PutMapping(value = "/{id}")
-    public ResponseEntity<ChamadoDTO> update(@PathVariable Integer id, @Valid @RequestBody ChamadoDTO objDTO) {
-        Chamado newObj = service.update(id, objDTO);
-        return ResponseEntity.ok().body(new ChamadoDTO(newObj));
+    public ResponseEntity<ChamadoDTO> update(@PathVariable Integer id,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch, @Valid @RequestBody ChamadoDTO objDTO) {
+        Chamado newObj = service.update(id, objDTO, ifMatch);
+        return ResponseEntity.ok().eTag(service.getVersao(newObj)).body(new ChamadoDTO(newObj));
+    }
+
+    /**
+     * Endpoint para atualizar parcialmente um chamado: apenas os campos enviados são alterados.
+     * Aceita o cabeçalho If-Match da mesma forma que o PUT.
+     * Ex.: {@code PATCH /chamados/5} com {@code {"status": 1}}.
+     * @param id O ID do chamado a ser atualizado.
+     * @param ifMatch O ETag esperado do chamado (opcional).
+     * @param objDTO O DTO com os campos a serem alterados.
+     * @return ResponseEntity contendo o ChamadoDTO com os dados atualizados e o novo ETag.
+     */
+    @PatchMapping(value = "/{id}")
+    public ResponseEntity<ChamadoDTO> patch(@PathVariable Integer id,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch, @RequestBody ChamadoPatchDTO objDTO) {
+        Chamado newObj = service.patch(id, objDTO, ifMatch);
+        return ResponseEntity.ok().eTag(service.getVersao(newObj)).body(new ChamadoDTO(newObj));
     }
-}
\ No newline at end of file
+}
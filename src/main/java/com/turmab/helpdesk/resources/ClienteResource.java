@@ -1,7 +1,6 @@
 package com.turmab.helpdesk.resources;
 
 import java.net.URI;
-import java.util.List;
 import java.util.stream.Collectors;
 import javax.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,8 +11,11 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import com.turmab.helpdesk.domain.Cliente;
 import com.turmab.helpdesk.domain.dtos.ClienteDTO;
@@ -29,27 +31,54 @@ public class ClienteResource {
 
     @Autowired
     private ClienteService service;
+    @Autowired
+    private NdjsonWriter ndjsonWriter;
+    @Autowired
+    private RespostaCache respostaCache;
 
     /**
      * Endpoint para buscar um cliente pelo ID.
+     * Se o cabeçalho If-None-Match trouxer a versão atual (ETag), responde 304 Not Modified
+     * sem carregar o cliente.
      * @param id O ID do cliente a ser buscado.
+     * @param request A requisição, usada na verificação do ETag.
      * @return ResponseEntity contendo o ClienteDTO do cliente encontrado.
      */
     @GetMapping(value = "/{id}")
-    public ResponseEntity<ClienteDTO> findById(@PathVariable Integer id) {
+    public ResponseEntity<ClienteDTO> findById(@PathVariable Integer id, WebRequest request) {
+        if (request.checkNotModified(service.getVersao(id))) {
+            return null;
+        }
         Cliente obj = service.findById(id);
         return ResponseEntity.ok().body(new ClienteDTO(obj));
     }
 
     /**
      * Endpoint para listar todos os clientes cadastrados.
-     * @return ResponseEntity contendo uma lista de ClienteDTO.
+     * A resposta serializada fica em cache até a próxima escrita em clientes.
+     * Se o cabeçalho If-None-Match trouxer a versão atual (ETag), responde 304 Not Modified
+     * sem carregar a listagem.
+     * @param request A requisição, usada na verificação do ETag.
+     * @return ResponseEntity contendo o JSON de uma lista de ClienteDTO.
      */
     @GetMapping
-    public ResponseEntity<List<ClienteDTO>> findAll() {
-        List<Cliente> list = service.findAll();
-        List<ClienteDTO> listDTO = list.stream().map(ClienteDTO::new).collect(Collectors.toList());
-        return ResponseEntity.ok().body(listDTO);
+    public ResponseEntity<byte[]> findAll(WebRequest request) {
+        if (request.checkNotModified(service.getVersaoListagem())) {
+            return null;
+        }
+        return respostaCache.get(Cliente.class,
+                () -> service.findAll().stream().map(ClienteDTO::new).collect(Collectors.toList()));
+    }
+
+    /**
+     * Endpoint para exportar todos os clientes no formato NDJSON (um ClienteDTO por linha).
+     * Os registros são escritos à medida que são lidos do banco, sem carregar a tabela em memória.
+     * @return ResponseEntity contendo o corpo da resposta em streaming.
+     */
+    @GetMapping(value = "/export")
+    public ResponseEntity<StreamingResponseBody> export() {
+        StreamingResponseBody body = ndjsonWriter.<ClienteDTO>body(service::exportAll);
+        return ResponseEntity.ok().contentType(NdjsonWriter.APPLICATION_NDJSON).body(body);
     }
 
     /**
@@ -66,14 +95,18 @@ public class ClienteResource {
 
     /**
      * Endpoint para atualizar os dados de um cliente existente.
+     * Com o cabeçalho If-Match (o ETag obtido no GET), a atualização só é aplicada se o
+     * cliente não tiver sido alterado desde então; caso contrário responde 412 Precondition Failed.
      * @param id O ID do cliente a ser atualizado.
+     * @param ifMatch O ETag esperado do cliente (opcional).
      * @param objDTO O DTO com os novos dados.
-     * @return ResponseEntity contendo o ClienteDTO com os dados atualizados.
+     * @return ResponseEntity contendo o ClienteDTO com os dados atualizados e o novo ETag.
      */
     @PutMapping(value = "/{id}")
-    public ResponseEntity<ClienteDTO> update(@PathVariable Integer id, @Valid @RequestBody ClienteDTO objDTO) {
-        Cliente obj = service.update(id, objDTO);
-        return ResponseEntity.ok().body(new ClienteDTO(obj));
+    public ResponseEntity<ClienteDTO> update(@PathVariable Integer id,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch, @Valid @RequestBody ClienteDTO objDTO) {
+        Cliente obj = service.update(id, objDTO, ifMatch);
+        return ResponseEntity.ok().eTag(service.getVersao(obj)).body(new ClienteDTO(obj));
     }
 
     /**
@@ -0,0 +1,124 @@
+package com.turmab.helpdesk.resources;
+
+import java.time.LocalDate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import com.turmab.helpdesk.config.AsyncConfig;
+import com.turmab.helpdesk.domain.dtos.ChamadoDTO;
+import com.turmab.helpdesk.domain.dtos.ClienteDTO;
+import com.turmab.helpdesk.domain.dtos.TecnicoDTO;
+import com.turmab.helpdesk.domain.enums.Prioridade;
+import com.turmab.helpdesk.domain.enums.Status;
+import com.turmab.helpdesk.services.ChamadoService;
+import com.turmab.helpdesk.services.ClienteService;
+import com.turmab.helpdesk.services.TecnicoService;
+
+/**
+ * Controller REST da API de leitura assíncrona de chamados, técnicos e clientes.
+ * Expõe os endpoints relacionados a /leitura, com os mesmos DTOs e a mesma autenticação JWT
+ * dos demais. Nenhum deles ocupa a thread do Tomcat durante a consulta: a busca por ID roda no
+ * pool das leituras de AsyncConfig, com o tempo máximo delas, e as listagens são escritas em
+ * NDJSON no pool das exportações. Nas listagens, cada registro é escrito à medida que o cursor
+ * do banco avança; se o cliente lê devagar, a escrita bloqueia e o cursor só avança no ritmo do
+ * cliente. A listagem de chamados aceita os mesmos filtros de /chamados/page, validados antes
+ * de a resposta começar.
+ */
+@RestController
+@RequestMapping(value = "/leitura")
+public class LeituraResource {
+
+    @Autowired
+    private ChamadoService chamadoService;
+    @Autowired
+    private TecnicoService tecnicoService;
+    @Autowired
+    private ClienteService clienteService;
+    @Autowired
+    private NdjsonWriter ndjsonWriter;
+    @Autowired
+    private AsyncConfig asyncConfig;
+
+    /**
+     * Endpoint para buscar um chamado pelo ID, inclusive entre os chamados já arquivados.
+     * @param id O ID do chamado a ser buscado.
+     * @return A tarefa que produz o ChamadoDTO do chamado encontrado.
+     */
+    @GetMapping(value = "/chamados/{id}")
+    public WebAsyncTask<ResponseEntity<ChamadoDTO>> findChamado(@PathVariable Integer id) {
+        return asyncConfig.leitura(() -> ResponseEntity.ok().body(chamadoService.findDTOById(id)));
+    }
+
+    /**
+     * Endpoint para listar em NDJSON (um ChamadoDTO por linha) os chamados que atendem aos
+     * filtros informados, em ordem de ID.
+     * @param status Código do status.
+     * @param prioridade Código da prioridade.
+     * @param tecnico ID do técnico.
+     * @param cliente ID do cliente.
+     * @param dataInicio Data de abertura mínima, no formato dd/MM/yyyy.
+     * @param dataFim Data de abertura máxima, no formato dd/MM/yyyy.
+     * @return ResponseEntity contendo o corpo da resposta em streaming.
+     */
+    @GetMapping(value = "/chamados")
+    public ResponseEntity<StreamingResponseBody> findChamados(
+            @RequestParam(value = "status", required = false) Integer status,
+            @RequestParam(value = "prioridade", required = false) Integer prioridade,
+            @RequestParam(value = "tecnico", required = false) Integer tecnico,
+            @RequestParam(value = "cliente", required = false) Integer cliente,
+            @RequestParam(value = "dataInicio", required = false) @DateTimeFormat(pattern = "dd/MM/yyyy") LocalDate dataInicio,
+            @RequestParam(value = "dataFim", required = false) @DateTimeFormat(pattern = "dd/MM/yyyy") LocalDate dataFim) {
+        Status filtroStatus = chamadoService.toStatus(status);
+        Prioridade filtroPrioridade = chamadoService.toPrioridade(prioridade);
+        StreamingResponseBody body = ndjsonWriter.<ChamadoDTO>body(action -> chamadoService.exportAll(filtroStatus,
+                filtroPrioridade, tecnico, cliente, dataInicio, dataFim, action));
+        return ResponseEntity.ok().contentType(NdjsonWriter.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * Endpoint para buscar um técnico pelo ID.
+     * @param id O ID do técnico a ser buscado.
+     * @return A tarefa que produz o TecnicoDTO do técnico encontrado.
+     */
+    @GetMapping(value = "/tecnicos/{id}")
+    public WebAsyncTask<ResponseEntity<TecnicoDTO>> findTecnico(@PathVariable Integer id) {
+        return asyncConfig.leitura(() -> ResponseEntity.ok().body(new TecnicoDTO(tecnicoService.findById(id))));
+    }
+
+    /**
+     * Endpoint para listar todos os técnicos em NDJSON (um TecnicoDTO por linha).
+     * @return ResponseEntity contendo o corpo da resposta em streaming.
+     */
+    @GetMapping(value = "/tecnicos")
+    public ResponseEntity<StreamingResponseBody> findTecnicos() {
+        StreamingResponseBody body = ndjsonWriter.<TecnicoDTO>body(tecnicoService::exportAll);
+        return ResponseEntity.ok().contentType(NdjsonWriter.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * Endpoint para buscar um cliente pelo ID.
+     * @param id O ID do cliente a ser buscado.
+     * @return A tarefa que produz o ClienteDTO do cliente encontrado.
+     */
+    @GetMapping(value = "/clientes/{id}")
+    public WebAsyncTask<ResponseEntity<ClienteDTO>> findCliente(@PathVariable Integer id) {
+        return asyncConfig.leitura(() -> ResponseEntity.ok().body(new ClienteDTO(clienteService.findById(id))));
+    }
+
+    /**
+     * Endpoint para listar todos os clientes em NDJSON (um ClienteDTO por linha).
+     * @return ResponseEntity contendo o corpo da resposta em streaming.
+     */
+    @GetMapping(value = "/clientes")
+    public ResponseEntity<StreamingResponseBody> findClientes() {
+        StreamingResponseBody body = ndjsonWriter.<ClienteDTO>body(clienteService::exportAll);
+        return ResponseEntity.ok().contentType(NdjsonWriter.APPLICATION_NDJSON).body(body);
+    }
+}
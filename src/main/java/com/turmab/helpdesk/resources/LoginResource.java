@@ -0,0 +1,31 @@
+package com.turmab.helpdesk.resources;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import com.turmab.helpdesk.domain.dtos.EstatisticasLoginDTO;
+import com.turmab.helpdesk.security.LimitadorLogin;
+
+/**
+ * Controller REST com informações de diagnóstico do login.
+ * O POST /login é atendido pelo JWTAuthenticationFilter; aqui ficam apenas as consultas.
+ */
+@RestController
+@RequestMapping(value = "/login")
+public class LoginResource {
+
+    @Autowired
+    private LimitadorLogin limitador;
+
+    /**
+     * Endpoint com as métricas do limitador de tentativas de login: tentativas permitidas,
+     * limitadas por IP ou por e-mail, bloqueadas e falhas de senha.
+     * @return ResponseEntity contendo o EstatisticasLoginDTO.
+     */
+    @GetMapping(value = "/stats")
+    public ResponseEntity<EstatisticasLoginDTO> getEstatisticas() {
+        return ResponseEntity.ok().body(limitador.getEstatisticas());
+    }
+}
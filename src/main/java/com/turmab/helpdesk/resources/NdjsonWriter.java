@@ -0,0 +1,63 @@
+package com.turmab.helpdesk.resources;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Componente que escreve respostas no formato NDJSON (um objeto JSON por linha).
+ * Utilizado pelos endpoints de exportação para enviar cada registro ao cliente
+ * assim que ele é lido do banco, sem materializar a lista inteira em memória.
+ */
+@Component
+public class NdjsonWriter {
+
+    public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    /**
+     * Quantidade de linhas escritas entre cada flush da resposta.
+     */
+    private static final int LINHAS_POR_FLUSH = 1000;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    /**
+     * Cria o corpo de uma resposta NDJSON a partir de uma fonte de registros.
+     * A fonte recebe um Consumer e deve entregá-los um a um; o primeiro registro é
+     * enviado imediatamente e os demais em blocos de {@value #LINHAS_POR_FLUSH} linhas.
+     * @param source A fonte de registros, normalmente um método exportAll de um serviço.
+     * @return O StreamingResponseBody que escreve os registros na resposta.
+     */
+    public <T> StreamingResponseBody body(Consumer<Consumer<T>> source) {
+        return out -> write(out, source);
+    }
+
+    private <T> void write(OutputStream out, Consumer<Consumer<T>> source) throws IOException {
+        BufferedOutputStream buffer = new BufferedOutputStream(out);
+        int[] linhas = { 0 };
+        try {
+            source.accept(obj -> {
+                try {
+                    buffer.write(mapper.writeValueAsBytes(obj));
+                    buffer.write('\n');
+                    if (++linhas[0] % LINHAS_POR_FLUSH == 1) {
+                        buffer.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        buffer.flush();
+    }
+}
@@ -0,0 +1,139 @@
+package com.turmab.helpdesk.resources;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.turmab.helpdesk.domain.dtos.RegiaoCacheDTO;
+import com.turmab.helpdesk.events.PessoaEvent;
+
+/**
+ * Cache das respostas já serializadas em JSON das listagens de técnicos e clientes.
+ * Uma listagem em cache é devolvida sem consulta ao banco e sem nova serialização.
+ * A entrada de uma entidade é descartada após o commit de qualquer criação, alteração ou
+ * remoção dela (PessoaEvent) e, por segurança, ao fim de um tempo de vida, o que também
+ * limita o atraso quando a listagem é lida de uma réplica.
+ * O total de bytes guardados é limitado; respostas que não cabem são servidas sem cache.
+ */
+@Component
+public class RespostaCache {
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Value("${helpdesk.cache.respostas.tamanho-maximo-bytes:8388608}")
+    private Long tamanhoMaximo;
+    @Value("${helpdesk.cache.respostas.ttl-ms:300000}")
+    private Long ttl;
+
+    private final Map<Class<?>, Entrada> entradas = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Long> geracoes = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Contadores> contadores = new ConcurrentHashMap<>();
+    private long bytesEmUso;
+
+    /**
+     * Devolve a listagem de uma entidade, do cache ou, em caso de falta, carregando,
+     * serializando e guardando o resultado.
+     * @param entidade A entidade listada, usada como chave e na invalidação.
+     * @param loader Carrega a listagem do banco (já convertida em DTOs).
+     * @return ResponseEntity com o JSON da listagem.
+     */
+    public ResponseEntity<byte[]> get(Class<?> entidade, Supplier<?> loader) {
+        Contadores c = contadores.computeIfAbsent(entidade, k -> new Contadores());
+        Entrada entrada = entradas.get(entidade);
+        byte[] corpo;
+        if (entrada != null && entrada.expiraEm > System.currentTimeMillis()) {
+            c.acertos.incrementAndGet();
+            corpo = entrada.corpo;
+        } else {
+            c.faltas.incrementAndGet();
+            long geracao = geracao(entidade);
+            corpo = serializa(loader.get());
+            guarda(entidade, geracao, corpo, c);
+        }
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(corpo);
+    }
+
+    /**
+     * Descarta a listagem da entidade alterada, depois do commit da alteração.
+     * @param event O evento publicado pelo TecnicoService ou ClienteService.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onPessoaEvent(PessoaEvent event) {
+        geracoes.merge(event.getEntidade(), 1L, Long::sum);
+        remove(event.getEntidade());
+    }
+
+    /**
+     * Retorna as estatísticas de cada listagem em cache.
+     * @return Uma lista de RegiaoCacheDTO, uma por entidade.
+     */
+    public List<RegiaoCacheDTO> getEstatisticas() {
+        List<RegiaoCacheDTO> list = new ArrayList<>();
+        contadores.forEach((entidade, c) -> list.add(new RegiaoCacheDTO(entidade.getSimpleName(),
+                c.acertos.get(), c.faltas.get(), c.insercoes.get())));
+        return list;
+    }
+
+    /**
+     * Guarda a resposta, a menos que a entidade tenha sido alterada enquanto a listagem era
+     * carregada (a geração mudou) ou que ela não caiba no limite de memória.
+     */
+    private synchronized void guarda(Class<?> entidade, long geracao, byte[] corpo, Contadores c) {
+        if (geracao(entidade) != geracao) {
+            return;
+        }
+        remove(entidade);
+        if (bytesEmUso + corpo.length > tamanhoMaximo) {
+            return;
+        }
+        entradas.put(entidade, new Entrada(corpo, System.currentTimeMillis() + ttl));
+        bytesEmUso += corpo.length;
+        c.insercoes.incrementAndGet();
+    }
+
+    private void remove(Class<?> entidade) {
+        Entrada removida = entradas.remove(entidade);
+        if (removida != null) {
+            bytesEmUso -= removida.corpo.length;
+        }
+    }
+
+    private long geracao(Class<?> entidade) {
+        return geracoes.getOrDefault(entidade, 0L);
+    }
+
+    private byte[] serializa(Object obj) {
+        try {
+            return mapper.writeValueAsBytes(obj);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar a resposta", e);
+        }
+    }
+
+    private static class Entrada {
+        private final byte[] corpo;
+        private final long expiraEm;
+
+        Entrada(byte[] corpo, long expiraEm) {
+            this.corpo = corpo;
+            this.expiraEm = expiraEm;
+        }
+    }
+
+    private static class Contadores {
+        private final AtomicLong acertos = new AtomicLong();
+        private final AtomicLong faltas = new AtomicLong();
+        private final AtomicLong insercoes = new AtomicLong();
+    }
+}
@@ -12,10 +12,14 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import com.turmab.helpdesk.domain.Tecnico;
+import com.turmab.helpdesk.domain.dtos.CargaTecnicoDTO;
 import com.turmab.helpdesk.domain.dtos.TecnicoDTO;
 import com.turmab.helpdesk.services.TecnicoService;
 
@@ -29,27 +33,64 @@ public class TecnicoResource {
 
     @Autowired
     private TecnicoService service;
+    @Autowired
+    private NdjsonWriter ndjsonWriter;
+    @Autowired
+    private RespostaCache respostaCache;
 
     /**
      * Endpoint para buscar um técnico pelo ID.
+     * Se o cabeçalho If-None-Match trouxer a versão atual (ETag), responde 304 Not Modified
+     * sem carregar o técnico.
      * @param id O ID do técnico a ser buscado.
+     * @param request A requisição, usada na verificação do ETag.
      * @return ResponseEntity contendo o TecnicoDTO do técnico encontrado.
      */
     @GetMapping(value = "/{id}")
-    public ResponseEntity<TecnicoDTO> findById(@PathVariable Integer id) {
+    public ResponseEntity<TecnicoDTO> findById(@PathVariable Integer id, WebRequest request) {
+        if (request.checkNotModified(service.getVersao(id))) {
+            return null;
+        }
         Tecnico obj = service.findById(id);
         return ResponseEntity.ok().body(new TecnicoDTO(obj));
     }
 
     /**
      * Endpoint para listar todos os técnicos cadastrados.
-     * @return ResponseEntity contendo uma lista de TecnicoDTO.
+     * A resposta serializada fica em cache até a próxima escrita em técnicos.
+     * Se o cabeçalho If-None-Match trouxer a versão atual (ETag), responde 304 Not Modified
+     * sem carregar a listagem.
+     * @param request A requisição, usada na verificação do ETag.
+     * @return ResponseEntity contendo o JSON de uma lista de TecnicoDTO.
      */
     @GetMapping
-    public ResponseEntity<List<TecnicoDTO>> findAll() {
-        List<Tecnico> list = service.findAll();
-        List<TecnicoDTO> listDTO = list.stream().map(TecnicoDTO::new).collect(Collectors.toList());
-        return ResponseEntity.ok().body(listDTO);
+    public ResponseEntity<byte[]> findAll(WebRequest request) {
+        if (request.checkNotModified(service.getVersaoListagem())) {
+            return null;
+        }
+        return respostaCache.get(Tecnico.class,
+                () -> service.findAll().stream().map(TecnicoDTO::new).collect(Collectors.toList()));
+    }
+
+    /**
+     * Endpoint para listar a carga de trabalho (chamados por status) de cada técnico.
+     * @return ResponseEntity contendo uma lista de CargaTecnicoDTO.
+     */
+    @GetMapping(value = "/workload")
+    public ResponseEntity<List<CargaTecnicoDTO>> findCarga() {
+        List<CargaTecnicoDTO> list = service.findCarga();
+        return ResponseEntity.ok().body(list);
+    }
+
+    /**
+     * Endpoint para exportar todos os técnicos no formato NDJSON (um TecnicoDTO por linha).
+     * Os registros são escritos à medida que são lidos do banco, sem carregar a tabela em memória.
+     * @return ResponseEntity contendo o corpo da resposta em streaming.
+     */
+    @GetMapping(value = "/export")
+    public ResponseEntity<StreamingResponseBody> export() {
+        StreamingResponseBody body = ndjsonWriter.<TecnicoDTO>body(service::exportAll);
+        return ResponseEntity.ok().contentType(NdjsonWriter.APPLICATION_NDJSON).body(body);
     }
 
     /**
@@ -66,14 +107,18 @@ public class TecnicoResource {
 
     /**
      * Endpoint para atualizar os dados de um técnico existente.
+     * Com o cabeçalho If-Match (o ETag obtido no GET), a atualização só é aplicada se o
+     * técnico não tiver sido alterado desde então; caso contrário responde 412 Precondition Failed.
      * @param id O ID do técnico a ser atualizado.
+     * @param ifMatch O ETag esperado do técnico (opcional).
      * @param objDTO O DTO com os novos dados.
-     * @return ResponseEntity contendo o TecnicoDTO com os dados atualizados.
+     * @return ResponseEntity contendo o TecnicoDTO com os dados atualizados e o novo ETag.
      */
     @PutMapping(value = "/{id}")
-    public ResponseEntity<TecnicoDTO> update(@PathVariable Integer id, @Valid @RequestBody TecnicoDTO objDTO) {
-        Tecnico obj = service.update(id, objDTO);
-        return ResponseEntity.ok().body(new TecnicoDTO(obj));
+    public ResponseEntity<TecnicoDTO> update(@PathVariable Integer id,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch, @Valid @RequestBody TecnicoDTO objDTO) {
+        Tecnico obj = service.update(id, objDTO, ifMatch);
+        return ResponseEntity.ok().eTag(service.getVersao(obj)).body(new TecnicoDTO(obj));
     }
 
     /**
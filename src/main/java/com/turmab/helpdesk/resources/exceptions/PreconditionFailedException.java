@@ -0,0 +1,18 @@
+package com.turmab.helpdesk.resources.exceptions;
+
+/**
+ * Exceção personalizada para quando a versão informada no cabeçalho If-Match não corresponde
+ * à versão atual do recurso, ou seja, ele foi alterado por outra requisição.
+ * Lançada pela camada de serviço nas atualizações condicionais.
+ */
+public class PreconditionFailedException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public PreconditionFailedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
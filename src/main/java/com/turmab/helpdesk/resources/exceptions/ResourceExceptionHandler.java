@@ -3,6 +3,8 @@ package com.turmab.helpdesk.resources.exceptions;
 import javax.servlet.http.HttpServletRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
@@ -54,4 +56,63 @@ public class ResourceExceptionHandler {
 
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
+
+    /**
+     * Manipula a exceção {@link PreconditionFailedException}.
+     * Retorna uma resposta HTTP com status 412 (Precondition Failed) e um corpo
+     * padronizado com os detalhes do erro.
+     *
+     * @param ex A exceção lançada.
+     * @param request A requisição HTTP que causou o erro.
+     * @return Um ResponseEntity com o status e o corpo do erro.
+     */
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<StandardError> preconditionFailedException(PreconditionFailedException ex,
+            HttpServletRequest request) {
+
+        StandardError error = new StandardError(System.currentTimeMillis(), HttpStatus.PRECONDITION_FAILED.value(),
+                "Conflito de Versão", ex.getMessage(), request.getRequestURI());
+
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(error);
+    }
+
+    /**
+     * Manipula a exceção {@link ObjectOptimisticLockingFailureException}, lançada pelo Hibernate
+     * quando o UPDATE versionado não encontra a versão esperada (alteração concorrente).
+     * Retorna uma resposta HTTP com status 412 (Precondition Failed).
+     *
+     * @param ex A exceção lançada.
+     * @param request A requisição HTTP que causou o erro.
+     * @return Um ResponseEntity com o status e o corpo do erro.
+     */
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<StandardError> optimisticLockingFailureException(ObjectOptimisticLockingFailureException ex,
+            HttpServletRequest request) {
+
+        StandardError error = new StandardError(System.currentTimeMillis(), HttpStatus.PRECONDITION_FAILED.value(),
+                "Conflito de Versão", "O registro foi alterado por outro usuário. Recarregue e tente novamente.",
+                request.getRequestURI());
+
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(error);
+    }
+
+    /**
+     * Manipula a exceção {@link TaskRejectedException}, lançada quando um dos pools das respostas
+     * assíncronas (leituras ou exportações, ver AsyncConfig) está ocupado e com a fila cheia.
+     * Retorna uma resposta HTTP com status 503 (Service Unavailable).
+     *
+     * @param ex A exceção lançada.
+     * @param request A requisição HTTP que causou o erro.
+     * @return Um ResponseEntity com o status e o corpo do erro.
+     */
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<StandardError> taskRejectedException(TaskRejectedException ex,
+            HttpServletRequest request) {
+
+        StandardError error = new StandardError(System.currentTimeMillis(), HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Servidor Ocupado", "Muitas leituras ou exportações em andamento. Tente novamente em instantes.",
+                request.getRequestURI());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,185 @@
+package com.turmab.helpdesk.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import com.turmab.helpdesk.domain.dtos.ChamadoDTO;
+import com.turmab.helpdesk.events.ChamadoEvent;
+import com.turmab.helpdesk.repositories.ChamadoRepository;
+
+/**
+ * Índice invertido em memória sobre o título e as observações dos chamados.
+ * É reconstruído a partir do banco quando a aplicação sobe e mantido atualizado pelos
+ * ChamadoEvents publicados após o commit. As buscas são ranqueadas por BM25, com peso
+ * dobrado para os termos do título, e não acessam o banco.
+ */
+@Component
+public class ChamadoSearchIndex {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ChamadoSearchIndex.class);
+
+    // Parâmetros padrão do BM25
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    /**
+     * Quantas vezes cada termo do título é contado, para que ele pese mais que as observações.
+     */
+    private static final int PESO_TITULO = 2;
+
+    @Autowired
+    private ChamadoRepository repository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Map<Integer, Integer>> postings = new HashMap<>();
+    private final Map<Integer, Map<String, Integer>> documentos = new HashMap<>();
+    private final Map<Integer, Integer> tamanhos = new HashMap<>();
+    private long tamanhoTotal;
+
+    /**
+     * Reconstrói o índice lendo todos os chamados do banco em streaming.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long inicio = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documentos.clear();
+            tamanhos.clear();
+            tamanhoTotal = 0;
+            try (Stream<ChamadoDTO> stream = repository.streamAllDTO()) {
+                stream.forEach(this::put);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        LOG.info("Índice de busca de chamados reconstruído: {} documentos em {} ms", tamanhos.size(),
+                System.currentTimeMillis() - inicio);
+    }
+
+    /**
+     * Atualiza o índice depois que a criação ou alteração de um chamado é confirmada.
+     * Chamados arquivados saem do índice, que cobre apenas a tabela.
+     * @param event O evento publicado pelo ChamadoService.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChamadoEvent(ChamadoEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.getAtual() != null) {
+                put(event.getAtual());
+            } else {
+                remove(event.getAnterior().getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca os chamados mais relevantes para o texto informado.
+     * @param q O texto da busca.
+     * @param limite A quantidade máxima de resultados.
+     * @return Os IDs dos chamados encontrados, do mais para o menos relevante.
+     */
+    public List<Integer> search(String q, int limite) {
+        List<String> termos = PortugueseAnalyzer.analyze(q);
+        if (termos.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<Integer, Double> scores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            int n = tamanhos.size();
+            double tamanhoMedio = n == 0 ? 0 : (double) tamanhoTotal / n;
+            for (String termo : termos) {
+                Map<Integer, Integer> docs = postings.get(termo);
+                if (docs == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (n - docs.size() + 0.5) / (docs.size() + 0.5));
+                for (Map.Entry<Integer, Integer> e : docs.entrySet()) {
+                    int tf = e.getValue();
+                    double norma = K1 * (1 - B + B * tamanhos.get(e.getKey()) / tamanhoMedio);
+                    scores.merge(e.getKey(), idf * tf * (K1 + 1) / (tf + norma), Double::sum);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // Mantém apenas os "limite" melhores resultados em um heap mínimo
+        PriorityQueue<Map.Entry<Integer, Double>> top = new PriorityQueue<>(Map.Entry.comparingByValue());
+        for (Map.Entry<Integer, Double> e : scores.entrySet()) {
+            top.offer(e);
+            if (top.size() > limite) {
+                top.poll();
+            }
+        }
+        List<Integer> ids = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            ids.add(top.poll().getKey());
+        }
+        Collections.reverse(ids);
+        return ids;
+    }
+
+    /**
+     * Indexa (ou reindexa) um chamado. Deve ser chamado com o lock de escrita adquirido.
+     */
+    private void put(ChamadoDTO obj) {
+        remove(obj.getId());
+
+        Map<String, Integer> frequencias = new HashMap<>();
+        for (String termo : PortugueseAnalyzer.analyze(obj.getTitulo())) {
+            frequencias.merge(termo, PESO_TITULO, Integer::sum);
+        }
+        for (String termo : PortugueseAnalyzer.analyze(obj.getObservacoes())) {
+            frequencias.merge(termo, 1, Integer::sum);
+        }
+
+        int tamanho = 0;
+        for (Map.Entry<String, Integer> e : frequencias.entrySet()) {
+            postings.computeIfAbsent(e.getKey(), k -> new HashMap<>()).put(obj.getId(), e.getValue());
+            tamanho += e.getValue();
+        }
+        documentos.put(obj.getId(), frequencias);
+        tamanhos.put(obj.getId(), tamanho);
+        tamanhoTotal += tamanho;
+    }
+
+    /**
+     * Remove um chamado do índice. Deve ser chamado com o lock de escrita adquirido.
+     */
+    private void remove(Integer id) {
+        Map<String, Integer> frequencias = documentos.remove(id);
+        if (frequencias == null) {
+            return;
+        }
+        for (String termo : frequencias.keySet()) {
+            Map<Integer, Integer> docs = postings.get(termo);
+            docs.remove(id);
+            if (docs.isEmpty()) {
+                postings.remove(termo);
+            }
+        }
+        tamanhoTotal -= tamanhos.remove(id);
+    }
+}
@@ -0,0 +1,92 @@
+package com.turmab.helpdesk.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Analisador de texto para português usado pelo índice de busca de chamados.
+ * Converte para minúsculas, remove acentos, separa em palavras, descarta stopwords
+ * e reduz plurais e advérbios em "-mente" a um radical comum, de modo que
+ * "impressoras" e "Impressora" gerem o mesmo termo.
+ */
+public final class PortugueseAnalyzer {
+
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^a-z0-9]+");
+
+    private static final Set<String> STOPWORDS = new HashSet<>(Arrays.asList(
+            "a", "ao", "aos", "aquela", "aquelas", "aquele", "aqueles", "aquilo", "as", "ate", "com", "como",
+            "da", "das", "de", "dela", "delas", "dele", "deles", "depois", "do", "dos", "e", "ela", "elas",
+            "ele", "eles", "em", "entre", "era", "essa", "essas", "esse", "esses", "esta", "estas", "este",
+            "estes", "estou", "eu", "foi", "ha", "isso", "isto", "ja", "lhe", "lhes", "mais", "mas", "me",
+            "mesmo", "meu", "meus", "minha", "minhas", "muito", "na", "nao", "nas", "nem", "no", "nos",
+            "nossa", "nossas", "nosso", "nossos", "num", "numa", "o", "os", "ou", "para", "pela", "pelas",
+            "pelo", "pelos", "por", "qual", "quando", "que", "quem", "se", "sem", "ser", "seu", "seus",
+            "so", "sua", "suas", "tambem", "te", "tem", "ter", "teu", "teus", "tu", "tua", "tuas", "um",
+            "uma", "voce", "voces", "vos"));
+
+    private PortugueseAnalyzer() {
+    }
+
+    /**
+     * Converte um texto livre na lista de termos indexáveis, na ordem em que aparecem.
+     * @param texto O texto a ser analisado (pode ser null).
+     * @return A lista de termos normalizados.
+     */
+    public static List<String> analyze(String texto) {
+        List<String> termos = new ArrayList<>();
+        if (texto == null || texto.isEmpty()) {
+            return termos;
+        }
+        String normalizado = ACENTOS.matcher(Normalizer.normalize(texto.toLowerCase(Locale.ROOT), Normalizer.Form.NFD))
+                .replaceAll("");
+        for (String token : SEPARADORES.split(normalizado)) {
+            if (token.length() < 2 || STOPWORDS.contains(token)) {
+                continue;
+            }
+            termos.add(stem(token));
+        }
+        return termos;
+    }
+
+    /**
+     * Radicalizador leve, inspirado na etapa de redução de plural do RSLP.
+     * Aplicado sobre o token já sem acentos.
+     */
+    static String stem(String token) {
+        if (token.length() > 6 && token.endsWith("mente")) {
+            token = token.substring(0, token.length() - 5);
+        }
+        if (token.length() <= 3 || !token.endsWith("s")) {
+            return token;
+        }
+        if (token.endsWith("coes")) {
+            return token.substring(0, token.length() - 4) + "cao";
+        }
+        if (token.endsWith("oes") || token.endsWith("aes")) {
+            return token.substring(0, token.length() - 3) + "ao";
+        }
+        if (token.endsWith("ais")) {
+            return token.substring(0, token.length() - 3) + "al";
+        }
+        if (token.endsWith("eis")) {
+            return token.substring(0, token.length() - 3) + "el";
+        }
+        if (token.endsWith("ois")) {
+            return token.substring(0, token.length() - 3) + "ol";
+        }
+        if (token.endsWith("ns")) {
+            return token.substring(0, token.length() - 2) + "m";
+        }
+        if (token.endsWith("res") || token.endsWith("zes")) {
+            return token.substring(0, token.length() - 2);
+        }
+        return token.substring(0, token.length() - 1);
+    }
+}
@@ -0,0 +1 @@
+package com.turmab.helpdesk.search;
\ No newline at end of file
@@ -19,26 +19,46 @@ import com.turmab.helpdesk.domain.dtos.CredenciaisDTO;
  * Filtro de autenticação JWT.
  * Intercepta as requisições de login no endpoint "/login", valida as credenciais
  * e, em caso de sucesso, gera e retorna um token JWT.
+ * Antes de verificar a senha, consulta o LimitadorLogin: as tentativas acima do limite do IP
+ * ou do e-mail, ou de um IP ou e-mail bloqueado, recebem 429 sem o custo do BCrypt.
  */
 public class JWTAuthenticationFilter extends UsernamePasswordAuthenticationFilter {
 
+    private static final String ATRIBUTO_EMAIL = JWTAuthenticationFilter.class.getName() + ".email";
+
     private AuthenticationManager authenticationManager;
     private JWTUtil jwtUtil;
+    private LimitadorLogin limitador;
 
-    public JWTAuthenticationFilter(AuthenticationManager authenticationManager, JWTUtil jwtUtil) {
+    public JWTAuthenticationFilter(AuthenticationManager authenticationManager, JWTUtil jwtUtil,
+            LimitadorLogin limitador) {
         super();
         this.authenticationManager = authenticationManager;
         this.jwtUtil = jwtUtil;
+        this.limitador = limitador;
     }
 
     /**
      * Tenta realizar a autenticação do usuário a partir dos dados da requisição.
+     * O IP é verificado antes de ler o corpo, e o e-mail antes de verificar a senha;
+     * uma tentativa recusada responde 429 e retorna null, encerrando a requisição.
      */
     @Override
     public Authentication attemptAuthentication(HttpServletRequest request, HttpServletResponse response)
             throws AuthenticationException {
         try {
+            long espera = limitador.verificaIp(request.getRemoteAddr());
+            if (espera > 0) {
+                recusa(response, espera);
+                return null;
+            }
             CredenciaisDTO creds = new ObjectMapper().readValue(request.getInputStream(), CredenciaisDTO.class);
+            request.setAttribute(ATRIBUTO_EMAIL, creds.getEmail());
+            espera = limitador.verificaEmail(creds.getEmail());
+            if (espera > 0) {
+                recusa(response, espera);
+                return null;
+            }
             UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(creds.getEmail(), creds.getSenha(), new ArrayList<>());
             Authentication authentication = authenticationManager.authenticate(authenticationToken);
             return authentication;
@@ -55,6 +75,7 @@ public class JWTAuthenticationFilter extends UsernamePasswordAuthenticationFilte
     protected void successfulAuthentication(HttpServletRequest request, HttpServletResponse response, FilterChain chain,
             Authentication authResult) throws IOException, ServletException {
         String username = ((UserSS) authResult.getPrincipal()).getUsername();
+        limitador.registraSucesso(username);
         String token = jwtUtil.generateToken(username);
         response.setHeader("access-control-expose-headers", "Authorization");
         response.setHeader("Authorization", "Bearer " + token);
@@ -67,11 +88,28 @@ public class JWTAuthenticationFilter extends UsernamePasswordAuthenticationFilte
     @Override
     protected void unsuccessfulAuthentication(HttpServletRequest request, HttpServletResponse response,
             AuthenticationException failed) throws IOException, ServletException {
+        limitador.registraFalha(request.getRemoteAddr(), (String) request.getAttribute(ATRIBUTO_EMAIL));
         response.setStatus(401);
         response.setContentType("application/json");
         response.getWriter().append(jsonError());
     }
 
+    /**
+     * Responde 429 Too Many Requests, informando em Retry-After quando tentar de novo.
+     */
+    private void recusa(HttpServletResponse response, long esperaMs) throws IOException {
+        long segundos = Math.max(1, (esperaMs + 999) / 1000);
+        response.setStatus(429);
+        response.setHeader("Retry-After", String.valueOf(segundos));
+        response.setContentType("application/json");
+        response.getWriter().append("{"
+            + "\"timestamp\": " + new Date().getTime() + ", "
+            + "\"status\": 429, "
+            + "\"error\": \"Muitas tentativas\", "
+            + "\"message\": \"Muitas tentativas de login. Tente novamente em " + segundos + " segundos\", "
+            + "\"path\": \"/login\"}");
+    }
+
     private CharSequence jsonError() {
         long date = new Date().getTime();
         return "{"
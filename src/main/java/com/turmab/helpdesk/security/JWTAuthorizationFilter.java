@@ -57,7 +57,8 @@ public class JWTAuthorizationFilter extends BasicAuthenticationFilter {
         if (jwtUtil.tokenValido(token)) {
             String username = jwtUtil.getUsername(token);
             UserDetails details = userDetailsService.loadUserByUsername(username);
-            return new UsernamePasswordAuthenticationToken(details.getUsername(), null, details.getAuthorities());
+            // O principal é o próprio UserSS, para que os endpoints obtenham o ID do usuário logado
+            return new UsernamePasswordAuthenticationToken(details, null, details.getAuthorities());
         }
         return null;
     }
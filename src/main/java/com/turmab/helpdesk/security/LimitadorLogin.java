@@ -0,0 +1,294 @@
+package com.turmab.helpdesk.security;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import com.turmab.helpdesk.domain.dtos.EstatisticasLoginDTO;
+
+/**
+ * Limita as tentativas de login por IP e por e-mail, para que uma rajada de tentativas
+ * (credential stuffing) não ocupe a CPU com verificações BCrypt.
+ * Cada IP e cada e-mail tem um balde de tokens: cada tentativa consome um token, e os tokens
+ * são repostos a um por intervalo, até a capacidade. Depois de N falhas seguidas, a chave fica
+ * bloqueada por um tempo que dobra a cada nova falha. Uma tentativa recusada custa apenas
+ * algumas operações em memória, sem consulta ao banco nem hash da senha.
+ * Os baldes ficam em mapas concorrentes de tamanho limitado; as entradas ociosas (sem bloqueio)
+ * expiram e são removidas periodicamente, ou antes disso quando o mapa enche. Se ainda assim
+ * o mapa estiver cheio, os IPs novos passam a dividir um único balde de transbordo, que limita
+ * a taxa de tentativas mas nunca é bloqueado (senão um atacante bloquearia todos os IPs novos),
+ * e os e-mails novos deixam de ser limitados por e-mail, valendo apenas o limite do IP.
+ */
+@Component
+public class LimitadorLogin {
+
+    @Value("${helpdesk.login.ip.capacidade:20}")
+    private Integer capacidadeIp;
+    @Value("${helpdesk.login.ip.recarga-ms:3000}")
+    private Long recargaIp;
+    @Value("${helpdesk.login.ip.falhas-para-bloqueio:50}")
+    private Integer falhasBloqueioIp;
+
+    @Value("${helpdesk.login.email.capacidade:5}")
+    private Integer capacidadeEmail;
+    @Value("${helpdesk.login.email.recarga-ms:60000}")
+    private Long recargaEmail;
+    @Value("${helpdesk.login.email.falhas-para-bloqueio:5}")
+    private Integer falhasBloqueioEmail;
+
+    /**
+     * Duração do primeiro bloqueio; dobra a cada falha seguinte, até o máximo.
+     */
+    @Value("${helpdesk.login.bloqueio-ms:30000}")
+    private Long bloqueio;
+    @Value("${helpdesk.login.bloqueio-maximo-ms:3600000}")
+    private Long bloqueioMaximo;
+
+    /**
+     * Tempo sem tentativas após o qual as falhas são esquecidas e a entrada pode ser removida.
+     * Deve ser maior que o tempo de recarga completa dos baldes.
+     */
+    @Value("${helpdesk.login.expiracao-ms:900000}")
+    private Long expiracao;
+
+    @Value("${helpdesk.login.max-entradas:100000}")
+    private Integer maxEntradas;
+
+    private Baldes porIp;
+    private Baldes porEmail;
+
+    private final AtomicLong permitidas = new AtomicLong();
+    private final AtomicLong limitadasPorIp = new AtomicLong();
+    private final AtomicLong limitadasPorEmail = new AtomicLong();
+    private final AtomicLong bloqueadas = new AtomicLong();
+    private final AtomicLong falhas = new AtomicLong();
+    private final AtomicLong bloqueiosAplicados = new AtomicLong();
+
+    @PostConstruct
+    public void inicializa() {
+        porIp = new Baldes(capacidadeIp, recargaIp, falhasBloqueioIp, true);
+        porEmail = new Baldes(capacidadeEmail, recargaEmail, falhasBloqueioEmail, false);
+    }
+
+    /**
+     * Verifica o IP antes de a requisição ser lida, consumindo um token do balde dele.
+     * @param ip O endereço do cliente.
+     * @return O tempo (ms) a esperar antes de tentar de novo, ou 0 se a tentativa pode seguir.
+     */
+    public long verificaIp(String ip) {
+        long agora = System.currentTimeMillis();
+        Balde balde = porIp.get(ip, agora);
+        if (balde == porIp.transbordo) {
+            porIp.transbordos.incrementAndGet();
+        }
+        long espera = balde.espera(agora);
+        if (espera > 0) {
+            bloqueadas.incrementAndGet();
+            return espera;
+        }
+        espera = balde.consome(agora);
+        if (espera > 0) {
+            limitadasPorIp.incrementAndGet();
+        }
+        return espera;
+    }
+
+    /**
+     * Verifica o e-mail informado, consumindo um token do balde dele.
+     * @param email O e-mail da tentativa.
+     * @return O tempo (ms) a esperar antes de tentar de novo, ou 0 se a senha pode ser verificada.
+     */
+    public long verificaEmail(String email) {
+        long agora = System.currentTimeMillis();
+        Balde balde = porEmail.get(normaliza(email), agora);
+        if (balde == null) { // Mapa cheio: vale apenas o limite do IP
+            porEmail.transbordos.incrementAndGet();
+            permitidas.incrementAndGet();
+            return 0;
+        }
+        long espera = balde.espera(agora);
+        if (espera > 0) {
+            bloqueadas.incrementAndGet();
+            return espera;
+        }
+        espera = balde.consome(agora);
+        if (espera > 0) {
+            limitadasPorEmail.incrementAndGet();
+        } else {
+            permitidas.incrementAndGet();
+        }
+        return espera;
+    }
+
+    /**
+     * Conta uma senha inválida para o IP e o e-mail, bloqueando-os ao atingir o limite de falhas.
+     * @param ip O endereço do cliente.
+     * @param email O e-mail da tentativa.
+     */
+    public void registraFalha(String ip, String email) {
+        long agora = System.currentTimeMillis();
+        falhas.incrementAndGet();
+        porIp.get(ip, agora).falha(agora);
+        Balde balde = porEmail.get(normaliza(email), agora);
+        if (balde != null) {
+            balde.falha(agora);
+        }
+    }
+
+    /**
+     * Zera as falhas do e-mail após um login bem-sucedido. As do IP continuam contando,
+     * para que um login válido não libere as tentativas contra outras contas.
+     * @param email O e-mail autenticado.
+     */
+    public void registraSucesso(String email) {
+        Balde balde = porEmail.get(normaliza(email), System.currentTimeMillis());
+        if (balde != null) {
+            balde.sucesso();
+        }
+    }
+
+    /**
+     * Remove as entradas expiradas dos dois mapas.
+     */
+    @Scheduled(fixedDelayString = "${helpdesk.login.limpeza-ms:60000}")
+    public void limpa() {
+        long agora = System.currentTimeMillis();
+        porIp.limpa(agora);
+        porEmail.limpa(agora);
+    }
+
+    /**
+     * Retorna as métricas das decisões do limitador desde o início da aplicação.
+     * @return O DTO com as estatísticas.
+     */
+    public EstatisticasLoginDTO getEstatisticas() {
+        return new EstatisticasLoginDTO(permitidas.get(), limitadasPorIp.get(), limitadasPorEmail.get(),
+                bloqueadas.get(), falhas.get(), bloqueiosAplicados.get(),
+                porIp.transbordos.get() + porEmail.transbordos.get(), porIp.mapa.size(), porEmail.mapa.size());
+    }
+
+    private static String normaliza(String email) {
+        return email == null ? "" : email.trim().toLowerCase();
+    }
+
+    /**
+     * Mapa limitado de baldes com as mesmas regras (capacidade, recarga e limite de falhas).
+     * Com o mapa cheio, as chaves novas recebem o balde de transbordo, se houver, ou nenhum balde.
+     */
+    private final class Baldes {
+        private final Map<String, Balde> mapa = new ConcurrentHashMap<>();
+        private final int capacidade;
+        private final long recarga;
+        private final int falhasParaBloqueio;
+        private final Balde transbordo;
+        private final AtomicLong transbordos = new AtomicLong();
+        private final AtomicLong ultimaLimpeza = new AtomicLong();
+
+        private Baldes(int capacidade, long recarga, int falhasParaBloqueio, boolean comTransbordo) {
+            this.capacidade = capacidade;
+            this.recarga = recarga;
+            this.falhasParaBloqueio = falhasParaBloqueio;
+            this.transbordo = comTransbordo ? new Balde(this, System.currentTimeMillis()) : null;
+        }
+
+        /**
+         * @return O balde da chave, o de transbordo ou null, se o mapa estiver cheio e não houver transbordo.
+         */
+        private Balde get(String chave, long agora) {
+            Balde balde = mapa.get(chave);
+            if (balde != null) {
+                return balde;
+            }
+            if (mapa.size() >= maxEntradas && limpaCheio(agora)) {
+                return transbordo;
+            }
+            return mapa.computeIfAbsent(chave, k -> new Balde(this, agora));
+        }
+
+        /**
+         * Remove as entradas expiradas antes da limpeza periódica, no máximo uma vez por segundo,
+         * para que uma rajada de chaves novas não percorra o mapa a cada tentativa.
+         * @return true se o mapa continua cheio.
+         */
+        private boolean limpaCheio(long agora) {
+            long anterior = ultimaLimpeza.get();
+            if (agora - anterior >= 1000 && ultimaLimpeza.compareAndSet(anterior, agora)) {
+                limpa(agora);
+            }
+            return mapa.size() >= maxEntradas;
+        }
+
+        private void limpa(long agora) {
+            mapa.values().removeIf(balde -> balde.expirado(agora));
+        }
+    }
+
+    /**
+     * Balde de tokens de uma chave, com a contagem de falhas seguidas e o bloqueio.
+     */
+    private final class Balde {
+        private final Baldes regras;
+        private double tokens;
+        private long ultimaRecarga;
+        private long ultimoUso;
+        private long ultimaFalha;
+        private int falhasSeguidas;
+        private long bloqueadoAte;
+
+        private Balde(Baldes regras, long agora) {
+            this.regras = regras;
+            this.tokens = regras.capacidade;
+            this.ultimaRecarga = agora;
+            this.ultimoUso = agora;
+        }
+
+        /**
+         * @return O tempo (ms) restante de bloqueio, ou 0.
+         */
+        private synchronized long espera(long agora) {
+            return Math.max(0, bloqueadoAte - agora);
+        }
+
+        /**
+         * @return 0 se um token foi consumido; senão, o tempo (ms) até o próximo token.
+         */
+        private synchronized long consome(long agora) {
+            tokens = Math.min(regras.capacidade, tokens + (double) (agora - ultimaRecarga) / regras.recarga);
+            ultimaRecarga = agora;
+            ultimoUso = agora;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) * regras.recarga);
+        }
+
+        private synchronized void falha(long agora) {
+            if (this == regras.transbordo) { // Compartilhado entre as chaves novas: nunca é bloqueado
+                return;
+            }
+            if (agora - ultimaFalha >= expiracao) { // Falhas antigas são esquecidas
+                falhasSeguidas = 0;
+            }
+            ultimaFalha = agora;
+            ultimoUso = agora;
+            falhasSeguidas++;
+            if (falhasSeguidas >= regras.falhasParaBloqueio) {
+                int excedentes = Math.min(falhasSeguidas - regras.falhasParaBloqueio, 30);
+                bloqueadoAte = agora + Math.min(bloqueioMaximo, bloqueio << excedentes);
+                bloqueiosAplicados.incrementAndGet();
+            }
+        }
+
+        private synchronized void sucesso() {
+            falhasSeguidas = 0;
+        }
+
+        private synchronized boolean expirado(long agora) {
+            return agora - ultimoUso >= expiracao && agora >= bloqueadoAte;
+        }
+    }
+}
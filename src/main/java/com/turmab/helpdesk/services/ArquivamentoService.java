@@ -0,0 +1,62 @@
+package com.turmab.helpdesk.services;
+
+import java.time.LocalDate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Serviço em segundo plano que move os chamados encerrados há mais de N dias da tabela
+ * para o arquivo frio (ver {@link com.turmab.helpdesk.archive.ArquivoChamados}).
+ * Cada lote é arquivado em sua própria transação, de modo que uma falha afeta apenas um lote
+ * e a tabela de chamados continua pequena mesmo com o acúmulo de chamados encerrados.
+ */
+@Service
+@ConditionalOnProperty(name = "helpdesk.arquivo.enabled", havingValue = "true")
+public class ArquivamentoService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ArquivamentoService.class);
+
+    @Autowired
+    private ChamadoService chamadoService;
+
+    /**
+     * Quantidade de dias após o fechamento em que o chamado continua na tabela.
+     */
+    @Value("${helpdesk.arquivo.dias:90}")
+    private Integer dias;
+
+    /**
+     * Quantidade máxima de chamados por lote (e, portanto, por segmento).
+     */
+    @Value("${helpdesk.arquivo.tamanho-lote:5000}")
+    private Integer tamanhoLote;
+
+    /**
+     * Arquiva, lote a lote, todos os chamados encerrados antes da data de corte.
+     */
+    @Scheduled(initialDelayString = "${helpdesk.arquivo.intervalo-ms:3600000}",
+            fixedDelayString = "${helpdesk.arquivo.intervalo-ms:3600000}")
+    public void arquiva() {
+        LocalDate corte = LocalDate.now().minusDays(dias);
+        long inicio = System.currentTimeMillis();
+        int total = 0;
+        try {
+            int arquivados;
+            do {
+                arquivados = chamadoService.arquivaLote(corte, tamanhoLote);
+                total += arquivados;
+            } while (arquivados == tamanhoLote);
+        } catch (RuntimeException e) {
+            LOG.warn("Arquivamento de chamados interrompido; será retomado na próxima execução", e);
+        }
+        if (total > 0) {
+            LOG.info("{} chamados encerrados antes de {} arquivados em {} ms", total, corte,
+                    System.currentTimeMillis() - inicio);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.turmab.helpdesk.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import com.turmab.helpdesk.domain.Tecnico;
+import com.turmab.helpdesk.domain.dtos.ChamadoDTO;
+import com.turmab.helpdesk.domain.enums.Prioridade;
+import com.turmab.helpdesk.domain.enums.Status;
+import com.turmab.helpdesk.events.ChamadoEvent;
+import com.turmab.helpdesk.events.PessoaEvent;
+import com.turmab.helpdesk.repositories.ChamadoRepository;
+import com.turmab.helpdesk.repositories.TecnicoRepository;
+
+/**
+ * Serviço que escolhe o técnico de menor carga para os chamados criados sem técnico.
+ * A carga de um técnico é a soma dos pesos (por Prioridade) dos seus chamados não encerrados.
+ * As cargas ficam em um heap indexado em memória, de modo que a escolha é O(log n) e não
+ * consulta o banco. O heap é reconstruído quando a aplicação sobe e atualizado pelos
+ * ChamadoEvents e PessoaEvents publicados após cada commit.
+ */
+@Service
+public class AtribuicaoTecnicoService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AtribuicaoTecnicoService.class);
+
+    @Autowired
+    private ChamadoRepository chamadoRepository;
+    @Autowired
+    private TecnicoRepository tecnicoRepository;
+
+    /**
+     * Pesos de cada Prioridade, indexados pelo código (BAIXA=0, MEDIA=1, ALTA=2).
+     */
+    @Value("${helpdesk.atribuicao.pesos:1,2,4}")
+    private int[] pesos;
+
+    private final HeapCargas cargas = new HeapCargas();
+
+    /**
+     * Escolhe o técnico de menor carga (em empate, o de menor ID) para um novo chamado.
+     * O peso do chamado é reservado imediatamente, para que escolhas concorrentes não caiam
+     * todas no mesmo técnico antes do commit; a reserva é desfeita ao fim da transação,
+     * quando o ChamadoEvent da criação (se houver commit) passa a contar o chamado.
+     * @param prioridade A prioridade do novo chamado.
+     * @return O ID do técnico escolhido, ou null se não houver técnicos.
+     */
+    public Integer escolhe(Prioridade prioridade) {
+        int peso = peso(prioridade.getCodigo());
+        Integer tecnico;
+        synchronized (cargas) {
+            tecnico = cargas.topo();
+            if (tecnico == null) {
+                return null;
+            }
+            cargas.ajusta(tecnico, peso);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCompletion(int status) {
+                    liberaReserva(tecnico, peso);
+                }
+            });
+        } else {
+            liberaReserva(tecnico, peso);
+        }
+        return tecnico;
+    }
+
+    /**
+     * Retorna a carga atual de um técnico.
+     * @param tecnicoId O ID do técnico.
+     * @return A carga ponderada, ou null se o técnico não for conhecido.
+     */
+    public Long getCarga(Integer tecnicoId) {
+        synchronized (cargas) {
+            return cargas.carga(tecnicoId);
+        }
+    }
+
+    /**
+     * Atualiza a carga dos técnicos envolvidos em uma criação, mudança de status, reatribuição,
+     * mudança de prioridade ou arquivamento confirmados.
+     * @param event O evento publicado pelo ChamadoService.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChamadoEvent(ChamadoEvent event) {
+        synchronized (cargas) {
+            if (emAberto(event.getAnterior())) {
+                cargas.ajusta(event.getAnterior().getTecnico(), -peso(event.getAnterior().getPrioridade()));
+            }
+            if (emAberto(event.getAtual())) {
+                cargas.ajusta(event.getAtual().getTecnico(), peso(event.getAtual().getPrioridade()));
+            }
+        }
+    }
+
+    /**
+     * Inclui os técnicos cadastrados (com carga zero) e retira os excluídos.
+     * @param event O evento publicado pelo TecnicoService.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPessoaEvent(PessoaEvent event) {
+        if (event.getEntidade() != Tecnico.class) {
+            return;
+        }
+        synchronized (cargas) {
+            if (event.getTipo() == PessoaEvent.Tipo.CRIADO) {
+                cargas.ajusta(event.getId(), 0);
+            } else if (event.getTipo() == PessoaEvent.Tipo.REMOVIDO) {
+                cargas.remove(event.getId());
+            }
+        }
+    }
+
+    /**
+     * Reconstrói as cargas a partir dos técnicos e dos chamados não encerrados do banco.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        synchronized (cargas) {
+            cargas.limpa();
+            for (Integer tecnico : tecnicoRepository.findAllIds()) {
+                cargas.ajusta(tecnico, 0);
+            }
+            for (Object[] linha : chamadoRepository.countAbertosGroupByTecnicoAndPrioridade()) {
+                cargas.ajusta((Integer) linha[0], peso(((Prioridade) linha[1]).getCodigo()) * (Long) linha[2]);
+            }
+            LOG.info("Cargas de atribuição reconstruídas: {} técnicos", cargas.tamanho());
+        }
+    }
+
+    private void liberaReserva(Integer tecnico, int peso) {
+        synchronized (cargas) {
+            if (cargas.carga(tecnico) != null) { // O técnico pode ter sido excluído nesse meio tempo
+                cargas.ajusta(tecnico, -peso);
+            }
+        }
+    }
+
+    private int peso(Integer prioridade) {
+        return pesos[prioridade];
+    }
+
+    private static boolean emAberto(ChamadoDTO obj) {
+        return obj != null && !Status.ENCERRADO.getCodigo().equals(obj.getStatus());
+    }
+}
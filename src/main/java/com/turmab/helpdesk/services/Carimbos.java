@@ -0,0 +1,46 @@
+package com.turmab.helpdesk.services;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import com.turmab.helpdesk.resources.exceptions.PreconditionFailedException;
+
+/**
+ * Monta os carimbos de versão (usados como ETag) a partir das versões das entidades.
+ */
+final class Carimbos {
+
+    private Carimbos() {
+    }
+
+    /**
+     * Junta as partes de um carimbo, separadas por "-".
+     * @param partes Os valores que compõem o carimbo (null é aceito).
+     * @return O carimbo em texto.
+     */
+    static String de(Object... partes) {
+        return Arrays.stream(partes).map(String::valueOf).collect(Collectors.joining("-"));
+    }
+
+    /**
+     * Extrai, do cabeçalho If-Match, a versão da entidade que o cliente espera atualizar.
+     * O valor é o ETag devolvido pelo GET do recurso: "ID-versão[-...]".
+     * @param ifMatch O valor do cabeçalho If-Match, ou null.
+     * @param id O ID do recurso sendo atualizado.
+     * @return A versão esperada, ou null se não houver condição (cabeçalho ausente ou "*").
+     * @throws PreconditionFailedException se o ETag não for deste recurso ou estiver malformado.
+     */
+    static Integer versaoEsperada(String ifMatch, Integer id) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String etag = ifMatch.trim();
+        if (etag.startsWith("W/")) {
+            etag = etag.substring(2);
+        }
+        String[] partes = etag.replace("\"", "").split("-");
+        if (partes.length < 2 || !partes[0].equals(String.valueOf(id)) || !partes[1].matches("\\d{1,9}")) {
+            throw new PreconditionFailedException("If-Match não corresponde à versão atual do recurso! Id: " + id);
+        }
+        return Integer.valueOf(partes[1]);
+    }
+}
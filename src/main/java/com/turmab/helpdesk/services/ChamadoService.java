@@ -1,19 +1,60 @@
 package com.turmab.helpdesk.services;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.validation.ConstraintViolation;
 import javax.validation.Valid;
+import javax.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import com.turmab.helpdesk.archive.ArquivoChamados;
 import com.turmab.helpdesk.domain.Chamado;
 import com.turmab.helpdesk.domain.Cliente;
+import com.turmab.helpdesk.domain.Pessoa;
 import com.turmab.helpdesk.domain.Tecnico;
+import com.turmab.helpdesk.domain.dtos.ChamadoAlteracoesDTO;
+import com.turmab.helpdesk.domain.dtos.ChamadoBatchResultDTO;
+import com.turmab.helpdesk.domain.dtos.ChamadoBulkResultDTO;
+import com.turmab.helpdesk.domain.dtos.ChamadoBulkUpdateDTO;
 import com.turmab.helpdesk.domain.dtos.ChamadoDTO;
+import com.turmab.helpdesk.domain.dtos.ChamadoPageDTO;
+import com.turmab.helpdesk.domain.dtos.ChamadoPatchDTO;
+import com.turmab.helpdesk.domain.dtos.EstatisticasChamadoDTO;
+import com.turmab.helpdesk.domain.dtos.EstatisticasOutboxDTO;
+import com.turmab.helpdesk.domain.dtos.SlaDTO;
+import com.turmab.helpdesk.domain.dtos.TransicaoStatusDTO;
 import com.turmab.helpdesk.domain.enums.Prioridade;
 import com.turmab.helpdesk.domain.enums.Status;
+import com.turmab.helpdesk.events.ChamadoEvent;
 import com.turmab.helpdesk.repositories.ChamadoRepository;
+import com.turmab.helpdesk.repositories.ClienteRepository;
+import com.turmab.helpdesk.repositories.PessoaRepository;
+import com.turmab.helpdesk.repositories.TecnicoRepository;
+import com.turmab.helpdesk.resources.exceptions.DataIntegrityViolationException;
 import com.turmab.helpdesk.resources.exceptions.ObjectNotFoundException;
+import com.turmab.helpdesk.resources.exceptions.PreconditionFailedException;
+import com.turmab.helpdesk.search.ChamadoSearchIndex;
 
 /**
  * Serviço para gerenciar as operações de negócio relacionadas a Chamados.
@@ -27,46 +68,874 @@ public class ChamadoService {
     private TecnicoService tecnicoService;
     @Autowired
     private ClienteService clienteService;
+    @Autowired
+    private PessoaRepository pessoaRepository;
+    @Autowired
+    private TecnicoRepository tecnicoRepository;
+    @Autowired
+    private ClienteRepository clienteRepository;
+    @Autowired
+    private Validator validator;
+    @Autowired
+    private ChamadoSearchIndex searchIndex;
+    @Autowired
+    private ApplicationEventPublisher publisher;
+    @Autowired
+    private VersoesListagem versoesListagem;
+    @Autowired
+    private ContadorChamadosService contadorService;
+    @Autowired
+    private EstatisticasChamadoService estatisticasService;
+    @Autowired
+    private ArquivoChamados arquivo;
+    @Autowired
+    private SlaService slaService;
+    @Autowired
+    private FilaDespachoService filaDespacho;
+    @Autowired
+    private AtribuicaoTecnicoService atribuicaoService;
+    @Autowired
+    private SequenciaAlteracoes sequencia;
+    @Autowired
+    private OutboxService outboxService;
 
     /**
-     * Busca um chamado pelo seu ID.
+     * Quantidade máxima de chamados retornados pela listagem sem paginação.
+     */
+    @Value("${helpdesk.chamados.limite-listagem:500}")
+    private Integer limiteListagem;
+
+    /**
+     * Tamanho máximo de página aceito pela listagem paginada por cursor.
+     */
+    @Value("${helpdesk.chamados.tamanho-maximo-pagina:100}")
+    private Integer tamanhoMaximoPagina;
+
+    /**
+     * Quantidade máxima de chamados aceita pela criação em lote.
+     */
+    @Value("${helpdesk.chamados.tamanho-maximo-lote:1000}")
+    private Integer tamanhoMaximoLote;
+
+    /**
+     * Quantidade máxima de chamados afetados por uma transição em massa.
+     */
+    @Value("${helpdesk.chamados.limite-transicao-em-massa:5000}")
+    private Integer limiteTransicaoEmMassa;
+
+    /**
+     * Busca um chamado pelo seu ID, para alteração. Chamados arquivados não podem ser alterados.
      * @param id O ID do chamado.
      * @return A entidade Chamado encontrada.
      * @throws ObjectNotFoundException se o chamado não for encontrado.
+     * @throws DataIntegrityViolationException se o chamado estiver arquivado.
      */
+    @Transactional(readOnly = true)
     public Chamado findById(Integer id) {
         Optional<Chamado> obj = repository.findById(id);
-        return obj.orElseThrow(() -> new ObjectNotFoundException("Objeto não encontrado! ID: " + id));
+        return obj.orElseThrow(() -> arquivo.findById(id).isPresent()
+                ? new DataIntegrityViolationException("Chamado arquivado não pode ser alterado! ID: " + id)
+                : new ObjectNotFoundException("Objeto não encontrado! ID: " + id));
+    }
+
+    /**
+     * Busca um chamado pelo seu ID, já convertido em DTO, na tabela ou, se ele já tiver sido
+     * arquivado, nos segmentos do arquivo de chamados encerrados.
+     * @param id O ID do chamado.
+     * @return O ChamadoDTO encontrado.
+     * @throws ObjectNotFoundException se o chamado não for encontrado.
+     */
+    @Transactional(readOnly = true)
+    public ChamadoDTO findDTOById(Integer id) {
+        return repository.findById(id).map(ChamadoDTO::new)
+                .or(() -> arquivo.findById(id))
+                .orElseThrow(() -> new ObjectNotFoundException("Objeto não encontrado! ID: " + id));
+    }
+
+    /**
+     * Retorna a versão atual de um chamado, usada como ETag, sem carregar a entidade.
+     * Combina as versões do chamado, do técnico e do cliente, pois o DTO inclui os nomes deles.
+     * @param id O ID do chamado.
+     * @return O carimbo de versão do chamado.
+     * @throws ObjectNotFoundException se o chamado não for encontrado.
+     */
+    @Transactional(readOnly = true)
+    public String getVersao(Integer id) {
+        List<Object[]> versoes = repository.findVersoes(id);
+        if (versoes.isEmpty()) {
+            // Um chamado arquivado não muda mais; sua versão é fixa
+            return arquivo.findById(id).map(obj -> Carimbos.de(id, "arquivado"))
+                    .orElseThrow(() -> new ObjectNotFoundException("Objeto não encontrado! ID: " + id));
+        }
+        return Carimbos.de(id, Carimbos.de(versoes.get(0)));
+    }
+
+    /**
+     * Retorna a versão de um chamado já carregado, no mesmo formato de {@link #getVersao(Integer)}.
+     * @param obj O chamado.
+     * @return O carimbo de versão do chamado.
+     */
+    public String getVersao(Chamado obj) {
+        return Carimbos.de(obj.getId(), obj.getVersao(), obj.getTecnico().getVersao(), obj.getCliente().getVersao());
+    }
+
+    /**
+     * Retorna o carimbo de versão da listagem de chamados, usado como ETag.
+     * Muda a cada escrita em chamados ou em pessoas (cujos nomes aparecem na listagem).
+     * @return O carimbo de versão da listagem.
+     */
+    public String getVersaoListagem() {
+        return versoesListagem.get(Chamado.class, limiteListagem);
+    }
+
+    /**
+     * Retorna uma lista com os chamados mais recentes, limitada pela propriedade
+     * {@code helpdesk.chamados.limite-listagem}. Para percorrer todos os chamados
+     * deve ser utilizada a listagem paginada por cursor.
+     * Os DTOs são projetados em uma única consulta, sem carregar as entidades.
+     * @return Uma lista de ChamadoDTO.
+     */
+    @Transactional(readOnly = true)
+    public List<ChamadoDTO> findAll() {
+        return repository.findAllDTO(PageRequest.of(0, limiteListagem));
+    }
+
+    /**
+     * Retorna uma página de chamados filtrada, paginada por keyset (cursor).
+     * É buscado um registro a mais do que o tamanho pedido para saber se existe
+     * uma próxima página sem precisar de uma consulta de contagem.
+     * @param cursor O cursor opaco devolvido pela página anterior, ou null para a primeira página.
+     * @param status Código do status, ou null.
+     * @param prioridade Código da prioridade, ou null.
+     * @param tecnico ID do técnico, ou null.
+     * @param cliente ID do cliente, ou null.
+     * @param dataInicio Data de abertura mínima, ou null.
+     * @param dataFim Data de abertura máxima, ou null.
+     * @param size A quantidade de chamados da página.
+     * @return O DTO da página com os chamados e o cursor da próxima página.
+     * @throws DataIntegrityViolationException se o cursor, o tamanho ou um filtro forem inválidos.
+     */
+    @Transactional(readOnly = true)
+    public ChamadoPageDTO findPage(String cursor, Integer status, Integer prioridade, Integer tecnico,
+            Integer cliente, LocalDate dataInicio, LocalDate dataFim, int size) {
+        if (size < 1 || size > tamanhoMaximoPagina) {
+            throw new DataIntegrityViolationException("O tamanho da página deve estar entre 1 e " + tamanhoMaximoPagina);
+        }
+
+        List<ChamadoDTO> list = repository.findPage(decodeCursor(cursor), toStatus(status),
+                toPrioridade(prioridade), tecnico, cliente, dataInicio, dataFim, PageRequest.of(0, size + 1));
+
+        String nextCursor = null;
+        if (list.size() > size) {
+            list = list.subList(0, size);
+            nextCursor = encodeCursor(list.get(size - 1).getId());
+        }
+        return new ChamadoPageDTO(list, nextCursor);
+    }
+
+    /**
+     * Retorna os chamados criados ou alterados depois do token informado, para a sincronização
+     * incremental de clientes offline. A consulta percorre o índice (alteracao, id) a partir do
+     * token, de modo que o custo depende apenas da quantidade de alterações.
+     * Só são entregues alterações até o limite da SequenciaAlteracoes, para que o novo token
+     * nunca passe por cima de uma transação que ainda não terminou. Por isso a consulta roda
+     * no banco primário (transação de escrita), e não em uma réplica que pode estar atrasada.
+     * Os chamados arquivados deixam a tabela sem gerar alteração: eles continuam disponíveis
+     * em GET /chamados/{id} com o mesmo conteúdo.
+     * @param since O token devolvido pela sincronização anterior, ou null para a sincronização completa.
+     * @param size A quantidade máxima de chamados retornados.
+     * @return O DTO com os chamados alterados, o novo token e se ainda há alterações a buscar.
+     * @throws DataIntegrityViolationException se o token ou o tamanho forem inválidos.
+     */
+    @Transactional
+    public ChamadoAlteracoesDTO findAlteracoes(String since, int size) {
+        if (size < 1 || size > tamanhoMaximoPagina) {
+            throw new DataIntegrityViolationException("O tamanho da página deve estar entre 1 e " + tamanhoMaximoPagina);
+        }
+        long[] posicao = decodeToken(since);
+        long limite = sequencia.getLimite(); // Lido antes da consulta: tudo até ele já terminou
+        List<Object[]> linhas = repository.findAlteracoes(posicao[0], (int) posicao[1], limite,
+                PageRequest.of(0, size + 1));
+
+        boolean hasMore = linhas.size() > size;
+        if (hasMore) {
+            linhas = linhas.subList(0, size);
+        }
+        List<ChamadoDTO> list = new ArrayList<>(linhas.size());
+        for (Object[] l : linhas) {
+            list.add(new ChamadoDTO((Integer) l[0], (LocalDate) l[1], (LocalDate) l[2], (Prioridade) l[3],
+                    (Status) l[4], (String) l[5], (String) l[6], (Integer) l[7], (String) l[8], (Integer) l[9],
+                    (String) l[10]));
+        }
+        String token = since;
+        if (!linhas.isEmpty()) {
+            Object[] ultima = linhas.get(linhas.size() - 1);
+            token = encodeToken((Long) ultima[11], (Integer) ultima[0]);
+        } else if (token == null || token.isEmpty()) {
+            token = encodeToken(-1L, 0);
+        }
+        return new ChamadoAlteracoesDTO(list, token, hasMore);
+    }
+
+    /**
+     * Busca chamados por texto livre no título e nas observações, usando o índice em memória.
+     * @param q O texto da busca.
+     * @param size A quantidade máxima de resultados.
+     * @return Uma lista de ChamadoDTO, do mais para o menos relevante.
+     * @throws DataIntegrityViolationException se o tamanho for inválido.
+     */
+    @Transactional(readOnly = true)
+    public List<ChamadoDTO> search(String q, int size) {
+        if (size < 1 || size > tamanhoMaximoPagina) {
+            throw new DataIntegrityViolationException("O tamanho da página deve estar entre 1 e " + tamanhoMaximoPagina);
+        }
+        List<Integer> ids = searchIndex.search(q, size);
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Integer, ChamadoDTO> dtos = repository.findAllDTOByIdIn(ids).stream()
+                .collect(Collectors.toMap(ChamadoDTO::getId, Function.identity()));
+        // Mantém a ordem de relevância; um chamado ausente do banco é simplesmente ignorado
+        return ids.stream().map(dtos::get).filter(Objects::nonNull).collect(Collectors.toList());
     }
 
     /**
-     * Retorna uma lista com todos os chamados cadastrados.
-     * @return Uma lista de entidades Chamado.
+     * Retorna o histórico de chamados encerrados, juntando os que ainda estão na tabela aos que
+     * já foram arquivados. Os filtros nulos são ignorados. Do arquivo são mantidos apenas os
+     * "size" chamados de maior ID, em um heap mínimo; se um chamado estiver nos dois lugares,
+     * prevalece a cópia da tabela. Só são lidos os segmentos do arquivo que podem ter chamados
+     * do técnico, do cliente e do período informados e IDs maiores que os já encontrados.
+     * @param tecnico ID do técnico, ou null.
+     * @param cliente ID do cliente, ou null.
+     * @param dataInicio Data de fechamento mínima, ou null.
+     * @param dataFim Data de fechamento máxima, ou null.
+     * @param size A quantidade máxima de chamados.
+     * @return Uma lista de ChamadoDTO ordenada do mais recente para o mais antigo.
+     * @throws DataIntegrityViolationException se o tamanho for inválido.
      */
-    public List<Chamado> findAll() {
-        return repository.findAll();
+    @Transactional(readOnly = true)
+    public List<ChamadoDTO> findHistorico(Integer tecnico, Integer cliente, LocalDate dataInicio, LocalDate dataFim,
+            int size) {
+        if (size < 1 || size > tamanhoMaximoPagina) {
+            throw new DataIntegrityViolationException("O tamanho da página deve estar entre 1 e " + tamanhoMaximoPagina);
+        }
+        Map<Integer, ChamadoDTO> historico = new HashMap<>();
+        for (ChamadoDTO obj : repository.findHistorico(tecnico, cliente, dataInicio, dataFim, PageRequest.of(0, size))) {
+            historico.put(obj.getId(), obj);
+        }
+
+        PriorityQueue<ChamadoDTO> top = new PriorityQueue<>(Comparator.comparing(ChamadoDTO::getId));
+        Set<Integer> vistos = new HashSet<>(historico.keySet());
+        IntSupplier idMinimo = () -> top.size() == size ? top.peek().getId() : Integer.MIN_VALUE;
+        arquivo.forEach(dataInicio, dataFim, tecnico, cliente, idMinimo, obj -> {
+            boolean corresponde = (tecnico == null || tecnico.equals(obj.getTecnico()))
+                    && (cliente == null || cliente.equals(obj.getCliente()))
+                    && obj.getDataFechamento() != null
+                    && (dataInicio == null || !obj.getDataFechamento().isBefore(dataInicio))
+                    && (dataFim == null || !obj.getDataFechamento().isAfter(dataFim));
+            if (!corresponde || (top.size() == size && obj.getId() < top.peek().getId()) || !vistos.add(obj.getId())) {
+                return;
+            }
+            top.offer(obj);
+            if (top.size() > size) {
+                top.poll();
+            }
+        });
+        top.forEach(obj -> historico.putIfAbsent(obj.getId(), obj));
+
+        return historico.values().stream().sorted(Comparator.comparing(ChamadoDTO::getId).reversed()).limit(size)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Retorna os agregados de chamados do painel, lidos do cache em memória.
+     * @param dias Quantidade de dias do agregado por dia de abertura.
+     * @return O DTO com os agregados.
+     */
+    public EstatisticasChamadoDTO getEstatisticas(int dias) {
+        return estatisticasService.getEstatisticas(dias);
+    }
+
+    /**
+     * Retorna os percentis dos tempos de resposta e de resolução, lidos dos esboços em memória.
+     * @return O DTO com as estatísticas de SLA.
+     */
+    public SlaDTO getSla() {
+        return slaService.getSla();
+    }
+
+    /**
+     * Retorna as métricas do outbox de eventos: pendentes, atraso e contadores de entrega.
+     * @return O DTO com as estatísticas do outbox.
+     */
+    public EstatisticasOutboxDTO getEstatisticasOutbox() {
+        return outboxService.getEstatisticas();
+    }
+
+    /**
+     * Retorna o histórico de status de um chamado, inclusive de um chamado arquivado.
+     * @param id O ID do chamado.
+     * @return As transições do chamado, da mais antiga para a mais recente.
+     * @throws ObjectNotFoundException se o chamado não for encontrado.
+     */
+    @Transactional(readOnly = true)
+    public List<TransicaoStatusDTO> findTransicoes(Integer id) {
+        findDTOById(id); // Valida se o chamado existe, senão lança exceção
+        return slaService.findTransicoes(id);
+    }
+
+    /**
+     * Percorre todos os chamados, entregando cada ChamadoDTO ao consumidor à medida que
+     * o cursor do banco avança. O uso de memória não depende da quantidade de chamados.
+     * @param action O consumidor que recebe cada chamado, normalmente o escritor da resposta.
+     */
+    @Transactional(readOnly = true)
+    public void exportAll(Consumer<ChamadoDTO> action) {
+        try (Stream<ChamadoDTO> stream = repository.streamAllDTO()) {
+            stream.forEach(action);
+        }
+    }
+
+    /**
+     * Percorre os chamados que atendem aos filtros, em ordem de ID, entregando cada ChamadoDTO
+     * ao consumidor à medida que o cursor do banco avança, como em {@link #exportAll(Consumer)}.
+     * @param status Status, ou null.
+     * @param prioridade Prioridade, ou null.
+     * @param tecnico ID do técnico, ou null.
+     * @param cliente ID do cliente, ou null.
+     * @param dataInicio Data de abertura mínima, ou null.
+     * @param dataFim Data de abertura máxima, ou null.
+     * @param action O consumidor que recebe cada chamado, normalmente o escritor da resposta.
+     */
+    @Transactional(readOnly = true)
+    public void exportAll(Status status, Prioridade prioridade, Integer tecnico, Integer cliente,
+            LocalDate dataInicio, LocalDate dataFim, Consumer<ChamadoDTO> action) {
+        try (Stream<ChamadoDTO> stream = repository.streamDTO(status, prioridade, tecnico, cliente, dataInicio,
+                dataFim)) {
+            stream.forEach(action);
+        }
+    }
+
+    /**
+     * Converte o código de status de um filtro.
+     * @param codigo O código informado, ou null.
+     * @return O Status, ou null se o código não for informado.
+     * @throws DataIntegrityViolationException se o código for inválido.
+     */
+    public Status toStatus(Integer codigo) {
+        try {
+            return Status.toEnum(codigo);
+        } catch (IllegalArgumentException e) {
+            throw new DataIntegrityViolationException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Converte o código de prioridade de um filtro.
+     * @param codigo O código informado, ou null.
+     * @return A Prioridade, ou null se o código não for informado.
+     * @throws DataIntegrityViolationException se o código for inválido.
+     */
+    public Prioridade toPrioridade(Integer codigo) {
+        try {
+            return Prioridade.toEnum(codigo);
+        } catch (IllegalArgumentException e) {
+            throw new DataIntegrityViolationException(e.getMessage(), e);
+        }
     }
 
     /**
      * Cria um novo chamado no banco de dados.
+     * Se o técnico não for informado, o chamado é atribuído ao técnico de menor carga.
      * @param objDTO O DTO com os dados do novo chamado.
      * @return A entidade Chamado recém-criada.
+     * @throws DataIntegrityViolationException se não houver técnico para a atribuição automática.
      */
+    @Transactional
     public Chamado create(@Valid ChamadoDTO objDTO) {
-        return repository.save(fromDTO(objDTO));
+        long alteracao = iniciaEscrita();
+        atribuiTecnico(objDTO);
+        Chamado obj = fromDTO(objDTO);
+        obj.setAlteracao(alteracao);
+        obj = repository.save(obj);
+        ChamadoDTO atual = new ChamadoDTO(obj);
+        contadorService.registra(null, atual);
+        slaService.registra(null, atual);
+        publisher.publishEvent(ChamadoEvent.criado(atual));
+        return obj;
     }
     
     /**
-     * Atualiza os dados de um chamado existente.
+     * Cria vários chamados em uma única transação.
+     * Todos os IDs de técnicos e clientes referenciados são resolvidos em uma única consulta
+     * e os chamados válidos são inseridos em lotes JDBC. Itens inválidos não interrompem
+     * o lote: eles são apenas reportados no resultado.
+     * @param objDTOs Os DTOs com os dados dos novos chamados.
+     * @return O resultado de cada item, na mesma ordem do array recebido.
+     * @throws DataIntegrityViolationException se o lote estiver vazio ou exceder o tamanho máximo.
+     */
+    @Transactional
+    public List<ChamadoBatchResultDTO> createAll(List<ChamadoDTO> objDTOs) {
+        if (objDTOs == null || objDTOs.isEmpty() || objDTOs.size() > tamanhoMaximoLote) {
+            throw new DataIntegrityViolationException("O lote deve conter entre 1 e " + tamanhoMaximoLote + " chamados");
+        }
+        long alteracao = iniciaEscrita();
+
+        Set<Integer> ids = new HashSet<>();
+        for (ChamadoDTO objDTO : objDTOs) {
+            if (objDTO.getTecnico() != null) {
+                ids.add(objDTO.getTecnico());
+            }
+            if (objDTO.getCliente() != null) {
+                ids.add(objDTO.getCliente());
+            }
+        }
+        Map<Integer, Pessoa> pessoas = ids.isEmpty() ? Map.of() : pessoaRepository.findAllByIdIn(ids).stream()
+                .collect(Collectors.toMap(Pessoa::getId, Function.identity()));
+
+        List<ChamadoBatchResultDTO> results = new ArrayList<>(objDTOs.size());
+        List<Chamado> novos = new ArrayList<>();
+        List<ChamadoBatchResultDTO> criados = new ArrayList<>();
+        for (int i = 0; i < objDTOs.size(); i++) {
+            ChamadoDTO objDTO = objDTOs.get(i);
+            String erro = validaItemDoLote(objDTO, pessoas);
+            if (erro != null) {
+                results.add(new ChamadoBatchResultDTO(i, null, false, erro));
+                continue;
+            }
+            objDTO.setId(null);
+            Tecnico tecnico;
+            if (objDTO.getTecnico() == null) {
+                Integer escolhido = atribuicaoService.escolhe(Prioridade.toEnum(objDTO.getPrioridade()));
+                if (escolhido == null) {
+                    results.add(new ChamadoBatchResultDTO(i, null, false, "Nenhum técnico disponível para atribuição!"));
+                    continue;
+                }
+                objDTO.setTecnico(escolhido);
+                tecnico = tecnicoService.findById(escolhido);
+            } else {
+                tecnico = (Tecnico) pessoas.get(objDTO.getTecnico());
+            }
+            novos.add(fromDTO(objDTO, tecnico, (Cliente) pessoas.get(objDTO.getCliente())));
+            ChamadoBatchResultDTO result = new ChamadoBatchResultDTO(i, null, true, null);
+            criados.add(result);
+            results.add(result);
+        }
+
+        novos.forEach(novo -> novo.setAlteracao(alteracao));
+        repository.saveAll(novos);
+        List<ChamadoDTO[]> alteracoes = new ArrayList<>(novos.size());
+        for (int i = 0; i < novos.size(); i++) {
+            criados.get(i).setId(novos.get(i).getId());
+            alteracoes.add(new ChamadoDTO[] { new ChamadoDTO(novos.get(i)) });
+        }
+        contadorService.registra(alteracoes);
+        slaService.registra(alteracoes);
+        alteracoes.forEach(par -> publisher.publishEvent(ChamadoEvent.criado(par[0])));
+        return results;
+    }
+
+    /**
+     * Atualiza os dados de um chamado existente, com controle de concorrência otimista.
+     * O chamado recebe a versão esperada pelo cliente (If-Match) e o Hibernate grava com um
+     * único UPDATE condicionado a essa versão; se outro usuário alterou o chamado antes,
+     * nenhuma linha é atualizada e a transação falha com conflito, sem bloqueios no banco.
+     * A leitura prévia é mantida porque o estado anterior alimenta contadores e eventos.
      * @param id O ID do chamado a ser atualizado.
      * @param objDTO O DTO com os novos dados.
+     * @param ifMatch O cabeçalho If-Match da requisição, ou null para atualizar sem condição.
      * @return A entidade Chamado atualizada.
+     * @throws PreconditionFailedException se a versão esperada não for a atual.
+     * @throws DataIntegrityViolationException se o técnico não for informado.
      */
-    public Chamado update(Integer id, @Valid ChamadoDTO objDTO) {
+    @Transactional
+    public Chamado update(Integer id, @Valid ChamadoDTO objDTO, String ifMatch) {
+        Integer versaoEsperada = Carimbos.versaoEsperada(ifMatch, id);
+        if (objDTO.getTecnico() == null) {
+            throw new DataIntegrityViolationException("O campo TÉCNICO é requerido");
+        }
         objDTO.setId(id);
-        findById(id); // Valida se o chamado existe, senão lança exceção
+        long alteracao = iniciaEscrita();
+        Chamado oldObj = findById(id); // Valida se o chamado existe, senão lança exceção
+        ChamadoDTO anterior = new ChamadoDTO(oldObj);
         Chamado newObj = fromDTO(objDTO);
-        return repository.save(newObj);
+        newObj.setVersao(versaoEsperada != null ? versaoEsperada : oldObj.getVersao());
+        newObj.setAlteracao(alteracao);
+        newObj = repository.saveAndFlush(newObj);
+        ChamadoDTO atual = new ChamadoDTO(newObj);
+        contadorService.registra(anterior, atual);
+        slaService.registra(anterior, atual);
+        publisher.publishEvent(ChamadoEvent.atualizado(anterior, atual));
+        return newObj;
+    }
+
+    /**
+     * Atualiza apenas os campos informados de um chamado existente.
+     * O chamado é alterado já gerenciado pelo Hibernate, que grava somente as colunas
+     * modificadas (ver {@code @DynamicUpdate} em Chamado). Um novo técnico ou cliente é
+     * associado por referência, validada com uma consulta de existência, sem carregar a pessoa.
+     * Sem alterações efetivas, nada é gravado e nenhum evento é publicado.
+     * @param id O ID do chamado a ser atualizado.
+     * @param objDTO O DTO com os campos a serem alterados.
+     * @param ifMatch O cabeçalho If-Match da requisição, ou null para atualizar sem condição.
+     * @return A entidade Chamado atualizada.
+     * @throws PreconditionFailedException se a versão esperada não for a atual.
+     * @throws DataIntegrityViolationException se algum campo informado for inválido.
+     * @throws ObjectNotFoundException se o chamado, o técnico ou o cliente não forem encontrados.
+     */
+    @Transactional
+    public Chamado patch(Integer id, ChamadoPatchDTO objDTO, String ifMatch) {
+        Integer versaoEsperada = Carimbos.versaoEsperada(ifMatch, id);
+        Chamado obj = findById(id);
+        if (versaoEsperada != null && !versaoEsperada.equals(obj.getVersao())) {
+            throw new PreconditionFailedException("O chamado foi alterado por outro usuário. Versão atual: "
+                    + getVersao(obj));
+        }
+        long alteracao = iniciaEscrita(); // Antes de o chamado ficar sujo: a consulta nativa faria o flush dele
+        ChamadoDTO anterior = new ChamadoDTO(obj);
+
+        try {
+            if (objDTO.getPrioridade() != null) {
+                obj.setPrioridade(Prioridade.toEnum(objDTO.getPrioridade()));
+            }
+            if (objDTO.getStatus() != null && !objDTO.getStatus().equals(anterior.getStatus())) {
+                Status status = Status.toEnum(objDTO.getStatus());
+                obj.setStatus(status);
+                obj.setDataFechamento(status == Status.ENCERRADO ? LocalDate.now() : null);
+            }
+        } catch (IllegalArgumentException e) {
+            throw new DataIntegrityViolationException(e.getMessage(), e);
+        }
+        if (objDTO.getTitulo() != null) {
+            obj.setTitulo(objDTO.getTitulo());
+        }
+        if (objDTO.getObservacoes() != null) {
+            obj.setObservacoes(objDTO.getObservacoes());
+        }
+        if (objDTO.getTecnico() != null && !objDTO.getTecnico().equals(anterior.getTecnico())) {
+            obj.setTecnico(referencia(tecnicoRepository, objDTO.getTecnico(), "Técnico"));
+        }
+        if (objDTO.getCliente() != null && !objDTO.getCliente().equals(anterior.getCliente())) {
+            obj.setCliente(referencia(clienteRepository, objDTO.getCliente(), "Cliente"));
+        }
+        ChamadoDTO atual = new ChamadoDTO(obj);
+        if (!alterado(anterior, atual)) { // Um PATCH sem mudanças não gera UPDATE, evento nem avança o feed
+            return obj;
+        }
+        obj.setAlteracao(alteracao);
+        repository.flush();
+        contadorService.registra(anterior, atual);
+        slaService.registra(anterior, atual);
+        publisher.publishEvent(ChamadoEvent.atualizado(anterior, atual));
+        return obj;
+    }
+
+    /**
+     * Entrega ao técnico o próximo chamado da fila de despacho (maior prioridade, mais antigo)
+     * e o coloca em ANDAMENTO. A atribuição é feita por um UPDATE condicional ao chamado ainda
+     * estar ABERTO, de modo que, se vários técnicos disputarem o mesmo chamado, exatamente um
+     * vence; os demais seguem para o próximo da fila. Entradas que já não estão abertas são
+     * descartadas, e as que continuam abertas depois de uma disputa perdida voltam para a fila.
+     * Com a fila vazia, o próximo chamado é buscado (e bloqueado) diretamente no banco, já que
+     * a fila pode não conhecer os chamados abertos por outras instâncias.
+     * @param tecnicoId O ID do técnico logado.
+     * @return O chamado assumido, ou null se não houver chamados abertos.
+     * @throws DataIntegrityViolationException se o usuário não for um técnico.
+     */
+    @Transactional
+    public ChamadoDTO claim(Integer tecnicoId) {
+        Optional<Pessoa> pessoa = pessoaRepository.findById(tecnicoId);
+        if (pessoa.isEmpty() || !(pessoa.get() instanceof Tecnico)) {
+            throw new DataIntegrityViolationException("Apenas técnicos podem assumir chamados!");
+        }
+        Tecnico tecnico = (Tecnico) pessoa.get();
+        iniciaEscrita(); // Antes do SELECT ... FOR UPDATE de findProximoAberto
+
+        // Devolvidos só no fim, para que a mesma chamada não volte a retirá-los
+        List<ChamadoDTO> disputados = new ArrayList<>();
+        try {
+            Integer id;
+            while ((id = filaDespacho.poll()) != null) {
+                ChamadoDTO atual = assume(id, tecnico, disputados);
+                if (atual != null) {
+                    return atual;
+                }
+            }
+            List<Integer> ids = repository.findProximoAberto(PageRequest.of(0, 1));
+            return ids.isEmpty() ? null : assume(ids.get(0), tecnico, disputados);
+        } finally {
+            disputados.forEach(filaDespacho::devolve);
+        }
+    }
+
+    /**
+     * Tenta atribuir um chamado ABERTO ao técnico. Se outra escrita alterou o chamado primeiro
+     * e ele continua ABERTO (com outro técnico ou outra prioridade), ele é incluído nos disputados.
+     * @return O chamado assumido, ou null se ele não estiver mais disponível.
+     */
+    private ChamadoDTO assume(Integer id, Tecnico tecnico, List<ChamadoDTO> disputados) {
+        List<ChamadoDTO> encontrados = repository.findAllDTOByIdIn(List.of(id));
+        if (encontrados.isEmpty() || !Status.ABERTO.getCodigo().equals(encontrados.get(0).getStatus())) {
+            return null;
+        }
+        ChamadoDTO anterior = encontrados.get(0);
+        if (repository.assume(id, anterior.getTecnico(), tecnico, sequencia.daTransacao()) == 0) {
+            repository.findAllDTOByIdIn(List.of(id)).stream()
+                    .filter(obj -> Status.ABERTO.getCodigo().equals(obj.getStatus()))
+                    .forEach(disputados::add);
+            return null;
+        }
+        filaDespacho.devolveSeDesfeita(anterior);
+        ChamadoDTO atual = aplicaTransicao(anterior, Status.ANDAMENTO, tecnico);
+        contadorService.registra(anterior, atual);
+        slaService.registra(anterior, atual);
+        publisher.publishEvent(ChamadoEvent.atualizado(anterior, atual));
+        return atual;
+    }
+
+    /**
+     * Move para o arquivo um lote de chamados encerrados antes da data de corte.
+     * O segmento é gravado antes do DELETE e descartado se a transação for desfeita; se algum
+     * chamado tiver sido reaberto entre a leitura e o DELETE, o lote inteiro é desfeito e
+     * será tentado de novo na próxima execução.
+     * @param corte A data de fechamento limite (exclusiva).
+     * @param tamanhoLote A quantidade máxima de chamados do lote.
+     * @return A quantidade de chamados arquivados.
+     */
+    @Transactional
+    public int arquivaLote(LocalDate corte, int tamanhoLote) {
+        List<ChamadoDTO> encerrados = repository.findEncerradosAntesDe(corte, PageRequest.of(0, tamanhoLote));
+        if (encerrados.isEmpty()) {
+            return 0;
+        }
+        iniciaEscrita(); // Antes do DELETE
+        arquivo.grava(encerrados);
+        List<Integer> ids = encerrados.stream().map(ChamadoDTO::getId).collect(Collectors.toList());
+        if (repository.deleteEncerradosByIdIn(ids) != ids.size()) {
+            throw new DataIntegrityViolationException("Chamados do lote foram alterados durante o arquivamento");
+        }
+
+        List<ChamadoDTO[]> alteracoes = new ArrayList<>(encerrados.size());
+        for (ChamadoDTO anterior : encerrados) {
+            alteracoes.add(new ChamadoDTO[] { anterior, null });
+        }
+        contadorService.registra(alteracoes);
+        encerrados.forEach(anterior -> publisher.publishEvent(ChamadoEvent.arquivado(anterior)));
+        return encerrados.size();
+    }
+
+    /**
+     * Aloca o número de alteração da transação. Toda escrita de chamados chama este método antes
+     * de bloquear qualquer linha (chamados, contadores, outbox), porque, com blocos de 1 número,
+     * a alocação bloqueia a linha de chamado_alteracao até o commit (ver SequenciaAlteracoes):
+     * com a mesma ordem de bloqueio em todas as escritas, duas delas não se bloqueiam mutuamente.
+     * @return O número de alteração da transação atual.
+     */
+    private long iniciaEscrita() {
+        return sequencia.daTransacao();
+    }
+
+    /**
+     * Obtém a referência a um técnico ou cliente para ser usada como chave estrangeira.
+     * A existência (e o tipo) da pessoa é confirmada por uma consulta de contagem, e a referência
+     * devolvida é um proxy não inicializado: a pessoa só é carregada se algum campo dela for lido.
+     * @param repo O repositório do tipo esperado (técnicos ou clientes).
+     * @param id O ID da pessoa.
+     * @param nome O nome do tipo, usado na mensagem de erro.
+     * @return A referência à pessoa.
+     * @throws ObjectNotFoundException se a pessoa não existir ou não for do tipo esperado.
+     */
+    private <T extends Pessoa> T referencia(JpaRepository<T, Integer> repo, Integer id, String nome) {
+        if (!repo.existsById(id)) {
+            throw new ObjectNotFoundException(nome + " não encontrado! Id: " + id);
+        }
+        return repo.getOne(id);
+    }
+
+    /**
+     * Codifica o ID do último chamado de uma página em um cursor opaco.
+     * @param id O ID do último chamado da página.
+     * @return O cursor codificado em Base64 (URL-safe).
+     */
+    private String encodeCursor(Integer id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica um cursor opaco de volta para o ID do último chamado da página anterior.
+     * @param cursor O cursor recebido do cliente.
+     * @return O ID contido no cursor, ou null se o cursor não for informado.
+     * @throws DataIntegrityViolationException se o cursor for inválido.
+     */
+    private Integer decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new DataIntegrityViolationException("Cursor inválido: " + cursor, e);
+        }
+    }
+
+    /**
+     * Indica se algum campo gravado do chamado mudou entre os dois estados.
+     */
+    private static boolean alterado(ChamadoDTO anterior, ChamadoDTO atual) {
+        return !Objects.equals(anterior.getPrioridade(), atual.getPrioridade())
+                || !Objects.equals(anterior.getStatus(), atual.getStatus())
+                || !Objects.equals(anterior.getDataFechamento(), atual.getDataFechamento())
+                || !Objects.equals(anterior.getTitulo(), atual.getTitulo())
+                || !Objects.equals(anterior.getObservacoes(), atual.getObservacoes())
+                || !Objects.equals(anterior.getTecnico(), atual.getTecnico())
+                || !Objects.equals(anterior.getCliente(), atual.getCliente());
+    }
+
+    /**
+     * Codifica a posição do feed de alterações em um token opaco.
+     * @param alteracao O número de alteração do último chamado entregue.
+     * @param id O ID do último chamado entregue.
+     * @return O token codificado em Base64 (URL-safe).
+     */
+    private String encodeToken(Long alteracao, Integer id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((alteracao + ":" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica um token do feed de alterações.
+     * @param token O token recebido do cliente.
+     * @return A posição [número de alteração, ID]; sem token, a posição anterior a todos os chamados.
+     * @throws DataIntegrityViolationException se o token for inválido.
+     */
+    private long[] decodeToken(String token) {
+        if (token == null || token.isEmpty()) {
+            return new long[] { -1L, 0L };
+        }
+        try {
+            String[] partes = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(":");
+            if (partes.length != 2) {
+                throw new IllegalArgumentException("Formato inválido");
+            }
+            return new long[] { Long.parseLong(partes[0]), Integer.parseInt(partes[1]) };
+        } catch (IllegalArgumentException e) {
+            throw new DataIntegrityViolationException("Token inválido: " + token, e);
+        }
+    }
+
+    /**
+     * Aplica uma transição em massa (status e/ou técnico) aos chamados que atendem aos filtros,
+     * com UPDATEs em blocos de IDs, sem carregar as entidades. A transição é recusada, sem alterar
+     * nada, se afetaria mais chamados que o limite configurado.
+     * @param objDTO O DTO com os filtros e as alterações.
+     * @return O DTO com a quantidade de chamados afetados.
+     * @throws DataIntegrityViolationException se nenhum filtro ou nenhuma alteração for informada,
+     * se algum código de status ou prioridade for inválido ou se o limite for excedido.
+     * @throws ObjectNotFoundException se o novo técnico não for encontrado.
+     */
+    @Transactional
+    public ChamadoBulkResultDTO bulkUpdate(ChamadoBulkUpdateDTO objDTO) {
+        boolean semFiltro = (objDTO.getIds() == null || objDTO.getIds().isEmpty()) && objDTO.getStatus() == null
+                && objDTO.getPrioridade() == null && objDTO.getTecnico() == null && objDTO.getCliente() == null;
+        if (semFiltro) {
+            throw new DataIntegrityViolationException("Informe ao menos um filtro para a transição em massa");
+        }
+        if (objDTO.getNovoStatus() == null && objDTO.getNovoTecnico() == null) {
+            throw new DataIntegrityViolationException("Informe o novo status e/ou o novo técnico");
+        }
+        Tecnico novoTecnico = null;
+        if (objDTO.getNovoTecnico() != null) {
+            novoTecnico = tecnicoService.findById(objDTO.getNovoTecnico()); // Valida se o técnico existe, senão lança exceção
+        }
+        Status novoStatus = toStatus(objDTO.getNovoStatus());
+        Status status = toStatus(objDTO.getStatus());
+        Prioridade prioridade = toPrioridade(objDTO.getPrioridade());
+
+        Long alteracao = iniciaEscrita();
+        List<ChamadoDTO> anteriores = repository.findParaTransicao(objDTO.getIds(), status, prioridade,
+                objDTO.getTecnico(), objDTO.getCliente(), novoStatus, limiteTransicaoEmMassa);
+        if (anteriores.size() > limiteTransicaoEmMassa) {
+            throw new DataIntegrityViolationException("A transição em massa afetaria mais de " + limiteTransicaoEmMassa
+                    + " chamados. Restrinja os filtros.");
+        }
+        repository.bulkUpdate(anteriores.stream().map(ChamadoDTO::getId).collect(Collectors.toList()), novoStatus,
+                objDTO.getNovoTecnico(), alteracao);
+
+        List<ChamadoDTO[]> alteracoes = new ArrayList<>(anteriores.size());
+        for (ChamadoDTO anterior : anteriores) {
+            alteracoes.add(new ChamadoDTO[] { anterior, aplicaTransicao(anterior, novoStatus, novoTecnico) });
+        }
+        contadorService.registra(alteracoes);
+        slaService.registra(alteracoes);
+        alteracoes.forEach(par -> publisher.publishEvent(ChamadoEvent.atualizado(par[0], par[1])));
+        return new ChamadoBulkResultDTO(anteriores.size());
+    }
+
+    /**
+     * Calcula o estado de um chamado depois de uma transição em massa, sem consultar o banco.
+     * Segue as mesmas regras do UPDATE em massa para a data de fechamento.
+     * @param anterior O estado do chamado antes da transição.
+     * @param novoStatus O novo status, ou null se não foi alterado.
+     * @param novoTecnico O novo técnico, ou null se não foi alterado.
+     * @return O estado do chamado depois da transição.
+     */
+    private ChamadoDTO aplicaTransicao(ChamadoDTO anterior, Status novoStatus, Tecnico novoTecnico) {
+        Status status = novoStatus != null ? novoStatus : Status.toEnum(anterior.getStatus());
+        LocalDate dataFechamento = anterior.getDataFechamento();
+        if (novoStatus != null) {
+            dataFechamento = novoStatus == Status.ENCERRADO ? LocalDate.now() : null;
+        }
+        Integer tecnico = novoTecnico != null ? novoTecnico.getId() : anterior.getTecnico();
+        String nomeTecnico = novoTecnico != null ? novoTecnico.getNome() : anterior.getNomeTecnico();
+        return new ChamadoDTO(anterior.getId(), anterior.getDataAbertura(), dataFechamento,
+                Prioridade.toEnum(anterior.getPrioridade()), status, anterior.getTitulo(), anterior.getObservacoes(),
+                tecnico, nomeTecnico, anterior.getCliente(), anterior.getNomeCliente());
+    }
+
+    /**
+     * Valida um item da criação em lote sem lançar exceções, para que um item inválido
+     * não interrompa os demais.
+     * @param objDTO O DTO a ser validado.
+     * @param pessoas As pessoas referenciadas pelo lote, indexadas pelo ID.
+     * @return A mensagem de erro, ou null se o item for válido.
+     */
+    private String validaItemDoLote(ChamadoDTO objDTO, Map<Integer, Pessoa> pessoas) {
+        if (objDTO == null) {
+            return "Chamado não informado";
+        }
+        Set<ConstraintViolation<ChamadoDTO>> violations = validator.validate(objDTO);
+        if (!violations.isEmpty()) {
+            return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "));
+        }
+        try {
+            Prioridade.toEnum(objDTO.getPrioridade());
+            Status.toEnum(objDTO.getStatus());
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+        if (objDTO.getTecnico() != null && !(pessoas.get(objDTO.getTecnico()) instanceof Tecnico)) {
+            return "Técnico não encontrado! Id: " + objDTO.getTecnico();
+        }
+        if (!(pessoas.get(objDTO.getCliente()) instanceof Cliente)) {
+            return "Cliente não encontrado! Id: " + objDTO.getCliente();
+        }
+        return null;
+    }
+
+    /**
+     * Preenche o técnico de menor carga em um chamado novo que não informou técnico.
+     * @param objDTO O DTO do novo chamado.
+     * @throws DataIntegrityViolationException se não houver técnicos cadastrados.
+     */
+    private void atribuiTecnico(ChamadoDTO objDTO) {
+        if (objDTO.getTecnico() != null) {
+            return;
+        }
+        Integer tecnico = atribuicaoService.escolhe(Prioridade.toEnum(objDTO.getPrioridade()));
+        if (tecnico == null) {
+            throw new DataIntegrityViolationException("Nenhum técnico disponível para atribuição!");
+        }
+        objDTO.setTecnico(tecnico);
     }
 
     /**
@@ -77,7 +946,17 @@ public class ChamadoService {
     private Chamado fromDTO(ChamadoDTO objDTO) {
         Tecnico tecnico = tecnicoService.findById(objDTO.getTecnico());
         Cliente cliente = clienteService.findById(objDTO.getCliente());
-        
+        return fromDTO(objDTO, tecnico, cliente);
+    }
+
+    /**
+     * Converte um ChamadoDTO em uma entidade Chamado, usando o técnico e o cliente já carregados.
+     * @param objDTO O DTO a ser convertido.
+     * @param tecnico O técnico do chamado.
+     * @param cliente O cliente do chamado.
+     * @return A entidade Chamado.
+     */
+    private Chamado fromDTO(ChamadoDTO objDTO, Tecnico tecnico, Cliente cliente) {
         Chamado chamado = new Chamado();
         if(objDTO.getId() != null) {
             chamado.setId(objDTO.getId());
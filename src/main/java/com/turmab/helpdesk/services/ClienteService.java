@@ -2,17 +2,25 @@ package com.turmab.helpdesk.services;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 import javax.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import com.turmab.helpdesk.domain.Pessoa;
 import com.turmab.helpdesk.domain.Cliente;
 import com.turmab.helpdesk.domain.dtos.ClienteDTO;
+import com.turmab.helpdesk.events.PessoaEvent;
 import com.turmab.helpdesk.repositories.PessoaRepository;
 import com.turmab.helpdesk.repositories.ClienteRepository;
 import com.turmab.helpdesk.resources.exceptions.DataIntegrityViolationException;
 import com.turmab.helpdesk.resources.exceptions.ObjectNotFoundException;
+import com.turmab.helpdesk.resources.exceptions.PreconditionFailedException;
 
 /**
  * Serviço para gerenciar as operações de negócio relacionadas a Clientes.
@@ -26,6 +34,14 @@ public class ClienteService {
     private PessoaRepository pessoaRepository;
     @Autowired
     private BCryptPasswordEncoder encoder;
+    @Autowired
+    private ContadorChamadosService contadorService;
+    @Autowired
+    private ApplicationEventPublisher publisher;
+    @Autowired
+    private VersoesListagem versoesListagem;
+    @PersistenceContext
+    private EntityManager entityManager;
 
     /**
      * Busca um cliente pelo seu ID.
@@ -33,39 +49,96 @@ public class ClienteService {
      * @return A entidade Cliente encontrada.
      * @throws ObjectNotFoundException se o cliente não for encontrado.
      */
+    @Transactional(readOnly = true)
     public Cliente findById(Integer id) {
         Optional<Cliente> obj = repository.findById(id);
         return obj.orElseThrow(() -> new ObjectNotFoundException("Objeto não encontrado! Id: " + id));
     }
 
+    /**
+     * Retorna a versão atual de um cliente, usada como ETag, sem carregar a entidade.
+     * @param id O ID do cliente.
+     * @return O carimbo de versão do cliente.
+     * @throws ObjectNotFoundException se o cliente não for encontrado.
+     */
+    @Transactional(readOnly = true)
+    public String getVersao(Integer id) {
+        Integer versao = repository.findVersao(id)
+                .orElseThrow(() -> new ObjectNotFoundException("Objeto não encontrado! Id: " + id));
+        return Carimbos.de(id, versao);
+    }
+
+    /**
+     * Retorna a versão de um cliente já carregado, no mesmo formato de {@link #getVersao(Integer)}.
+     * @param obj O cliente.
+     * @return O carimbo de versão do cliente.
+     */
+    public String getVersao(Cliente obj) {
+        return Carimbos.de(obj.getId(), obj.getVersao());
+    }
+
+    /**
+     * Retorna o carimbo de versão da listagem de clientes, usado como ETag.
+     * @return O carimbo de versão da listagem.
+     */
+    public String getVersaoListagem() {
+        return versoesListagem.get(Cliente.class);
+    }
+
     /**
      * Retorna uma lista com todos os clientes cadastrados.
      * @return Uma lista de entidades Cliente.
      */
+    @Transactional(readOnly = true)
     public List<Cliente> findAll() {
         return repository.findAll();
     }
 
+    /**
+     * Percorre todos os clientes, entregando cada ClienteDTO ao consumidor à medida que
+     * o cursor do banco avança. Cada entidade é desanexada do contexto de persistência
+     * logo após a conversão, mantendo o uso de memória constante.
+     * @param action O consumidor que recebe cada cliente, normalmente o escritor da resposta.
+     */
+    @Transactional(readOnly = true)
+    public void exportAll(Consumer<ClienteDTO> action) {
+        try (Stream<Cliente> stream = repository.streamAll()) {
+            stream.forEach(obj -> {
+                action.accept(new ClienteDTO(obj));
+                entityManager.detach(obj);
+            });
+        }
+    }
+
     /**
      * Cria um novo cliente no banco de dados, criptografando a senha.
      * @param objDTO O DTO com os dados do novo cliente.
      * @return A entidade Cliente recém-criada.
      */
+    @Transactional
     public Cliente create(ClienteDTO objDTO) {
         objDTO.setId(null);
         objDTO.setSenha(encoder.encode(objDTO.getSenha()));
         validaPorCpfEEmail(objDTO);
-        Cliente newObj = new Cliente(objDTO);
-        return repository.save(newObj);
+        Cliente newObj = repository.save(new Cliente(objDTO));
+        contadorService.inicializa(newObj.getId());
+        publisher.publishEvent(new PessoaEvent(PessoaEvent.Tipo.CRIADO, Cliente.class, newObj.getId()));
+        return newObj;
     }
 
     /**
      * Atualiza os dados de um cliente existente, criptografando a senha se fornecida.
+     * O cliente recebe a versão esperada pelo cliente (If-Match) e o Hibernate grava com um único
+     * UPDATE condicionado a essa versão; a leitura prévia normalmente vem do cache de segundo nível.
      * @param id O ID do cliente a ser atualizado.
      * @param objDTO O DTO com os novos dados.
+     * @param ifMatch O cabeçalho If-Match da requisição, ou null para atualizar sem condição.
      * @return A entidade Cliente atualizada.
+     * @throws PreconditionFailedException se a versão esperada não for a atual.
      */
-    public Cliente update(Integer id, @Valid ClienteDTO objDTO) {
+    @Transactional
+    public Cliente update(Integer id, @Valid ClienteDTO objDTO, String ifMatch) {
+        Integer versaoEsperada = Carimbos.versaoEsperada(ifMatch, id);
         objDTO.setId(id);
         Cliente oldObj = findById(id);
         
@@ -74,8 +147,11 @@ public class ClienteService {
         }
         
         validaPorCpfEEmail(objDTO);
-        oldObj = new Cliente(objDTO);
-        return repository.save(oldObj);
+        Cliente newObj = new Cliente(objDTO);
+        newObj.setVersao(versaoEsperada != null ? versaoEsperada : oldObj.getVersao());
+        newObj = repository.saveAndFlush(newObj);
+        publisher.publishEvent(new PessoaEvent(PessoaEvent.Tipo.ATUALIZADO, Cliente.class, id));
+        return newObj;
     }
 
     /**
@@ -83,12 +159,15 @@ public class ClienteService {
      * @param id O ID do cliente a ser deletado.
      * @throws DataIntegrityViolationException se o cliente tiver chamados associados.
      */
+    @Transactional
     public void delete(Integer id) {
-        Cliente obj = findById(id);
-        if (obj.getChamados().size() > 0) {
+        findById(id); // Valida se existe, senão lança exceção
+        if (contadorService.getTotal(id) > 0) {
             throw new DataIntegrityViolationException("Cliente possui ordens de serviço e não pode ser deletado!");
         }
         repository.deleteById(id);
+        contadorService.remove(id);
+        publisher.publishEvent(new PessoaEvent(PessoaEvent.Tipo.REMOVIDO, Cliente.class, id));
     }
 
     /**
@@ -0,0 +1,160 @@
+package com.turmab.helpdesk.services;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.turmab.helpdesk.domain.ContadorChamados;
+import com.turmab.helpdesk.domain.dtos.CargaTecnicoDTO;
+import com.turmab.helpdesk.domain.dtos.ChamadoDTO;
+import com.turmab.helpdesk.domain.enums.Status;
+import com.turmab.helpdesk.repositories.ContadorChamadosRepository;
+import com.turmab.helpdesk.repositories.PessoaRepository;
+
+/**
+ * Serviço que mantém os contadores de chamados por técnico e por cliente em cada Status.
+ * Os contadores são atualizados na mesma transação da escrita do chamado, por incrementos
+ * atômicos, e reconciliados com a tabela de chamados quando a aplicação sobe.
+ */
+@Service
+public class ContadorChamadosService {
+
+    @Autowired
+    private ContadorChamadosRepository repository;
+    @Autowired
+    private PessoaRepository pessoaRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Retorna a quantidade total de chamados de uma pessoa, em qualquer status.
+     * @param pessoaId O ID do técnico ou cliente.
+     * @return A quantidade de chamados, ou 0 se a pessoa não tiver contadores.
+     */
+    public int getTotal(Integer pessoaId) {
+        return repository.findById(pessoaId).map(ContadorChamados::getTotal).orElse(0);
+    }
+
+    /**
+     * Retorna a carga de trabalho de todos os técnicos.
+     * @return Uma lista de CargaTecnicoDTO ordenada pelo nome do técnico.
+     */
+    public List<CargaTecnicoDTO> findCargaTecnicos() {
+        return repository.findCargaTecnicos();
+    }
+
+    /**
+     * Cria os contadores zerados de uma pessoa recém-cadastrada.
+     * @param pessoaId O ID do técnico ou cliente.
+     */
+    public void inicializa(Integer pessoaId) {
+        repository.save(new ContadorChamados(pessoaId, 0, 0, 0));
+    }
+
+    /**
+     * Remove os contadores de uma pessoa excluída.
+     * @param pessoaId O ID do técnico ou cliente.
+     */
+    public void remove(Integer pessoaId) {
+        if (repository.existsById(pessoaId)) {
+            repository.deleteById(pessoaId);
+        }
+    }
+
+    /**
+     * Registra a criação ou alteração de um chamado nos contadores do técnico e do cliente.
+     * Deve ser chamado dentro da transação que grava o chamado.
+     * @param anterior O estado anterior do chamado, ou null na criação.
+     * @param atual O estado atual do chamado.
+     */
+    @Transactional
+    public void registra(ChamadoDTO anterior, ChamadoDTO atual) {
+        ChamadoDTO[] par = anterior == null ? new ChamadoDTO[] { atual } : new ChamadoDTO[] { anterior, atual };
+        registra(Collections.singletonList(par));
+    }
+
+    /**
+     * Registra várias alterações de chamados de uma vez, agrupando os deltas por pessoa
+     * para executar um único UPDATE por técnico ou cliente envolvido.
+     * @param pares Sequência de [anterior, atual], [atual] (criação) ou [anterior, null] (arquivamento)
+     * de cada chamado.
+     */
+    @Transactional
+    public void registra(List<ChamadoDTO[]> pares) {
+        Map<Integer, int[]> deltas = new HashMap<>();
+        for (ChamadoDTO[] par : pares) {
+            if (par.length == 2) {
+                acumula(deltas, par[0], -1);
+            }
+            if (par[par.length - 1] != null) {
+                acumula(deltas, par[par.length - 1], 1);
+            }
+        }
+        deltas.forEach((pessoaId, delta) -> {
+            if (delta[0] == 0 && delta[1] == 0 && delta[2] == 0) {
+                return;
+            }
+            if (repository.incrementa(pessoaId, delta[0], delta[1], delta[2]) == 0) {
+                repository.save(new ContadorChamados(pessoaId, delta[0], delta[1], delta[2]));
+            }
+        });
+    }
+
+    /**
+     * Reconcilia os contadores com a tabela de chamados, pessoa a pessoa, sem apagá-los.
+     * Executado na inicialização para cobrir dados gravados antes dos contadores existirem.
+     * Cada pessoa é tratada em uma transação curta que primeiro bloqueia a linha do contador e
+     * só então conta os chamados: uma escrita concorrente (desta ou de outra instância) ou já
+     * foi confirmada e entra na contagem, ou ainda vai aplicar o seu incremento depois do
+     * bloqueio, sobre o valor reconciliado. Assim nenhuma alteração é perdida ou contada duas vezes.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recalcula() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        for (Integer pessoaId : template.execute(status -> pessoaRepository.findAllIds())) {
+            try {
+                template.executeWithoutResult(status -> reconcilia(pessoaId));
+            } catch (DataIntegrityViolationException e) {
+                // Uma escrita concorrente criou o contador antes; agora a linha existe e pode ser bloqueada
+                template.executeWithoutResult(status -> reconcilia(pessoaId));
+            }
+        }
+    }
+
+    private void reconcilia(Integer pessoaId) {
+        Optional<ContadorChamados> contador = repository.findByIdParaReconciliar(pessoaId);
+        int[] c = new int[3];
+        for (List<Object[]> linhas : List.of(repository.countByTecnicoGroupByStatus(pessoaId),
+                repository.countByClienteGroupByStatus(pessoaId))) {
+            for (Object[] linha : linhas) {
+                c[((Status) linha[0]).getCodigo()] += ((Long) linha[1]).intValue();
+            }
+        }
+        if (contador.isPresent()) {
+            contador.get().setAbertos(c[0]);
+            contador.get().setAndamento(c[1]);
+            contador.get().setEncerrados(c[2]);
+        } else {
+            repository.saveAndFlush(new ContadorChamados(pessoaId, c[0], c[1], c[2]));
+        }
+    }
+
+    /**
+     * Soma o sinal ao contador do status do chamado, para o técnico e para o cliente.
+     * Os deltas são indexados pelo código do Status (ABERTO=0, ANDAMENTO=1, ENCERRADO=2).
+     */
+    private void acumula(Map<Integer, int[]> deltas, ChamadoDTO obj, int sinal) {
+        int indice = obj.getStatus();
+        deltas.computeIfAbsent(obj.getTecnico(), k -> new int[3])[indice] += sinal;
+        deltas.computeIfAbsent(obj.getCliente(), k -> new int[3])[indice] += sinal;
+    }
+}
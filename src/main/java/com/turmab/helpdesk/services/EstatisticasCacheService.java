@@ -0,0 +1,44 @@
+package com.turmab.helpdesk.services;
+
+import java.util.Arrays;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import com.turmab.helpdesk.domain.dtos.EstatisticasCacheDTO;
+import com.turmab.helpdesk.domain.dtos.RegiaoCacheDTO;
+
+/**
+ * Serviço que reúne as estatísticas de acertos e faltas dos caches, para ajuste
+ * dos tamanhos e tempos de vida configurados em ehcache.xml.
+ */
+@Service
+public class EstatisticasCacheService {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Retorna as estatísticas atuais dos caches.
+     * @return O DTO com as estatísticas de cada região.
+     */
+    public EstatisticasCacheDTO getEstatisticas() {
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        EstatisticasCacheDTO dto = new EstatisticasCacheDTO();
+
+        String[] regioes = stats.getSecondLevelCacheRegionNames();
+        Arrays.sort(regioes);
+        for (String regiao : regioes) {
+            CacheRegionStatistics regiaoStats = stats.getCacheRegionStatistics(regiao);
+            if (regiaoStats != null) {
+                dto.getSegundoNivel().add(new RegiaoCacheDTO(regiao, regiaoStats.getHitCount(),
+                        regiaoStats.getMissCount(), regiaoStats.getPutCount()));
+            }
+        }
+        dto.setConsultas(new RegiaoCacheDTO("consultas", stats.getQueryCacheHitCount(),
+                stats.getQueryCacheMissCount(), stats.getQueryCachePutCount()));
+        return dto;
+    }
+}
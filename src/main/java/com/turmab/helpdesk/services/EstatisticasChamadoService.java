@@ -0,0 +1,163 @@
+package com.turmab.helpdesk.services;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import com.turmab.helpdesk.domain.dtos.ChamadoDTO;
+import com.turmab.helpdesk.domain.dtos.EstatisticasChamadoDTO;
+import com.turmab.helpdesk.domain.enums.Prioridade;
+import com.turmab.helpdesk.domain.enums.Status;
+import com.turmab.helpdesk.events.ChamadoEvent;
+import com.turmab.helpdesk.repositories.ChamadoRepository;
+import com.turmab.helpdesk.resources.exceptions.DataIntegrityViolationException;
+
+/**
+ * Serviço que mantém em memória os agregados de chamados do painel.
+ * Os agregados são construídos com consultas GROUP BY, atualizados de forma incremental
+ * pelos ChamadoEvents após cada commit e reconciliados periodicamente com o banco,
+ * corrigindo qualquer desvio. Assim, cada consulta do painel custa apenas a leitura dos mapas.
+ */
+@Service
+public class EstatisticasChamadoService {
+
+    private static final DateTimeFormatter FORMATO_DIA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    /**
+     * Quantidade máxima de dias que podem ser pedidos no agregado por dia de abertura.
+     */
+    private static final int DIAS_MAXIMO = 366;
+
+    @Autowired
+    private ChamadoRepository repository;
+
+    /**
+     * Lock que separa as atualizações incrementais (leitura, podem ser concorrentes entre si,
+     * pois os contadores são atômicos) da troca dos agregados na reconciliação (escrita).
+     */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile Agregados agregados = new Agregados();
+
+    /**
+     * Retorna os agregados atuais do painel.
+     * @param dias Quantidade de dias, contando a partir de hoje para trás, do agregado por dia de abertura.
+     * @return O DTO com os agregados.
+     * @throws DataIntegrityViolationException se a quantidade de dias for inválida.
+     */
+    public EstatisticasChamadoDTO getEstatisticas(int dias) {
+        if (dias < 1 || dias > DIAS_MAXIMO) {
+            throw new DataIntegrityViolationException("A quantidade de dias deve estar entre 1 e " + DIAS_MAXIMO);
+        }
+        Agregados atual = agregados;
+        EstatisticasChamadoDTO dto = new EstatisticasChamadoDTO();
+        long total = 0;
+        for (Status status : Status.values()) {
+            long quantidade = valor(atual.porStatus.get(status));
+            dto.getPorStatus().put(status.getDescricao(), quantidade);
+            total += quantidade;
+        }
+        dto.setTotal(total);
+        for (Prioridade prioridade : Prioridade.values()) {
+            dto.getPorPrioridade().put(prioridade.getDescricao(), valor(atual.porPrioridade.get(prioridade)));
+        }
+        atual.porTecnico.forEach((tecnico, quantidade) -> {
+            if (quantidade.get() > 0) {
+                dto.getPorTecnico().put(tecnico, quantidade.get());
+            }
+        });
+        LocalDate hoje = LocalDate.now();
+        atual.porDia.subMap(hoje.minusDays(dias - 1L), true, hoje, true).forEach((dia, quantidade) -> {
+            if (quantidade.get() > 0) {
+                dto.getPorDia().put(dia.format(FORMATO_DIA), quantidade.get());
+            }
+        });
+        dto.setReconciliadoEm(atual.reconciliadoEm);
+        return dto;
+    }
+
+    /**
+     * Aplica aos agregados a criação, alteração ou arquivamento de um chamado, depois do commit.
+     * @param event O evento publicado pelo ChamadoService.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChamadoEvent(ChamadoEvent event) {
+        lock.readLock().lock();
+        try {
+            if (event.getAnterior() != null) {
+                aplica(agregados, event.getAnterior(), -1);
+            }
+            if (event.getAtual() != null) {
+                aplica(agregados, event.getAtual(), 1);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reconstrói os agregados com consultas GROUP BY na inicialização e, depois,
+     * periodicamente, para corrigir desvios das atualizações incrementais.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${helpdesk.estatisticas.reconciliacao-ms:300000}",
+            fixedDelayString = "${helpdesk.estatisticas.reconciliacao-ms:300000}")
+    @Transactional(readOnly = true)
+    public void reconcilia() {
+        lock.writeLock().lock();
+        try {
+            Agregados novos = new Agregados();
+            for (Object[] linha : repository.countGroupByStatus()) {
+                novos.porStatus.put((Status) linha[0], new AtomicLong((Long) linha[1]));
+            }
+            for (Object[] linha : repository.countGroupByPrioridade()) {
+                novos.porPrioridade.put((Prioridade) linha[0], new AtomicLong((Long) linha[1]));
+            }
+            for (Object[] linha : repository.countGroupByTecnico()) {
+                novos.porTecnico.put((Integer) linha[0], new AtomicLong((Long) linha[1]));
+            }
+            for (Object[] linha : repository.countGroupByDataAbertura()) {
+                novos.porDia.put((LocalDate) linha[0], new AtomicLong((Long) linha[1]));
+            }
+            novos.reconciliadoEm = System.currentTimeMillis();
+            agregados = novos;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void aplica(Agregados alvo, ChamadoDTO obj, int sinal) {
+        alvo.porStatus.computeIfAbsent(Status.toEnum(obj.getStatus()), k -> new AtomicLong()).addAndGet(sinal);
+        alvo.porPrioridade.computeIfAbsent(Prioridade.toEnum(obj.getPrioridade()), k -> new AtomicLong()).addAndGet(sinal);
+        alvo.porTecnico.computeIfAbsent(obj.getTecnico(), k -> new AtomicLong()).addAndGet(sinal);
+        if (obj.getDataAbertura() != null) {
+            alvo.porDia.computeIfAbsent(obj.getDataAbertura(), k -> new AtomicLong()).addAndGet(sinal);
+        }
+    }
+
+    private static long valor(AtomicLong quantidade) {
+        return quantidade == null ? 0 : quantidade.get();
+    }
+
+    /**
+     * Conjunto de agregados trocado por inteiro a cada reconciliação.
+     */
+    private static class Agregados {
+        private final Map<Status, AtomicLong> porStatus = new ConcurrentHashMap<>();
+        private final Map<Prioridade, AtomicLong> porPrioridade = new ConcurrentHashMap<>();
+        private final Map<Integer, AtomicLong> porTecnico = new ConcurrentHashMap<>();
+        private final ConcurrentNavigableMap<LocalDate, AtomicLong> porDia = new ConcurrentSkipListMap<>();
+        private Long reconciliadoEm;
+    }
+}
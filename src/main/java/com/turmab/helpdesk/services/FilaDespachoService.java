@@ -0,0 +1,182 @@
+package com.turmab.helpdesk.services;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import com.turmab.helpdesk.domain.dtos.ChamadoDTO;
+import com.turmab.helpdesk.domain.enums.Prioridade;
+import com.turmab.helpdesk.domain.enums.Status;
+import com.turmab.helpdesk.events.ChamadoEvent;
+import com.turmab.helpdesk.repositories.ChamadoRepository;
+
+/**
+ * Fila de despacho em memória com os chamados em status ABERTO, ordenados pela prioridade
+ * (ALTA primeiro) e, dentro da mesma prioridade, do mais antigo para o mais novo.
+ * É reconstruída a partir do banco quando a aplicação sobe e mantida pelos ChamadoEvents
+ * publicados após cada commit. Como esses eventos são apenas os desta instância, a fila também
+ * é completada periodicamente com os chamados abertos do banco, e o ChamadoService recorre ao
+ * banco quando ela está vazia. A retirada do próximo chamado é atômica dentro da instância;
+ * entre instâncias, quem garante que só um técnico vence é o UPDATE condicional do ChamadoService.
+ */
+@Service
+public class FilaDespachoService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FilaDespachoService.class);
+
+    private static final Comparator<Entrada> ORDEM = Comparator
+            .comparing((Entrada e) -> e.prioridade.getCodigo(), Comparator.reverseOrder())
+            .thenComparing(e -> e.dataAbertura, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(e -> e.id);
+
+    @Autowired
+    private ChamadoRepository repository;
+
+    private final ConcurrentSkipListSet<Entrada> fila = new ConcurrentSkipListSet<>(ORDEM);
+    private final Map<Integer, Entrada> entradas = new ConcurrentHashMap<>();
+
+    /**
+     * Reconstrói a fila com os chamados ABERTOS do banco.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        fila.clear();
+        entradas.clear();
+        for (Object[] linha : repository.findFilaDespacho()) {
+            coloca(new Entrada((Integer) linha[0], (Prioridade) linha[1], (LocalDate) linha[2]));
+        }
+        LOG.info("Fila de despacho reconstruída: {} chamados abertos", entradas.size());
+    }
+
+    /**
+     * Acrescenta à fila os chamados ABERTOS do banco que ela ainda não tem, como os abertos ou
+     * reabertos por outras instâncias. As entradas que já não estiverem abertas quando forem
+     * retiradas são descartadas pelo ChamadoService.
+     */
+    @Scheduled(initialDelayString = "${helpdesk.despacho.sincronizacao-ms:60000}",
+            fixedDelayString = "${helpdesk.despacho.sincronizacao-ms:60000}")
+    @Transactional(readOnly = true)
+    public void sincroniza() {
+        int novos = 0;
+        for (Object[] linha : repository.findFilaDespacho()) {
+            if (!entradas.containsKey((Integer) linha[0])) {
+                coloca(new Entrada((Integer) linha[0], (Prioridade) linha[1], (LocalDate) linha[2]));
+                novos++;
+            }
+        }
+        if (novos > 0) {
+            LOG.debug("Fila de despacho sincronizada: {} chamados abertos acrescentados", novos);
+        }
+    }
+
+    /**
+     * Mantém a fila consistente com as escritas confirmadas: o chamado entra (ou é reposicionado)
+     * enquanto estiver ABERTO e sai em qualquer outro status ou no arquivamento.
+     * @param event O evento publicado pelo ChamadoService.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChamadoEvent(ChamadoEvent event) {
+        ChamadoDTO atual = event.getAtual();
+        if (atual != null && Status.ABERTO.getCodigo().equals(atual.getStatus())) {
+            coloca(new Entrada(atual.getId(), Prioridade.toEnum(atual.getPrioridade()), atual.getDataAbertura()));
+        } else {
+            remove(event.getAnterior().getId());
+        }
+    }
+
+    /**
+     * Retira o próximo chamado da fila. Cada chamado é entregue a um único chamador.
+     * @return O ID do chamado, ou null se a fila estiver vazia.
+     */
+    public Integer poll() {
+        Entrada entrada = fila.pollFirst();
+        if (entrada == null) {
+            return null;
+        }
+        entradas.remove(entrada.id, entrada);
+        return entrada.id;
+    }
+
+    /**
+     * Devolve à fila um chamado retirado que continua ABERTO, como um que outro usuário
+     * alterou (sem assumi-lo) entre a leitura e a atribuição.
+     * @param obj O chamado, no estado lido do banco.
+     */
+    public void devolve(ChamadoDTO obj) {
+        coloca(new Entrada(obj.getId(), Prioridade.toEnum(obj.getPrioridade()), obj.getDataAbertura()));
+    }
+
+    /**
+     * Devolve um chamado retirado da fila se a transação que o assumiu for desfeita.
+     * Deve ser chamado dentro dessa transação.
+     * @param obj O chamado, no estado em que foi retirado da fila.
+     */
+    public void devolveSeDesfeita(ChamadoDTO obj) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        Entrada entrada = new Entrada(obj.getId(), Prioridade.toEnum(obj.getPrioridade()), obj.getDataAbertura());
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != TransactionSynchronization.STATUS_COMMITTED) {
+                    coloca(entrada);
+                }
+            }
+        });
+    }
+
+    /**
+     * Retorna a quantidade de chamados na fila.
+     * @return A quantidade de chamados abertos aguardando um técnico.
+     */
+    public int getTamanho() {
+        return entradas.size();
+    }
+
+    private void coloca(Entrada entrada) {
+        entradas.compute(entrada.id, (id, anterior) -> {
+            if (anterior != null) {
+                fila.remove(anterior);
+            }
+            fila.add(entrada);
+            return entrada;
+        });
+    }
+
+    private void remove(Integer id) {
+        entradas.computeIfPresent(id, (k, anterior) -> {
+            fila.remove(anterior);
+            return null;
+        });
+    }
+
+    /**
+     * Posição de um chamado na fila. Guarda apenas os campos usados na ordenação.
+     */
+    private static final class Entrada {
+        private final Integer id;
+        private final Prioridade prioridade;
+        private final LocalDate dataAbertura;
+
+        private Entrada(Integer id, Prioridade prioridade, LocalDate dataAbertura) {
+            this.id = id;
+            this.prioridade = prioridade;
+            this.dataAbertura = dataAbertura;
+        }
+    }
+}
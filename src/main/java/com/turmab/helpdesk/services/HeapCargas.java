@@ -0,0 +1,131 @@
+package com.turmab.helpdesk.services;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Heap binário de mínimo indexado pelo ID: guarda uma carga por ID e mantém no topo o de
+ * menor carga (em empate, o de menor ID). O índice de cada ID no vetor permite alterar a carga
+ * de um elemento qualquer em O(log n), e não só a do topo. Não é thread-safe.
+ */
+final class HeapCargas {
+
+    private int[] ids = new int[16];
+    private long[] cargas = new long[16];
+    private int tamanho;
+    private final Map<Integer, Integer> posicoes = new HashMap<>();
+
+    /**
+     * Soma o delta à carga do ID, inserindo-o com carga zero se ainda não estiver no heap.
+     * @param id O ID.
+     * @param delta O valor a ser somado (pode ser negativo).
+     */
+    void ajusta(int id, long delta) {
+        Integer posicao = posicoes.get(id);
+        if (posicao == null) {
+            if (tamanho == ids.length) {
+                ids = Arrays.copyOf(ids, tamanho * 2);
+                cargas = Arrays.copyOf(cargas, tamanho * 2);
+            }
+            posicao = tamanho++;
+            ids[posicao] = id;
+            cargas[posicao] = 0;
+            posicoes.put(id, posicao);
+        }
+        cargas[posicao] += delta;
+        sobe(posicao);
+        desce(posicoes.get(id));
+    }
+
+    /**
+     * Remove o ID do heap, se estiver presente.
+     * @param id O ID.
+     */
+    void remove(int id) {
+        Integer posicao = posicoes.remove(id);
+        if (posicao == null) {
+            return;
+        }
+        int ultimo = --tamanho;
+        if (posicao != ultimo) {
+            move(ultimo, posicao);
+            sobe(posicao);
+            desce(posicao);
+        }
+    }
+
+    /**
+     * @return O ID de menor carga, ou null se o heap estiver vazio.
+     */
+    Integer topo() {
+        return tamanho == 0 ? null : ids[0];
+    }
+
+    /**
+     * @param id O ID.
+     * @return A carga do ID, ou null se ele não estiver no heap.
+     */
+    Long carga(int id) {
+        Integer posicao = posicoes.get(id);
+        return posicao == null ? null : cargas[posicao];
+    }
+
+    int tamanho() {
+        return tamanho;
+    }
+
+    void limpa() {
+        tamanho = 0;
+        posicoes.clear();
+    }
+
+    private void sobe(int i) {
+        while (i > 0) {
+            int pai = (i - 1) / 2;
+            if (!menor(i, pai)) {
+                return;
+            }
+            troca(i, pai);
+            i = pai;
+        }
+    }
+
+    private void desce(int i) {
+        while (true) {
+            int menor = i;
+            int esquerda = 2 * i + 1;
+            int direita = esquerda + 1;
+            if (esquerda < tamanho && menor(esquerda, menor)) {
+                menor = esquerda;
+            }
+            if (direita < tamanho && menor(direita, menor)) {
+                menor = direita;
+            }
+            if (menor == i) {
+                return;
+            }
+            troca(i, menor);
+            i = menor;
+        }
+    }
+
+    private boolean menor(int a, int b) {
+        return cargas[a] < cargas[b] || (cargas[a] == cargas[b] && ids[a] < ids[b]);
+    }
+
+    private void troca(int a, int b) {
+        int id = ids[a];
+        long carga = cargas[a];
+        move(b, a);
+        ids[b] = id;
+        cargas[b] = carga;
+        posicoes.put(id, b);
+    }
+
+    private void move(int de, int para) {
+        ids[para] = ids[de];
+        cargas[para] = cargas[de];
+        posicoes.put(ids[para], para);
+    }
+}
@@ -0,0 +1,261 @@
+package com.turmab.helpdesk.services;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.turmab.helpdesk.domain.EventoOutbox;
+import com.turmab.helpdesk.domain.dtos.ChamadoDTO;
+import com.turmab.helpdesk.domain.dtos.EstatisticasOutboxDTO;
+import com.turmab.helpdesk.events.ChamadoEvent;
+import com.turmab.helpdesk.events.ChamadoEventHandler;
+import com.turmab.helpdesk.repositories.EventoOutboxRepository;
+
+/**
+ * Outbox transacional dos eventos de chamados e o despachante que o esvazia.
+ * Todo ChamadoEvent publicado pelo ChamadoService é gravado na tabela evento_outbox dentro da
+ * própria transação da escrita, o que custa um INSERT (agrupado em lote JDBC) e nada mais:
+ * a latência da requisição não depende de quantos handlers consomem os eventos.
+ * Uma thread própria lê os eventos em lotes, na ordem de commit das transações que os gravaram,
+ * e os entrega a todos os {@link ChamadoEventHandler}s; os entregues são removidos com um
+ * único DELETE por lote.
+ * A entrega é "pelo menos uma vez" e preserva a ordem por chamado: se um evento falha, ele só
+ * é tentado de novo depois de uma espera exponencial, e os seguintes do mesmo chamado esperam
+ * com ele. Após o limite de tentativas, o evento é descartado (e registrado no log) para não
+ * bloquear o chamado para sempre.
+ * O despachante é acordado logo após cada commit e, por segurança, a cada intervalo.
+ */
+@Service
+public class OutboxService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OutboxService.class);
+
+    @Autowired
+    private EventoOutboxRepository repository;
+    @Autowired
+    private ObjectMapper mapper;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private SequenciaAlteracoes sequencia;
+    @Autowired(required = false)
+    private List<ChamadoEventHandler> handlers = List.of();
+
+    /**
+     * Liga o despachante. Em uma implantação com várias instâncias, deve ficar ligado em apenas
+     * uma, para que a ordem por chamado seja preservada; as demais só gravam no outbox.
+     */
+    @Value("${helpdesk.outbox.despachante.enabled:true}")
+    private Boolean habilitado;
+
+    @Value("${helpdesk.outbox.tamanho-lote:200}")
+    private Integer tamanhoLote;
+
+    /**
+     * Intervalo máximo (ms) entre duas rodadas do despachante.
+     */
+    @Value("${helpdesk.outbox.intervalo-ms:1000}")
+    private Long intervalo;
+
+    @Value("${helpdesk.outbox.tentativas-maximas:10}")
+    private Integer tentativasMaximas;
+
+    /**
+     * Espera (ms) antes da segunda tentativa de entrega de um evento; dobra a cada falha, até o máximo.
+     */
+    @Value("${helpdesk.outbox.backoff-ms:1000}")
+    private Long backoff;
+
+    @Value("${helpdesk.outbox.backoff-maximo-ms:300000}")
+    private Long backoffMaximo;
+
+    private final Semaphore sinal = new Semaphore(0);
+    private volatile boolean ativo;
+    private Thread despachante;
+
+    private final AtomicLong entregues = new AtomicLong();
+    private final AtomicLong falhas = new AtomicLong();
+    private final AtomicLong descartados = new AtomicLong();
+    private volatile long atrasoUltimoMs;
+    private volatile long atrasoMaximoMs;
+
+    /**
+     * Grava o evento no outbox. Como é um @EventListener síncrono, executa na transação de
+     * quem publicou o evento: o evento é confirmado ou desfeito junto com o chamado.
+     * @param event O evento publicado pelo ChamadoService.
+     */
+    @EventListener
+    public void grava(ChamadoEvent event) {
+        ChamadoDTO obj = event.getAtual() != null ? event.getAtual() : event.getAnterior();
+        String payload;
+        try {
+            payload = mapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Não foi possível serializar o evento do chamado " + obj.getId(), e);
+        }
+        repository.save(new EventoOutbox(obj.getId(), payload, LocalDateTime.now(), sequencia.daTransacao()));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    acorda();
+                }
+            });
+        } else {
+            acorda();
+        }
+    }
+
+    /**
+     * Inicia a thread do despachante quando a aplicação sobe; os eventos que ficaram
+     * pendentes antes de um reinício são entregues na primeira rodada.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void inicia() {
+        if (!habilitado || ativo) {
+            return;
+        }
+        ativo = true;
+        despachante = new Thread(this::executa, "outbox-despachante");
+        despachante.setDaemon(true);
+        despachante.start();
+        LOG.info("Despachante do outbox iniciado com {} handlers", handlers.size());
+    }
+
+    /**
+     * Para o despachante ao desligar a aplicação. Os eventos não entregues continuam na tabela.
+     */
+    @PreDestroy
+    public synchronized void para() {
+        ativo = false;
+        if (despachante != null) {
+            despachante.interrupt();
+        }
+    }
+
+    /**
+     * Retorna as métricas do outbox: eventos pendentes, atraso e contadores de entrega.
+     * @return O DTO com as estatísticas.
+     */
+    public EstatisticasOutboxDTO getEstatisticas() {
+        LocalDateTime maisAntigo = repository.findDataHoraMaisAntiga();
+        long atrasoPendente = maisAntigo == null ? 0 : Math.max(0, Duration.between(maisAntigo, LocalDateTime.now()).toMillis());
+        return new EstatisticasOutboxDTO(repository.count(), atrasoPendente, atrasoUltimoMs, atrasoMaximoMs,
+                entregues.get(), falhas.get(), descartados.get(), handlers.size());
+    }
+
+    private void acorda() {
+        if (sinal.availablePermits() == 0) {
+            sinal.release();
+        }
+    }
+
+    private void executa() {
+        while (ativo) {
+            try {
+                int processados;
+                do {
+                    processados = despachaLote();
+                } while (processados == tamanhoLote && ativo);
+                sinal.tryAcquire(intervalo, TimeUnit.MILLISECONDS);
+                sinal.drainPermits();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                LOG.warn("Falha no despachante do outbox; nova tentativa em {} ms", intervalo, e);
+                try {
+                    Thread.sleep(intervalo);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Entrega um lote de eventos aos handlers, fora de transação, e então remove os entregues
+     * e conta as tentativas dos que falharam.
+     * @return A quantidade de eventos lidos, para decidir se há outro lote imediatamente.
+     */
+    private int despachaLote() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        List<EventoOutbox> lote = template.execute(status -> repository.findLote(LocalDateTime.now(),
+                PageRequest.of(0, tamanhoLote)));
+        if (lote.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> concluidos = new ArrayList<>(lote.size());
+        List<EventoOutbox> falhados = new ArrayList<>();
+        Set<Integer> bloqueados = new HashSet<>(); // Chamados com uma falha anterior neste lote
+        for (EventoOutbox evento : lote) {
+            if (bloqueados.contains(evento.getChamadoId())) {
+                continue;
+            }
+            try {
+                ChamadoEvent event = mapper.readValue(evento.getPayload(), ChamadoEvent.class);
+                for (ChamadoEventHandler handler : handlers) {
+                    handler.handle(event);
+                }
+                concluidos.add(evento.getId());
+                entregues.incrementAndGet();
+                registraAtraso(evento);
+            } catch (JsonProcessingException | RuntimeException e) {
+                falhas.incrementAndGet();
+                if (evento.getTentativas() + 1 >= tentativasMaximas) {
+                    LOG.error("Evento {} do chamado {} descartado após {} tentativas: {}", evento.getId(),
+                            evento.getChamadoId(), tentativasMaximas, evento.getPayload(), e);
+                    descartados.incrementAndGet();
+                    concluidos.add(evento.getId());
+                } else {
+                    LOG.warn("Falha ao entregar o evento {} do chamado {}", evento.getId(), evento.getChamadoId(), e);
+                    bloqueados.add(evento.getChamadoId());
+                    falhados.add(evento);
+                }
+            }
+        }
+
+        template.executeWithoutResult(status -> {
+            if (!concluidos.isEmpty()) {
+                repository.deleteByIdIn(concluidos);
+            }
+            for (EventoOutbox evento : falhados) {
+                long espera = Math.min(backoffMaximo, backoff << Math.min(evento.getTentativas(), 20));
+                repository.registraFalha(evento.getId(), LocalDateTime.now().plus(Duration.ofMillis(espera)));
+            }
+        });
+        // Os eventos que falharam só voltam ao lote depois da espera: ler o próximo lote logo não repete as falhas
+        return lote.size();
+    }
+
+    private void registraAtraso(EventoOutbox evento) {
+        long atraso = Math.max(0, Duration.between(evento.getDataHora(), LocalDateTime.now()).toMillis());
+        atrasoUltimoMs = atraso;
+        if (atraso > atrasoMaximoMs) {
+            atrasoMaximoMs = atraso;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.turmab.helpdesk.services;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Esboço de quantis em streaming com erro relativo limitado, no estilo do DDSketch.
+ * Cada valor é contado em um balde logarítmico de índice ceil(log_gama(valor)), com
+ * gama = (1 + erro) / (1 - erro); o quantil devolvido fica a no máximo "erro" (relativo)
+ * do valor exato. A memória depende apenas da faixa dos valores, e não da quantidade:
+ * tempos de 1 ms a 10 anos ocupam menos de 1.300 baldes com erro de 1%.
+ */
+final class QuantileSketch {
+
+    private final double gama;
+    private final double logGama;
+    private final TreeMap<Integer, Long> baldes = new TreeMap<>();
+    private long zeros; // Valores menores que 1, contados à parte
+    private long quantidade;
+
+    /**
+     * @param erroRelativo O erro relativo máximo dos quantis (ex.: 0.01 para 1%).
+     */
+    QuantileSketch(double erroRelativo) {
+        this.gama = (1 + erroRelativo) / (1 - erroRelativo);
+        this.logGama = Math.log(gama);
+    }
+
+    /**
+     * Adiciona um valor ao esboço, em O(log b), sendo b a quantidade de baldes ocupados.
+     * @param valor O valor, não negativo.
+     */
+    synchronized void add(double valor) {
+        if (valor < 1) {
+            zeros++;
+        } else {
+            baldes.merge((int) Math.ceil(Math.log(valor) / logGama), 1L, Long::sum);
+        }
+        quantidade++;
+    }
+
+    /**
+     * Estima o quantil informado.
+     * @param q O quantil, entre 0 e 1 (ex.: 0.99).
+     * @return O valor estimado, ou null se o esboço estiver vazio.
+     */
+    synchronized Double quantile(double q) {
+        if (quantidade == 0) {
+            return null;
+        }
+        long posicao = Math.max(0, (long) Math.ceil(q * quantidade) - 1); // Posição pelo método nearest-rank
+        long acumulado = zeros;
+        if (posicao < acumulado) {
+            return 0.0;
+        }
+        for (Map.Entry<Integer, Long> balde : baldes.entrySet()) {
+            acumulado += balde.getValue();
+            if (posicao < acumulado) {
+                // Ponto do balde (gama^(i-1), gama^i] com erro relativo simétrico
+                return 2 * Math.pow(gama, balde.getKey()) / (gama + 1);
+            }
+        }
+        return 2 * Math.pow(gama, baldes.lastKey()) / (gama + 1);
+    }
+
+    synchronized long getQuantidade() {
+        return quantidade;
+    }
+}
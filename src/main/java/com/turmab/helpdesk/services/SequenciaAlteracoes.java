@@ -0,0 +1,156 @@
+package com.turmab.helpdesk.services;
+
+import java.util.TreeSet;
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Sequência monotônica de alterações dos chamados, usada pelo feed GET /chamados/changes.
+ * Cada transação que grava chamados recebe um único número, maior que o de todas as transações
+ * que começaram a gravar antes dela, e marca com ele as linhas que alterou.
+ * Como as transações não terminam na ordem em que receberam os números, o feed só entrega
+ * alterações até o limite: o maior número abaixo do qual nenhuma transação está em andamento.
+ * Assim, um cliente nunca avança o seu token para além de uma alteração que ainda vai aparecer.
+ * Os números vêm da tabela chamado_alteracao. Com o tamanho de bloco padrão (1), cada número
+ * é alocado dentro da própria transação que grava, e a linha da tabela fica bloqueada até o
+ * commit: as transações que gravam chamados, em qualquer instância, confirmam na ordem dos
+ * números, e o feed não precisa de limite. Isso serializa essas transações, e por isso o número
+ * deve ser alocado antes de qualquer outro bloqueio de linha da transação: com a linha de
+ * chamado_alteracao sempre bloqueada primeiro, duas escritas nunca esperam uma pela outra em
+ * ordem inversa (deadlock); quem chega depois apenas aguarda o commit de quem a bloqueou.
+ * Com blocos maiores, os números são reservados em uma transação própria e o limite considera
+ * apenas as transações desta instância, o que só é correto com uma única instância da aplicação.
+ */
+@Component
+public class SequenciaAlteracoes {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Quantidade de números reservados de cada vez na tabela chamado_alteracao.
+     * Valores maiores que 1 exigem que a aplicação rode em uma única instância.
+     */
+    @Value("${helpdesk.alteracoes.tamanho-bloco:1}")
+    private Integer tamanhoBloco;
+
+    private long proximo;
+    private long fimBloco; // Exclusivo
+    private long ultimo;
+    private final TreeSet<Long> pendentes = new TreeSet<>();
+
+    /**
+     * Reserva o primeiro bloco. Todos os números já usados são menores que o início dele.
+     */
+    @PostConstruct
+    public synchronized void inicializa() {
+        if (tamanhoBloco == 1) {
+            return;
+        }
+        reservaBloco();
+        ultimo = proximo - 1;
+    }
+
+    /**
+     * Retorna o número de alteração da transação atual, alocando-o na primeira chamada.
+     * O número fica pendente até a transação terminar, com commit ou rollback.
+     * Com blocos de 1 número, a primeira chamada bloqueia a linha de chamado_alteracao até o
+     * commit, e deve acontecer antes de a transação bloquear chamados, contadores ou o outbox.
+     * @return O número de alteração a ser gravado nos chamados alterados pela transação.
+     */
+    public long daTransacao() {
+        Long atual = (Long) TransactionSynchronizationManager.getResource(this);
+        if (atual != null) {
+            return atual;
+        }
+        if (tamanhoBloco == 1) {
+            return alocaNaTransacao();
+        }
+        long valor;
+        synchronized (this) {
+            if (proximo >= fimBloco) {
+                reservaBloco();
+            }
+            valor = proximo++;
+            ultimo = valor;
+            pendentes.add(valor);
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            libera(valor);
+            return valor;
+        }
+        TransactionSynchronizationManager.bindResource(this, valor);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(SequenciaAlteracoes.this);
+                libera(valor);
+            }
+        });
+        return valor;
+    }
+
+    /**
+     * Retorna o maior número de alteração até o qual todas as transações já terminaram.
+     * Com blocos de 1 número as transações confirmam em ordem, e não há limite.
+     * @return O limite seguro para o feed de alterações.
+     */
+    public synchronized long getLimite() {
+        if (tamanhoBloco == 1) {
+            return Long.MAX_VALUE;
+        }
+        return pendentes.isEmpty() ? ultimo : pendentes.first() - 1;
+    }
+
+    /**
+     * Avança o próximo número livre da tabela dentro da transação atual. O bloqueio da linha
+     * dura até o commit ou rollback, de modo que a próxima transação só recebe o seu número
+     * depois que esta terminar.
+     */
+    private long alocaNaTransacao() {
+        entityManager.createNativeQuery("UPDATE chamado_alteracao SET proximo = proximo + 1 WHERE id = 1")
+                .executeUpdate();
+        long valor = ((Number) entityManager.createNativeQuery("SELECT proximo FROM chamado_alteracao WHERE id = 1")
+                .getSingleResult()).longValue() - 1;
+        TransactionSynchronizationManager.bindResource(this, valor);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(SequenciaAlteracoes.this);
+            }
+        });
+        return valor;
+    }
+
+    private synchronized void libera(long valor) {
+        pendentes.remove(valor);
+    }
+
+    /**
+     * Avança o próximo número livre da tabela em uma transação própria e curta,
+     * para que a linha não fique bloqueada até o fim da transação que pediu o número.
+     */
+    private void reservaBloco() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        Long fim = template.execute(status -> {
+            entityManager.createNativeQuery("UPDATE chamado_alteracao SET proximo = proximo + :tamanho WHERE id = 1")
+                    .setParameter("tamanho", tamanhoBloco).executeUpdate();
+            return ((Number) entityManager.createNativeQuery("SELECT proximo FROM chamado_alteracao WHERE id = 1")
+                    .getSingleResult()).longValue();
+        });
+        fimBloco = fim;
+        proximo = fim - tamanhoBloco;
+    }
+}
@@ -0,0 +1,223 @@
+package com.turmab.helpdesk.services;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import com.turmab.helpdesk.domain.TransicaoStatus;
+import com.turmab.helpdesk.domain.dtos.ChamadoDTO;
+import com.turmab.helpdesk.domain.dtos.QuantisDTO;
+import com.turmab.helpdesk.domain.dtos.SlaDTO;
+import com.turmab.helpdesk.domain.dtos.TransicaoStatusDTO;
+import com.turmab.helpdesk.domain.enums.Prioridade;
+import com.turmab.helpdesk.domain.enums.Status;
+import com.turmab.helpdesk.repositories.TransicaoStatusRepository;
+
+/**
+ * Serviço que registra o histórico de status dos chamados e mantém as estatísticas de SLA.
+ * Cada transição é gravada na mesma transação da escrita do chamado, já com os tempos de
+ * resposta e de resolução calculados. Depois do commit, esses tempos alimentam esboços de
+ * quantis em memória (por prioridade e por técnico), de modo que os percentis são lidos
+ * sem consultar a tabela de histórico. A tabela só é percorrida quando a aplicação sobe.
+ */
+@Service
+public class SlaService {
+
+    /**
+     * Erro relativo máximo dos percentis calculados pelos esboços.
+     */
+    private static final double ERRO_RELATIVO = 0.01;
+
+    /**
+     * Quantidade máxima de IDs em cada consulta do histórico.
+     */
+    private static final int IDS_POR_CONSULTA = 1000;
+
+    @Autowired
+    private TransicaoStatusRepository repository;
+
+    private volatile Esbocos esbocos = new Esbocos();
+
+    /**
+     * Retorna o histórico de status de um chamado.
+     * @param chamadoId O ID do chamado.
+     * @return As transições do chamado, da mais antiga para a mais recente.
+     */
+    @Transactional(readOnly = true)
+    public List<TransicaoStatusDTO> findTransicoes(Integer chamadoId) {
+        return repository.findByChamadoIdOrderByDataHoraAscIdAsc(chamadoId).stream().map(TransicaoStatusDTO::new)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Retorna os percentis p50, p90 e p99 dos tempos de resposta e de resolução,
+     * por prioridade e por técnico, lidos dos esboços em memória.
+     * @return O DTO com as estatísticas de SLA.
+     */
+    public SlaDTO getSla() {
+        Esbocos atual = esbocos;
+        SlaDTO dto = new SlaDTO();
+        for (Prioridade prioridade : Prioridade.values()) {
+            dto.getRespostaPorPrioridade().put(prioridade.getDescricao(), quantis(atual.respostaPorPrioridade.get(prioridade)));
+            dto.getResolucaoPorPrioridade().put(prioridade.getDescricao(), quantis(atual.resolucaoPorPrioridade.get(prioridade)));
+        }
+        atual.respostaPorTecnico.forEach((tecnico, esboco) -> dto.getRespostaPorTecnico().put(tecnico, quantis(esboco)));
+        atual.resolucaoPorTecnico.forEach((tecnico, esboco) -> dto.getResolucaoPorTecnico().put(tecnico, quantis(esboco)));
+        return dto;
+    }
+
+    /**
+     * Registra a mudança de status de um chamado. Deve ser chamado dentro da transação que grava o chamado.
+     * @param anterior O estado anterior do chamado, ou null na criação.
+     * @param atual O estado atual do chamado.
+     */
+    @Transactional
+    public void registra(ChamadoDTO anterior, ChamadoDTO atual) {
+        ChamadoDTO[] par = anterior == null ? new ChamadoDTO[] { atual } : new ChamadoDTO[] { anterior, atual };
+        registra(Collections.singletonList(par));
+    }
+
+    /**
+     * Registra as mudanças de status de vários chamados de uma vez. Pares sem mudança de status
+     * (ou de arquivamento, sem estado atual) são ignorados. As transições anteriores dos chamados
+     * envolvidos, necessárias para os tempos de resposta e de resolução, são lidas pelo índice de
+     * chamado, em blocos de até {@value #IDS_POR_CONSULTA} IDs.
+     * @param pares Sequência de [anterior, atual], [atual] (criação) ou [anterior, null] (arquivamento)
+     * de cada chamado.
+     */
+    @Transactional
+    public void registra(List<ChamadoDTO[]> pares) {
+        List<ChamadoDTO[]> mudancas = pares.stream()
+                .filter(par -> par[par.length - 1] != null
+                        && (par.length == 1 || !par[0].getStatus().equals(par[1].getStatus())))
+                .collect(Collectors.toList());
+        if (mudancas.isEmpty()) {
+            return;
+        }
+        List<Integer> ids = mudancas.stream().filter(par -> par.length == 2).map(par -> par[0].getId())
+                .distinct().collect(Collectors.toList());
+        Map<Integer, List<TransicaoStatus>> historicos = new HashMap<>();
+        for (int i = 0; i < ids.size(); i += IDS_POR_CONSULTA) {
+            repository.findByChamadoIdIn(ids.subList(i, Math.min(i + IDS_POR_CONSULTA, ids.size())))
+                    .forEach(t -> historicos.computeIfAbsent(t.getChamadoId(), k -> new ArrayList<>()).add(t));
+        }
+
+        LocalDateTime agora = LocalDateTime.now();
+        List<TransicaoStatus> transicoes = new ArrayList<>(mudancas.size());
+        for (ChamadoDTO[] par : mudancas) {
+            ChamadoDTO atual = par[par.length - 1];
+            TransicaoStatus transicao = new TransicaoStatus(atual.getId(),
+                    par.length == 2 ? Status.toEnum(par[0].getStatus()) : null, Status.toEnum(atual.getStatus()),
+                    Prioridade.toEnum(atual.getPrioridade()), atual.getTecnico(), agora);
+            if (par.length == 2) {
+                calculaTempos(transicao, historicos.getOrDefault(atual.getId(), List.of()));
+            }
+            transicoes.add(transicao);
+        }
+        repository.saveAll(transicoes);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    transicoes.forEach(t -> adiciona(esbocos, t.getPrioridade(), t.getTecnicoId(),
+                            t.getTempoRespostaMs(), t.getTempoResolucaoMs()));
+                }
+            });
+        } else {
+            transicoes.forEach(t -> adiciona(esbocos, t.getPrioridade(), t.getTecnicoId(), t.getTempoRespostaMs(),
+                    t.getTempoResolucaoMs()));
+        }
+    }
+
+    /**
+     * Reconstrói os esboços a partir dos tempos gravados no histórico quando a aplicação sobe.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void reconstroi() {
+        Esbocos novos = new Esbocos();
+        try (Stream<Object[]> linhas = repository.streamTempos()) {
+            linhas.forEach(linha -> adiciona(novos, (Prioridade) linha[0], (Integer) linha[1], (Long) linha[2],
+                    (Long) linha[3]));
+        }
+        esbocos = novos;
+    }
+
+    /**
+     * Preenche os tempos de resposta e de resolução de uma transição.
+     * A abertura é a transição de criação. Chamados sem ela (criados antes do histórico) não
+     * entram nas estatísticas: a data de abertura não tem hora, e estimá-la distorceria os percentis.
+     * A resposta é a primeira transição que tira o chamado de ABERTO.
+     */
+    private static void calculaTempos(TransicaoStatus transicao, List<TransicaoStatus> historico) {
+        LocalDateTime abertura = historico.stream().filter(t -> t.getStatusAnterior() == null)
+                .map(TransicaoStatus::getDataHora).findFirst().orElse(null);
+        if (abertura == null) {
+            return;
+        }
+        long decorrido = Math.max(0, Duration.between(abertura, transicao.getDataHora()).toMillis());
+        boolean respondido = historico.stream().anyMatch(t -> t.getStatusAnterior() == Status.ABERTO);
+        if (transicao.getStatusAnterior() == Status.ABERTO && !respondido) {
+            transicao.setTempoRespostaMs(decorrido);
+        }
+        if (transicao.getStatusNovo() == Status.ENCERRADO) {
+            transicao.setTempoResolucaoMs(decorrido);
+        }
+    }
+
+    private static void adiciona(Esbocos alvo, Prioridade prioridade, Integer tecnico, Long resposta, Long resolucao) {
+        if (resposta != null) {
+            adiciona(alvo.respostaPorPrioridade, prioridade, resposta);
+            adiciona(alvo.respostaPorTecnico, tecnico, resposta);
+        }
+        if (resolucao != null) {
+            adiciona(alvo.resolucaoPorPrioridade, prioridade, resolucao);
+            adiciona(alvo.resolucaoPorTecnico, tecnico, resolucao);
+        }
+    }
+
+    private static <K> void adiciona(Map<K, QuantileSketch> esbocos, K chave, long valor) {
+        if (chave != null) {
+            esbocos.computeIfAbsent(chave, k -> new QuantileSketch(ERRO_RELATIVO)).add(valor);
+        }
+    }
+
+    /**
+     * Converte os percentis de um esboço (em milissegundos) para o DTO (em segundos).
+     */
+    private static QuantisDTO quantis(QuantileSketch esboco) {
+        if (esboco == null || esboco.getQuantidade() == 0) {
+            return new QuantisDTO(0L, null, null, null);
+        }
+        return new QuantisDTO(esboco.getQuantidade(), segundos(esboco.quantile(0.5)), segundos(esboco.quantile(0.9)),
+                segundos(esboco.quantile(0.99)));
+    }
+
+    private static Long segundos(Double ms) {
+        return ms == null ? null : Math.round(ms / 1000);
+    }
+
+    /**
+     * Conjunto de esboços trocado por inteiro na reconstrução.
+     */
+    private static class Esbocos {
+        private final Map<Prioridade, QuantileSketch> respostaPorPrioridade = new ConcurrentHashMap<>();
+        private final Map<Prioridade, QuantileSketch> resolucaoPorPrioridade = new ConcurrentHashMap<>();
+        private final Map<Integer, QuantileSketch> respostaPorTecnico = new ConcurrentHashMap<>();
+        private final Map<Integer, QuantileSketch> resolucaoPorTecnico = new ConcurrentHashMap<>();
+    }
+}
@@ -2,17 +2,26 @@ package com.turmab.helpdesk.services;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 import javax.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import com.turmab.helpdesk.domain.Pessoa;
 import com.turmab.helpdesk.domain.Tecnico;
+import com.turmab.helpdesk.domain.dtos.CargaTecnicoDTO;
 import com.turmab.helpdesk.domain.dtos.TecnicoDTO;
+import com.turmab.helpdesk.events.PessoaEvent;
 import com.turmab.helpdesk.repositories.PessoaRepository;
 import com.turmab.helpdesk.repositories.TecnicoRepository;
 import com.turmab.helpdesk.resources.exceptions.DataIntegrityViolationException;
 import com.turmab.helpdesk.resources.exceptions.ObjectNotFoundException;
+import com.turmab.helpdesk.resources.exceptions.PreconditionFailedException;
 
 /**
  * Serviço para gerenciar as operações de negócio relacionadas a Técnicos.
@@ -26,6 +35,14 @@ public class TecnicoService {
     private PessoaRepository pessoaRepository;
     @Autowired
     private BCryptPasswordEncoder encoder;
+    @Autowired
+    private ContadorChamadosService contadorService;
+    @Autowired
+    private ApplicationEventPublisher publisher;
+    @Autowired
+    private VersoesListagem versoesListagem;
+    @PersistenceContext
+    private EntityManager entityManager;
 
     /**
      * Busca um técnico pelo seu ID.
@@ -33,39 +50,105 @@ public class TecnicoService {
      * @return A entidade Tecnico encontrada.
      * @throws ObjectNotFoundException se o técnico não for encontrado.
      */
+    @Transactional(readOnly = true)
     public Tecnico findById(Integer id) {
         Optional<Tecnico> obj = repository.findById(id);
         return obj.orElseThrow(() -> new ObjectNotFoundException("Objeto não encontrado! Id: " + id));
     }
 
+    /**
+     * Retorna a versão atual de um técnico, usada como ETag, sem carregar a entidade.
+     * @param id O ID do técnico.
+     * @return O carimbo de versão do técnico.
+     * @throws ObjectNotFoundException se o técnico não for encontrado.
+     */
+    @Transactional(readOnly = true)
+    public String getVersao(Integer id) {
+        Integer versao = repository.findVersao(id)
+                .orElseThrow(() -> new ObjectNotFoundException("Objeto não encontrado! Id: " + id));
+        return Carimbos.de(id, versao);
+    }
+
+    /**
+     * Retorna a versão de um técnico já carregado, no mesmo formato de {@link #getVersao(Integer)}.
+     * @param obj O técnico.
+     * @return O carimbo de versão do técnico.
+     */
+    public String getVersao(Tecnico obj) {
+        return Carimbos.de(obj.getId(), obj.getVersao());
+    }
+
+    /**
+     * Retorna o carimbo de versão da listagem de técnicos, usado como ETag.
+     * @return O carimbo de versão da listagem.
+     */
+    public String getVersaoListagem() {
+        return versoesListagem.get(Tecnico.class);
+    }
+
     /**
      * Retorna uma lista com todos os técnicos cadastrados.
      * @return Uma lista de entidades Tecnico.
      */
+    @Transactional(readOnly = true)
     public List<Tecnico> findAll() {
         return repository.findAll();
     }
 
+    /**
+     * Retorna a carga de trabalho (chamados por status) de todos os técnicos,
+     * lida dos contadores mantidos incrementalmente.
+     * @return Uma lista de CargaTecnicoDTO ordenada pelo nome do técnico.
+     */
+    public List<CargaTecnicoDTO> findCarga() {
+        return contadorService.findCargaTecnicos();
+    }
+
+    /**
+     * Percorre todos os técnicos, entregando cada TecnicoDTO ao consumidor à medida que
+     * o cursor do banco avança. Cada entidade é desanexada do contexto de persistência
+     * logo após a conversão, mantendo o uso de memória constante.
+     * @param action O consumidor que recebe cada técnico, normalmente o escritor da resposta.
+     */
+    @Transactional(readOnly = true)
+    public void exportAll(Consumer<TecnicoDTO> action) {
+        try (Stream<Tecnico> stream = repository.streamAll()) {
+            stream.forEach(obj -> {
+                action.accept(new TecnicoDTO(obj));
+                entityManager.detach(obj);
+            });
+        }
+    }
+
     /**
      * Cria um novo técnico no banco de dados, criptografando a senha.
      * @param objDTO O DTO com os dados do novo técnico.
      * @return A entidade Tecnico recém-criada.
      */
+    @Transactional
     public Tecnico create(TecnicoDTO objDTO) {
         objDTO.setId(null);
         objDTO.setSenha(encoder.encode(objDTO.getSenha())); // Criptografa a senha
         validaPorCpfEEmail(objDTO);
-        Tecnico newObj = new Tecnico(objDTO);
-        return repository.save(newObj);
+        Tecnico newObj = repository.save(new Tecnico(objDTO));
+        contadorService.inicializa(newObj.getId());
+        publisher.publishEvent(new PessoaEvent(PessoaEvent.Tipo.CRIADO, Tecnico.class, newObj.getId()));
+        return newObj;
     }
 
     /**
      * Atualiza os dados de um técnico existente, criptografando a senha se fornecida.
+     * O técnico recebe a versão esperada pelo cliente (If-Match) e o Hibernate grava com um único
+     * UPDATE condicionado a essa versão; a leitura prévia normalmente vem do cache de segundo nível.
      * @param id O ID do técnico a ser atualizado.
      * @param objDTO O DTO com os novos dados.
+     * @param ifMatch O cabeçalho If-Match da requisição, ou null para atualizar sem condição.
      * @return A entidade Tecnico atualizada.
+     * @throws PreconditionFailedException se a versão esperada não for a atual.
      */
-    public Tecnico update(Integer id, @Valid TecnicoDTO objDTO) {
+    @Transactional
+    public Tecnico update(Integer id, @Valid TecnicoDTO objDTO, String ifMatch) {
+        Integer versaoEsperada = Carimbos.versaoEsperada(ifMatch, id);
         objDTO.setId(id);
         Tecnico oldObj = findById(id);
         
@@ -75,8 +158,11 @@ public class TecnicoService {
         }
 
         validaPorCpfEEmail(objDTO);
-        oldObj = new Tecnico(objDTO);
-        return repository.save(oldObj);
+        Tecnico newObj = new Tecnico(objDTO);
+        newObj.setVersao(versaoEsperada != null ? versaoEsperada : oldObj.getVersao());
+        newObj = repository.saveAndFlush(newObj);
+        publisher.publishEvent(new PessoaEvent(PessoaEvent.Tipo.ATUALIZADO, Tecnico.class, id));
+        return newObj;
     }
 
     /**
@@ -84,12 +170,15 @@ public class TecnicoService {
      * @param id O ID do técnico a ser deletado.
      * @throws DataIntegrityViolationException se o técnico tiver chamados associados.
      */
+    @Transactional
     public void delete(Integer id) {
-        Tecnico obj = findById(id);
-        if (obj.getChamados().size() > 0) {
+        findById(id); // Valida se existe, senão lança exceção
+        if (contadorService.getTotal(id) > 0) {
             throw new DataIntegrityViolationException("Técnico possui ordens de serviço e não pode ser deletado!");
         }
         repository.deleteById(id);
+        contadorService.remove(id);
+        publisher.publishEvent(new PessoaEvent(PessoaEvent.Tipo.REMOVIDO, Tecnico.class, id));
     }
 
     /**
@@ -6,6 +6,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import com.turmab.helpdesk.domain.Pessoa;
 import com.turmab.helpdesk.repositories.PessoaRepository;
 import com.turmab.helpdesk.security.UserSS;
@@ -28,6 +29,7 @@ public class UserDetailsServiceImpl implements UserDetailsService {
      * @throws UsernameNotFoundException se o usuário não for encontrado.
      */
     @Override
+    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         Optional<Pessoa> user = repository.findByEmail(email);
         if (user.isPresent()) {
@@ -0,0 +1,65 @@
+package com.turmab.helpdesk.services;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import com.turmab.helpdesk.domain.Chamado;
+import com.turmab.helpdesk.events.ChamadoEvent;
+import com.turmab.helpdesk.events.PessoaEvent;
+
+/**
+ * Mantém, em memória, um carimbo de versão para cada listagem (técnicos, clientes e chamados),
+ * usado como ETag sem nenhuma consulta ao banco.
+ * O carimbo de uma entidade avança depois do commit de cada PessoaEvent ou ChamadoEvent dela;
+ * como os nomes das pessoas aparecem nos chamados, um PessoaEvent também avança o de chamados.
+ * Os eventos são apenas os desta instância: por isso o carimbo inclui um identificador da
+ * instância e o período atual de helpdesk.cache.respostas.ttl-ms, o mesmo tempo de vida do
+ * RespostaCache, o que limita o atraso em relação às escritas de outras instâncias (e às
+ * leituras de réplicas atrasadas) ao mesmo prazo já aceito para as respostas em cache.
+ */
+@Component
+public class VersoesListagem {
+
+    private final String instancia = UUID.randomUUID().toString().substring(0, 8);
+    private final Map<Class<?>, Long> geracoes = new ConcurrentHashMap<>();
+
+    @Value("${helpdesk.cache.respostas.ttl-ms:300000}")
+    private Long ttl;
+
+    /**
+     * Retorna o carimbo atual da listagem de uma entidade.
+     * @param entidade A entidade listada (Tecnico, Cliente ou Chamado).
+     * @param partes Valores adicionais que alteram a listagem, como o seu limite.
+     * @return O carimbo em texto.
+     */
+    public String get(Class<?> entidade, Object... partes) {
+        String carimbo = Carimbos.de(instancia, System.currentTimeMillis() / ttl, geracoes.getOrDefault(entidade, 0L));
+        return partes.length == 0 ? carimbo : Carimbos.de(carimbo, Carimbos.de(partes));
+    }
+
+    /**
+     * Avança o carimbo da entidade alterada e o dos chamados, depois do commit.
+     * @param event O evento publicado pelo TecnicoService ou ClienteService.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPessoaEvent(PessoaEvent event) {
+        avanca(event.getEntidade());
+        avanca(Chamado.class);
+    }
+
+    /**
+     * Avança o carimbo dos chamados, depois do commit.
+     * @param event O evento publicado pelo ChamadoService.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChamadoEvent(ChamadoEvent event) {
+        avanca(Chamado.class);
+    }
+
+    private void avanca(Class<?> entidade) {
+        geracoes.merge(entidade, 1L, Long::sum);
+    }
+}
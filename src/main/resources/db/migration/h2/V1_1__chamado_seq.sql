@@ -0,0 +1,7 @@
+-- IDs de chamado gerados por sequência com alocação em blocos (em vez de identity),
+-- para que o Hibernate agrupe os INSERTs em lotes JDBC.
+alter table chamado alter column id integer not null;
+
+-- O otimizador pooled trata o valor lido como o fim do bloco (de 50 IDs); a sequência começa
+-- no valor inicial, que o Hibernate trata como o início do primeiro bloco.
+create sequence chamado_seq start with 1 increment by 50;
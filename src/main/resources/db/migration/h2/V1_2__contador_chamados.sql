@@ -0,0 +1,9 @@
+-- Contadores de chamados por técnico e por cliente em cada status. São preenchidos
+-- (e reconciliados) pela aplicação quando ela sobe.
+create table contador_chamados (
+    pessoa_id integer not null,
+    abertos integer not null,
+    andamento integer not null,
+    encerrados integer not null,
+    primary key (pessoa_id)
+);
@@ -0,0 +1,35 @@
+-- Schema inicial, equivalente ao que o Hibernate gerava com ddl-auto=create.
+
+create table pessoa (
+    dtype varchar(31) not null,
+    id integer generated by default as identity,
+    cpf varchar(255),
+    data_criacao date,
+    email varchar(255),
+    nome varchar(255),
+    senha varchar(255),
+    primary key (id),
+    constraint uk_pessoa_cpf unique (cpf),
+    constraint uk_pessoa_email unique (email)
+);
+
+create table perfis (
+    pessoa_id integer not null,
+    perfis integer,
+    constraint fk_perfis_pessoa foreign key (pessoa_id) references pessoa (id)
+);
+
+create table chamado (
+    id integer generated by default as identity,
+    data_abertura date,
+    data_fechamento date,
+    observacoes varchar(255),
+    prioridade integer,
+    status integer,
+    titulo varchar(255),
+    cliente_id integer,
+    tecnico_id integer,
+    primary key (id),
+    constraint fk_chamado_cliente foreign key (cliente_id) references pessoa (id),
+    constraint fk_chamado_tecnico foreign key (tecnico_id) references pessoa (id)
+);
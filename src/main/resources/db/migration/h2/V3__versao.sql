@@ -0,0 +1,3 @@
+-- Coluna de versão (@Version) de chamados e pessoas, incrementada a cada alteração.
+alter table chamado add column versao integer default 0 not null;
+alter table pessoa add column versao integer default 0 not null;
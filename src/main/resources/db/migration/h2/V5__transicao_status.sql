@@ -0,0 +1,18 @@
+-- Histórico de mudanças de status dos chamados, com data e hora (ver TransicaoStatus).
+-- Sem chave estrangeira para chamado: o histórico sobrevive ao arquivamento.
+create sequence transicao_status_seq start with 1 increment by 50;
+
+create table transicao_status (
+    id bigint not null,
+    chamado_id integer not null,
+    status_anterior integer,
+    status_novo integer not null,
+    prioridade integer,
+    tecnico_id integer,
+    data_hora timestamp not null,
+    tempo_resposta_ms bigint,
+    tempo_resolucao_ms bigint,
+    primary key (id)
+);
+
+create index idx_transicao_status_chamado on transicao_status (chamado_id);
@@ -0,0 +1,12 @@
+-- Outbox transacional dos eventos de chamados (ver EventoOutbox): cada evento é gravado na
+-- mesma transação que altera o chamado e removido depois de entregue aos handlers.
+create sequence evento_outbox_seq start with 1 increment by 50;
+
+create table evento_outbox (
+    id bigint not null,
+    chamado_id integer not null,
+    payload varchar(8000) not null,
+    data_hora timestamp not null,
+    tentativas integer default 0 not null,
+    primary key (id)
+);
@@ -0,0 +1,12 @@
+-- IDs de chamado gerados por sequência com alocação em blocos (em vez de auto_increment),
+-- para que o Hibernate agrupe os INSERTs em lotes JDBC.
+alter table chamado modify id integer not null;
+
+-- O MySQL não tem sequências: o Hibernate emula chamado_seq com uma tabela de uma linha.
+-- O otimizador pooled trata o valor lido como o fim do bloco (de 50 IDs); por isso a tabela
+-- começa 50 acima do maior ID existente, e o primeiro bloco começa logo depois dele.
+create table chamado_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into chamado_seq select coalesce(max(id), 0) + 50 from chamado;
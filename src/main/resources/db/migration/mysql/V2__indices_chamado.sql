@@ -0,0 +1,7 @@
+-- Índices compostos que seguem os caminhos de acesso reais aos chamados:
+-- filtros do painel e da listagem por status e prioridade,
+create index idx_chamado_status_prioridade on chamado (status, prioridade);
+-- fila e carga de trabalho de cada técnico por status,
+create index idx_chamado_tecnico_status on chamado (tecnico_id, status);
+-- e histórico de cada cliente por data de abertura.
+create index idx_chamado_cliente_data_abertura on chamado (cliente_id, data_abertura);
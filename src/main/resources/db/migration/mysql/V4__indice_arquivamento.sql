@@ -0,0 +1,3 @@
+-- Seleção dos chamados encerrados há mais de N dias pelo arquivamento
+-- e busca no histórico por data de fechamento.
+create index idx_chamado_status_data_fechamento on chamado (status, data_fechamento);
@@ -0,0 +1,23 @@
+-- Histórico de mudanças de status dos chamados, com data e hora (ver TransicaoStatus).
+-- Sem chave estrangeira para chamado: o histórico sobrevive ao arquivamento.
+create table transicao_status (
+    id bigint not null,
+    chamado_id integer not null,
+    status_anterior integer,
+    status_novo integer not null,
+    prioridade integer,
+    tecnico_id integer,
+    data_hora datetime(6) not null,
+    tempo_resposta_ms bigint,
+    tempo_resolucao_ms bigint,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_transicao_status_chamado on transicao_status (chamado_id);
+
+-- O MySQL não tem sequências: o Hibernate emula transicao_status_seq com uma tabela de uma linha.
+create table transicao_status_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into transicao_status_seq values (1);
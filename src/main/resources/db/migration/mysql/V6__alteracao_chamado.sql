@@ -0,0 +1,13 @@
+-- Sequência de alterações dos chamados (GET /chamados/changes): cada transação que grava
+-- chamados marca as linhas com um número maior que o de todas as transações anteriores.
+alter table chamado add column alteracao bigint default 0 not null;
+create index idx_chamado_alteracao on chamado (alteracao, id);
+
+-- Próximo número livre da sequência. A aplicação reserva blocos de números de uma vez,
+-- de modo que esta linha só é bloqueada uma vez a cada bloco, e não a cada escrita.
+create table chamado_alteracao (
+    id integer not null,
+    proximo bigint not null,
+    primary key (id)
+) engine=InnoDB;
+insert into chamado_alteracao (id, proximo) values (1, 1);
@@ -0,0 +1,17 @@
+-- Outbox transacional dos eventos de chamados (ver EventoOutbox): cada evento é gravado na
+-- mesma transação que altera o chamado e removido depois de entregue aos handlers.
+create table evento_outbox (
+    id bigint not null,
+    chamado_id integer not null,
+    payload varchar(8000) not null,
+    data_hora datetime(6) not null,
+    tentativas integer default 0 not null,
+    primary key (id)
+) engine=InnoDB;
+
+-- O MySQL não tem sequências: o Hibernate emula evento_outbox_seq com uma tabela de uma linha.
+create table evento_outbox_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into evento_outbox_seq values (1);
@@ -0,0 +1,7 @@
+-- Ordem de entrega do outbox pelo número de alteração da transação (ver SequenciaAlteracoes),
+-- que segue a ordem de commit, em vez do ID, alocado em blocos por instância.
+-- Espera exponencial entre as tentativas de entrega de um evento que falhou.
+alter table evento_outbox add column alteracao bigint default 0 not null;
+alter table evento_outbox add column proxima_tentativa datetime(6);
+create index idx_evento_outbox_alteracao on evento_outbox (alteracao, id);
+create index idx_evento_outbox_proxima_tentativa on evento_outbox (proxima_tentativa);
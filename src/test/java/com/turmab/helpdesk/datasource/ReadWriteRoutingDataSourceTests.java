@@ -0,0 +1,81 @@
+package com.turmab.helpdesk.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Verifica o roteamento entre dois bancos H2 independentes: as transações somente leitura
+ * vão para a réplica, e as de um usuário que acabou de escrever ficam no primário até a
+ * janela expirar. A sincronização periódica é adiada para que a réplica não mude durante o teste.
+ */
+@SpringBootTest(properties = {
+		"jwt.expiration=86400000",
+		"jwt.secret=teste",
+		"spring.datasource.url=jdbc:h2:mem:primarioroteamento",
+		"helpdesk.datasource.replicas.enabled=true",
+		"helpdesk.datasource.replicas.urls=jdbc:h2:mem:replicaroteamento",
+		"helpdesk.datasource.replicas.sincronizacao-ms=3600000",
+		"helpdesk.datasource.replicas.janela-apos-escrita-ms=1000" })
+@ActiveProfiles("test")
+class ReadWriteRoutingDataSourceTests {
+
+	private static final String PRIMARIO = "PRIMARIOROTEAMENTO";
+	private static final String REPLICA = "REPLICAROTEAMENTO";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@AfterEach
+	void limpaAutenticacao() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void leituraVaiParaReplica() {
+		autentica("linus@mail.com");
+		assertEquals(REPLICA, banco(true));
+	}
+
+	@Test
+	void escritaVaiParaPrimario() {
+		assertEquals(PRIMARIO, banco(false));
+	}
+
+	@Test
+	void leituraAposEscritaFicaNoPrimarioDuranteAJanela() throws InterruptedException {
+		autentica("bill@mail.com");
+		assertEquals(PRIMARIO, banco(false));
+		assertEquals(PRIMARIO, banco(true));
+
+		autentica("valdir@mail.com");
+		assertEquals(REPLICA, banco(true));
+
+		autentica("bill@mail.com");
+		Thread.sleep(1500);
+		assertEquals(REPLICA, banco(true));
+	}
+
+	private String banco(boolean somenteLeitura) {
+		TransactionTemplate template = new TransactionTemplate(transactionManager);
+		template.setReadOnly(somenteLeitura);
+		return template.execute(status -> jdbcTemplate.queryForObject("SELECT DATABASE()", String.class));
+	}
+
+	private static void autentica(String email) {
+		SecurityContextHolder.getContext().setAuthentication(
+				new UsernamePasswordAuthenticationToken(email, null, AuthorityUtils.createAuthorityList("ROLE_CLIENTE")));
+	}
+}
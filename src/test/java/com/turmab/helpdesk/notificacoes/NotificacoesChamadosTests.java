@@ -0,0 +1,89 @@
+package com.turmab.helpdesk.notificacoes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import com.turmab.helpdesk.domain.Chamado;
+import com.turmab.helpdesk.domain.dtos.ChamadoDTO;
+import com.turmab.helpdesk.domain.dtos.ChamadoPatchDTO;
+import com.turmab.helpdesk.services.ChamadoService;
+import com.turmab.helpdesk.services.OutboxService;
+
+/**
+ * Cria e encerra chamados pelo ChamadoService e verifica que, ao fechar a janela, cada
+ * destinatário recebe um único e-mail de resumo com todas as suas notificações.
+ * Os e-mails vão para o ServidorSmtpLocal; a janela é longa para que só o teste a feche.
+ */
+@SpringBootTest(properties = {
+		"jwt.expiration=86400000",
+		"jwt.secret=teste",
+		"spring.datasource.url=jdbc:h2:mem:notificacoes",
+		"helpdesk.notificacoes.enabled=true",
+		"helpdesk.notificacoes.smtp-local.enabled=true",
+		"helpdesk.notificacoes.janela-ms=3600000",
+		"spring.mail.port=2526" })
+@ActiveProfiles("test")
+class NotificacoesChamadosTests {
+
+	private static final Integer TECNICO = 1; // bill@mail.com
+	private static final Integer CLIENTE = 2; // linus@mail.com
+
+	@Autowired
+	private ChamadoService chamadoService;
+	@Autowired
+	private OutboxService outboxService;
+	@Autowired
+	private NotificacoesChamados notificacoes;
+	@Autowired
+	private ServidorSmtpLocal servidor;
+
+	@Test
+	void umResumoPorDestinatario() throws InterruptedException {
+		Chamado primeiro = chamadoService.create(novoChamado("Impressora"));
+		chamadoService.create(novoChamado("Rede"));
+		chamadoService.create(novoChamado("E-mail"));
+		ChamadoPatchDTO encerra = new ChamadoPatchDTO();
+		encerra.setStatus(2);
+		chamadoService.patch(primeiro.getId(), encerra, null);
+
+		aguarda(() -> outboxService.getEstatisticas().getPendentes() == 0);
+		notificacoes.enviaResumos();
+		aguarda(() -> servidor.getRecebidas().size() >= 2);
+		Thread.sleep(500); // Nenhum e-mail além dos dois resumos deve chegar
+
+		Map<String, List<ServidorSmtpLocal.Mensagem>> porDestinatario = servidor.getRecebidas().stream()
+				.collect(Collectors.groupingBy(m -> String.join(",", m.getDestinatarios())));
+		assertEquals(2, servidor.getRecebidas().size());
+		assertEquals(1, porDestinatario.get("bill@mail.com").size());
+		assertEquals(1, porDestinatario.get("linus@mail.com").size());
+		// Três aberturas e um encerramento para cada um
+		assertEquals("Helpdesk: 4 atualizações de chamados", porDestinatario.get("bill@mail.com").get(0).getAssunto());
+		assertEquals("Helpdesk: 4 atualizações de chamados", porDestinatario.get("linus@mail.com").get(0).getAssunto());
+	}
+
+	private static ChamadoDTO novoChamado(String titulo) {
+		ChamadoDTO obj = new ChamadoDTO();
+		obj.setPrioridade(1);
+		obj.setStatus(0);
+		obj.setTitulo(titulo);
+		obj.setObservacoes("Criado pelo teste de notificações");
+		obj.setTecnico(TECNICO);
+		obj.setCliente(CLIENTE);
+		return obj;
+	}
+
+	private static void aguarda(BooleanSupplier condicao) throws InterruptedException {
+		for (int i = 0; i < 100 && !condicao.getAsBoolean(); i++) {
+			Thread.sleep(100);
+		}
+		assertTrue(condicao.getAsBoolean(), "Condição não atingida em 10 segundos");
+	}
+}
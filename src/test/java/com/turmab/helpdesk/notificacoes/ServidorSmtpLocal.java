@@ -0,0 +1,203 @@
+package com.turmab.helpdesk.notificacoes;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UnsupportedEncodingException;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.mail.internet.MimeUtility;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Servidor SMTP mínimo, em memória, para os testes: aceita conexões apenas do localhost
+ * na porta de spring.mail.port, recebe as mensagens sem entregá-las a ninguém, registra
+ * cada uma no log e guarda as últimas para inspeção. Só sobe nos contextos de teste que
+ * ligam helpdesk.notificacoes.smtp-local.enabled.
+ * Implementa só o necessário para o JavaMail: HELO/EHLO, MAIL, RCPT, DATA, RSET, NOOP e QUIT.
+ */
+@Component
+@Profile("test")
+@ConditionalOnProperty(name = "helpdesk.notificacoes.smtp-local.enabled", havingValue = "true")
+public class ServidorSmtpLocal {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ServidorSmtpLocal.class);
+    private static final int MAXIMO_GUARDADAS = 100;
+
+    @Value("${spring.mail.port:2525}")
+    private Integer porta;
+
+    private ServerSocket servidor;
+    private final ExecutorService conexoes = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "smtp-local");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Deque<Mensagem> recebidas = new ConcurrentLinkedDeque<>();
+
+    @PostConstruct
+    public void inicia() throws IOException {
+        servidor = new ServerSocket(porta, 50, InetAddress.getLoopbackAddress());
+        conexoes.execute(this::aceita);
+        LOG.info("Servidor SMTP local ouvindo na porta {}", porta);
+    }
+
+    @PreDestroy
+    public void para() throws IOException {
+        servidor.close();
+        conexoes.shutdownNow();
+    }
+
+    /**
+     * @return As últimas mensagens recebidas, da mais antiga para a mais recente.
+     */
+    public List<Mensagem> getRecebidas() {
+        return new ArrayList<>(recebidas);
+    }
+
+    private void aceita() {
+        while (!servidor.isClosed()) {
+            try {
+                Socket socket = servidor.accept();
+                conexoes.execute(() -> atende(socket));
+            } catch (IOException e) {
+                if (!servidor.isClosed()) {
+                    LOG.warn("Falha ao aceitar conexão SMTP", e);
+                }
+            }
+        }
+    }
+
+    private void atende(Socket socket) {
+        try (socket;
+                BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.ISO_8859_1));
+                Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.ISO_8859_1)) {
+            responde(out, "220 localhost SMTP local do Helpdesk");
+            String remetente = null;
+            List<String> destinatarios = new ArrayList<>();
+            String linha;
+            while ((linha = in.readLine()) != null) {
+                String comando = linha.length() < 4 ? linha.toUpperCase() : linha.substring(0, 4).toUpperCase();
+                switch (comando) {
+                case "HELO":
+                case "EHLO":
+                    responde(out, "250 localhost");
+                    break;
+                case "MAIL":
+                    remetente = argumento(linha);
+                    destinatarios.clear();
+                    responde(out, "250 OK");
+                    break;
+                case "RCPT":
+                    destinatarios.add(argumento(linha));
+                    responde(out, "250 OK");
+                    break;
+                case "DATA":
+                    responde(out, "354 Envie a mensagem terminando com <CRLF>.<CRLF>");
+                    guarda(new Mensagem(remetente, new ArrayList<>(destinatarios), leConteudo(in)));
+                    responde(out, "250 OK");
+                    break;
+                case "RSET":
+                    remetente = null;
+                    destinatarios.clear();
+                    responde(out, "250 OK");
+                    break;
+                case "NOOP":
+                    responde(out, "250 OK");
+                    break;
+                case "QUIT":
+                    responde(out, "221 Tchau");
+                    return;
+                default:
+                    responde(out, "502 Comando nao implementado");
+                }
+            }
+        } catch (IOException e) {
+            LOG.debug("Conexão SMTP encerrada", e);
+        }
+    }
+
+    private void guarda(Mensagem mensagem) {
+        recebidas.addLast(mensagem);
+        while (recebidas.size() > MAXIMO_GUARDADAS) {
+            recebidas.pollFirst();
+        }
+        LOG.info("E-mail recebido pelo SMTP local: para={}, assunto=\"{}\"", mensagem.getDestinatarios(), mensagem.getAssunto());
+    }
+
+    private static String leConteudo(BufferedReader in) throws IOException {
+        StringBuilder conteudo = new StringBuilder();
+        String linha;
+        while ((linha = in.readLine()) != null && !linha.equals(".")) {
+            // Remove o ponto duplicado pelo cliente no início das linhas (dot-stuffing)
+            conteudo.append(linha.startsWith(".") ? linha.substring(1) : linha).append("\r\n");
+        }
+        return conteudo.toString();
+    }
+
+    private static String argumento(String linha) {
+        int inicio = linha.indexOf('<');
+        int fim = linha.indexOf('>');
+        return inicio >= 0 && fim > inicio ? linha.substring(inicio + 1, fim) : linha.substring(linha.indexOf(':') + 1).trim();
+    }
+
+    private static void responde(Writer out, String resposta) throws IOException {
+        out.write(resposta + "\r\n");
+        out.flush();
+    }
+
+    /**
+     * Uma mensagem recebida, com o conteúdo bruto (cabeçalhos e corpo) como veio do cliente.
+     */
+    public static final class Mensagem {
+        private final String remetente;
+        private final List<String> destinatarios;
+        private final String conteudo;
+
+        private Mensagem(String remetente, List<String> destinatarios, String conteudo) {
+            this.remetente = remetente;
+            this.destinatarios = destinatarios;
+            this.conteudo = conteudo;
+        }
+
+        /**
+         * @return O assunto decodificado, ou null se a mensagem não tiver o cabeçalho Subject.
+         */
+        public String getAssunto() {
+            for (String linha : conteudo.split("\r\n")) {
+                if (linha.isEmpty()) { // Fim dos cabeçalhos
+                    break;
+                }
+                if (linha.regionMatches(true, 0, "Subject:", 0, 8)) {
+                    try {
+                        return MimeUtility.decodeText(linha.substring(8).trim());
+                    } catch (UnsupportedEncodingException e) {
+                        return linha.substring(8).trim();
+                    }
+                }
+            }
+            return null;
+        }
+
+        public String getRemetente() { return remetente; }
+        public List<String> getDestinatarios() { return destinatarios; }
+        public String getConteudo() { return conteudo; }
+    }
+}